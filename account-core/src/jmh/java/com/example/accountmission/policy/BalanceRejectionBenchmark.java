@@ -0,0 +1,60 @@
+package com.example.accountmission.policy;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 잔액 부족 거절 비용 비교
+ * - success           : 잔액이 충분한 경우
+ * - rejectStackless   : 현재 AccountException (스택 트레이스 없음, 미리 만든 인스턴스)
+ * - rejectWithStack   : 이전 방식처럼 매번 스택 트레이스를 채우는 예외
+ *
+ * 실제 요청은 컨트롤러 -> AOP -> 서비스 -> 엔티티 까지 스택이 깊으므로 depth 만큼 호출을 쌓은 뒤 던진다.
+ */
+@State(Scope.Thread)
+public class BalanceRejectionBenchmark {
+    @Param({"16", "64"})
+    private int depth;
+
+    private long balance = 1_000L;
+    private long smallAmount = 100L;
+    private long largeAmount = 10_000L;
+
+    @Benchmark
+    public boolean success() {
+        return call(depth, () -> AccountPolicy.validateSufficientBalance(balance, smallAmount));
+    }
+
+    @Benchmark
+    public boolean rejectStackless() {
+        return call(depth, () -> AccountPolicy.validateSufficientBalance(balance, largeAmount));
+    }
+
+    @Benchmark
+    public boolean rejectWithStack() {
+        return call(depth, () -> {
+            if (balance < largeAmount) {
+                throw new StackTraceException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+            }
+        });
+    }
+
+    private static boolean call(int depth, Runnable validation) {
+        if (depth > 0) {
+            return call(depth - 1, validation);
+        }
+        try {
+            validation.run();
+            return true;
+        } catch (AccountException | StackTraceException e) {
+            return false;
+        }
+    }
+
+    static class StackTraceException extends RuntimeException {
+        StackTraceException(ErrorCode errorCode) {
+            super(errorCode.getDescription());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.accountmission.exception;
+
+import com.example.accountmission.type.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 잔액 부족, 사용자 불일치 같은 업무 오류
+ * 스택 트레이스는 쓰이지 않으므로 만들지 않는다. (잔액 부족이 몰릴 때 CPU 대부분이 fillInStackTrace 에 쓰였다)
+ * ErrorCode 만 있는 예외는 {@link #of(ErrorCode)} 로 미리 만들어둔 인스턴스를 재사용한다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountException extends RuntimeException{
+    private static final Map<ErrorCode, AccountException> CACHED = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            CACHED.put(errorCode, new AccountException(errorCode));
+        }
+    }
+
+    private ErrorCode errorCode;
+    private String errorMessage;
+
+    public AccountException(ErrorCode errorCode) {
+        // suppression 까지 꺼두어야 공유 인스턴스에 addSuppressed 가 쌓이지 않는다.
+        super(errorCode.getDescription(), null, false, false);
+        this.errorCode = errorCode;
+        this.errorMessage = errorCode.getDescription();
+    }
+
+    public static AccountException of(ErrorCode errorCode) {
+        return CACHED.get(errorCode);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.accountmission.exception;
+
+import com.example.accountmission.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 업무 거절 로그 샘플링
+ * ErrorCode 별로 1초에 maxPerSecond 건까지만 남기고, 나머지는 개수만 세었다가 다음 구간 첫 로그에 같이 남긴다.
+ * 잔액 부족이 몰릴 때 로그 I/O 가 요청 처리보다 비싸지는 것을 막는다.
+ */
+@Slf4j
+public class RejectionLogSampler {
+    private static final long WINDOW_MILLIS = 1000L;
+
+    private final int maxPerSecond;
+    private final AtomicLong[] windowStarts = new AtomicLong[ErrorCode.values().length];
+    private final AtomicLongArray counts = new AtomicLongArray(ErrorCode.values().length);
+    private final AtomicLongArray suppressed = new AtomicLongArray(ErrorCode.values().length);
+
+    public RejectionLogSampler(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+        for (int i = 0; i < windowStarts.length; i++) {
+            windowStarts[i] = new AtomicLong();
+        }
+    }
+
+    public void log(ErrorCode errorCode, String message) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        int idx = errorCode.ordinal();
+        long now = System.currentTimeMillis();
+        long windowStart = windowStarts[idx].get();
+        if (now - windowStart >= WINDOW_MILLIS && windowStarts[idx].compareAndSet(windowStart, now)) {
+            counts.set(idx, 0);
+        }
+
+        if (counts.incrementAndGet(idx) > maxPerSecond) {
+            suppressed.incrementAndGet(idx);
+            return;
+        }
+        long dropped = suppressed.getAndSet(idx, 0);
+        if (dropped > 0) {
+            log.info("{} is occurred, {} ({} similar rejections suppressed)", errorCode, message, dropped);
+        } else {
+            log.info("{} is occurred, {}", errorCode, message);
+        }
+    }
+}
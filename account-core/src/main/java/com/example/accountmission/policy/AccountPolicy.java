@@ -0,0 +1,120 @@
+package com.example.accountmission.policy;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.AccountStatus;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+
+import static com.example.accountmission.type.ErrorCode.*;
+
+/**
+ * 계좌/거래 검증 규칙
+ * JPA(MVC) 와 R2DBC(WebFlux) 구현이 같이 사용하므로 엔티티가 아닌 값만 받는다.
+ */
+@Slf4j
+public final class AccountPolicy {
+    public static final int MAX_ACCOUNT_PER_USER = 10;
+    public static final String FIRST_ACCOUNT_NUMBER = "1234567890";
+
+    private AccountPolicy() {
+    }
+
+    /**
+     * 마지막 계좌번호 + 1, 계좌가 하나도 없으면 1234567890
+     */
+    public static String nextAccountNumber(String lastAccountNumber) {
+        if (lastAccountNumber == null) {
+            return FIRST_ACCOUNT_NUMBER;
+        }
+        return (Long.parseLong(lastAccountNumber)) + 1 + "";
+    }
+
+    public static void validateCountOfAccountPerUser(int countOfAccount) {
+        if (countOfAccount >= MAX_ACCOUNT_PER_USER) {
+            throw AccountException.of(MAX_ACCOUNT_PER_USER_10);
+        }
+    }
+
+    /**
+     * 사용자 아이디와 계좌 소유주가 다른 경우
+     * 계좌가 이미 해지 상태인 경우
+     * 잔액이 있는 경우 계좌 삭제 불가능
+     */
+    public static void validateDeleteAccount(Long userId, Long ownerId,
+                                             AccountStatus accountStatus, Long balance) {
+        if (!Objects.equals(userId, ownerId)) {
+            log.info("사용자 아이디 = {}, 계좌 사용자 = {}", userId, ownerId);
+            throw AccountException.of(USER_ACCOUNT_UN_MATCH);
+        }
+        if (accountStatus != AccountStatus.IN_USE) {
+            throw AccountException.of(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (balance > 0) {
+            throw AccountException.of(BALANCE_NOT_EMPTY);
+        }
+    }
+
+    public static void validateUseBalance(Long userId, Long ownerId, AccountStatus accountStatus) {
+        if (!Objects.equals(userId, ownerId)) {
+            throw AccountException.of(USER_ACCOUNT_UN_MATCH);
+        }
+        if (accountStatus != AccountStatus.IN_USE) {
+            throw AccountException.of(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+    }
+
+    public static void validateSufficientBalance(Long balance, Long amount) {
+        if (balance < amount) {
+            throw AccountException.of(AMOUNT_EXCEED_BALANCE);
+        }
+    }
+
+    /**
+     * 승인 금액 이하로만 확정 가능, 남은 금액은 확정과 함께 해제된다.
+     */
+    public static void validateCaptureAmount(Long heldAmount, Long captureAmount) {
+        if (captureAmount > heldAmount) {
+            throw AccountException.of(CAPTURE_EXCEED_HOLD);
+        }
+    }
+
+    /**
+     * 계좌에 마지막으로 반영된 토큰보다 작은 토큰은 락 임대가 만료된 뒤 다른 요청이 락을 가져간 경우이다.
+     * (같은 락 안에서 여러번 변경할 수 있으므로 같은 토큰은 허용)
+     */
+    public static void validateFencingToken(Long lastFencingToken, long fencingToken) {
+        if (lastFencingToken != null && fencingToken < lastFencingToken) {
+            log.warn("오래된 락 토큰 = {}, 마지막 토큰 = {}", fencingToken, lastFencingToken);
+            throw AccountException.of(STALE_LOCK_TOKEN);
+        }
+    }
+
+    public static void validateCancelAmount(Long amount) {
+        if (amount < 0) {
+            throw AccountException.of(INVALID_REQUEST);
+        }
+    }
+
+    /**
+     * 성공한 사용 거래만 취소 가능
+     * 부분 취소가 가능하며, 누적 취소 금액은 원 거래 금액을 넘을 수 없다.
+     * (조회 시점 값으로 먼저 거르고, 실제 누적은 조건부 UPDATE 로 한번 더 확인한다)
+     */
+    public static void validateCancelBalance(Long transactionAccountId, Long accountId,
+                                             TransactionType transactionType,
+                                             TransactionResultType transactionResultType,
+                                             Long transactionAmount, Long cancelledAmount, Long amount) {
+        if (!Objects.equals(transactionAccountId, accountId)) {
+            throw AccountException.of(TRANSACTION_ACCOUNT_UN_MATCH);
+        }
+        if (transactionType != TransactionType.USE || transactionResultType != TransactionResultType.SUCCESS) {
+            throw AccountException.of(TRANSACTION_NOT_CANCELLABLE);
+        }
+        if (amount > transactionAmount - (cancelledAmount == null ? 0L : cancelledAmount)) {
+            throw AccountException.of(CANCEL_EXCEED_REMAINING);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.accountmission.type;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * httpStatus : 응답 상태 코드 (로드밸런서가 상태 코드로 재시도/차단을 판단한다)
+ * retryable  : 같은 요청을 잠시 후 다시 보내면 성공할 수 있는 오류 (Retry-After 헤더를 내려준다)
+ */
+@Getter
+@AllArgsConstructor
+public enum ErrorCode {
+    INTERNAL_SERVER_ERROR("내부 서버 오류가 발생했습니다", 500, false),
+    USER_NOT_FOUND("사용자가 없습니다.", 404, false),
+    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌 개수는 10개 입니다.", 409, false),
+    ACCOUNT_NOT_FOUND("해당 사용자의 계좌를 찾지 못하였습니다.", 404, false),
+    USER_ACCOUNT_UN_MATCH("사용자와 계좌간의 정보가 일치하지 않습니다.", 403, false),
+    ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지 상태입니다.", 409, false),
+    BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지가 불가능합니다.", 409, false),
+    AMOUNT_EXCEED_BALANCE("잔액 부족.", 422, false),
+    TRANSACTION_NOT_FOUND("해당 거래가 없습니다.", 404, false),
+    TRANSACTION_ACCOUNT_UN_MATCH("해당 거래는 해당 계좌에서 발생한 거래가 아닙니다.", 422, false),
+    TRANSACTION_NOT_CANCELLABLE("취소할 수 없는 거래입니다.", 422, false),
+    CANCEL_EXCEED_REMAINING("취소 가능한 금액을 초과했습니다.", 422, false),
+    HOLD_NOT_FOUND("해당 승인 건이 없습니다.", 404, false),
+    HOLD_ACCOUNT_UN_MATCH("해당 승인 건은 해당 계좌의 승인이 아닙니다.", 422, false),
+    HOLD_NOT_ACTIVE("이미 확정, 취소 또는 만료된 승인입니다.", 409, false),
+    CAPTURE_EXCEED_HOLD("확정 금액이 승인 금액보다 클 수 없습니다.", 422, false),
+    TRANSACTION_LIMIT_EXCEEDED("1회 거래 한도를 초과했습니다.", 422, false),
+    DAILY_LIMIT_EXCEEDED("일일 거래 한도를 초과했습니다.", 422, false),
+    INVALID_REQUEST("잘못된 요청입니다.", 400, false),
+    ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용중입니다.", 423, true),
+    STALE_LOCK_TOKEN("계좌 락이 만료되어 거래를 반영하지 못했습니다.", 409, true),
+    ACCOUNT_RATE_LIMITED("해당 계좌의 거래 요청이 너무 많습니다.", 429, true),
+    SERVICE_OVERLOADED("요청이 많아 잠시 후 다시 시도해 주세요.", 503, true),
+    JOURNAL_UNAVAILABLE("거래 저널이 중단되어 거래를 처리하지 않았습니다.", 503, false);
+    private final String description;
+    private final int httpStatus;
+    private final boolean retryable;
+}
@@ -0,0 +1,5 @@
+package com.example.accountmission.type;
+
+public enum HoldStatus {
+    AUTHORIZED, CAPTURED, VOIDED, EXPIRED
+}
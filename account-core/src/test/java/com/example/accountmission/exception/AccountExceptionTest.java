@@ -0,0 +1,38 @@
+package com.example.accountmission.exception;
+
+import com.example.accountmission.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountExceptionTest {
+
+    @Test
+    @DisplayName("업무 예외는 스택 트레이스를 만들지 않는다")
+    void stackless() {
+        //given
+        //when
+        AccountException exception = new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+
+        //then
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE.getDescription(), exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("ErrorCode 별 예외는 같은 인스턴스를 재사용하고 suppressed 가 쌓이지 않는다")
+    void cachedInstance() {
+        //given
+        AccountException exception = AccountException.of(ErrorCode.AMOUNT_EXCEED_BALANCE);
+
+        //when
+        exception.addSuppressed(new IllegalStateException());
+
+        //then
+        assertSame(exception, AccountException.of(ErrorCode.AMOUNT_EXCEED_BALANCE));
+        assertEquals(0, exception.getSuppressed().length);
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE.getDescription(), exception.getErrorMessage());
+    }
+}
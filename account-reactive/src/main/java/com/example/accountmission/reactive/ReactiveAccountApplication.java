@@ -0,0 +1,16 @@
+package com.example.accountmission.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * WebFlux + R2DBC 로 구현한 계좌/거래 API
+ * MVC(JPA) 구현과 같은 URL, 같은 요청/응답 형식을 사용한다.
+ */
+@SpringBootApplication
+public class ReactiveAccountApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveAccountApplication.class, args);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.accountmission.reactive.config;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RedissonReactiveConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public RedissonClient redissonClient(@Value("${spring.data.redis.host}") String host,
+                                         @Value("${spring.data.redis.port}") int port) {
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://" + host + ":" + port);
+        return Redisson.create(config);
+    }
+
+    @Bean
+    public RedissonReactiveClient redissonReactiveClient(RedissonClient redissonClient) {
+        return redissonClient.reactive();
+    }
+}
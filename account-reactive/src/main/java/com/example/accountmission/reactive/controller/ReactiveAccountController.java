@@ -0,0 +1,41 @@
+package com.example.accountmission.reactive.controller;
+
+import com.example.accountmission.reactive.dto.AccountInfo;
+import com.example.accountmission.reactive.dto.CreateAccount;
+import com.example.accountmission.reactive.dto.DeleteAccount;
+import com.example.accountmission.reactive.service.ReactiveAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+public class ReactiveAccountController {
+    private final ReactiveAccountService accountService;
+
+    @PostMapping("/account")
+    public Mono<CreateAccount.Response> createAccount(
+            @RequestBody @Validated CreateAccount.Request request) {
+        return accountService.createAccount(request.getUserId(), request.getInitialBalance())
+                .map(CreateAccount.Response::from);
+    }
+
+    @GetMapping("/account")
+    public Flux<AccountInfo> getAccountsByUserId(
+            @RequestParam("user_id") Long userId) {
+        return accountService.getAccountsByUserId(userId)
+                .map(accountDto -> AccountInfo.builder()
+                        .accountNumber(accountDto.getAccountNumber())
+                        .balance(accountDto.getBalance())
+                        .build());
+    }
+
+    @DeleteMapping("/account")
+    public Mono<DeleteAccount.Response> deleteAccount(
+            @RequestBody @Validated DeleteAccount.Request request) {
+        return accountService.deleteAccount(request.getUserId(), request.getAccountNumber())
+                .map(DeleteAccount.Response::from);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.accountmission.reactive.controller;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.reactive.dto.CancelBalance;
+import com.example.accountmission.reactive.dto.QueryTransactionResponse;
+import com.example.accountmission.reactive.dto.TransactionDto;
+import com.example.accountmission.reactive.dto.UseBalance;
+import com.example.accountmission.reactive.service.ReactiveLockService;
+import com.example.accountmission.reactive.service.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * 1. 잔액 사용
+ * 2. 잔액 사용 취소
+ * 3. 거래 확인
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ReactiveTransactionController {
+    private final ReactiveTransactionService transactionService;
+    private final ReactiveLockService lockService;
+
+    @PostMapping("/transaction/use")
+    public Mono<UseBalance.Response> useBalance(
+            @RequestBody @Validated UseBalance.Request request) {
+        return lockService.withLock(request.getAccountNumber(), () ->
+                transactionService.useBalance(
+                                request.getUserId(),
+                                request.getAccountNumber(),
+                                request.getAmount())
+                        .onErrorResume(AccountException.class, e -> {
+                            log.debug("Failed to use Balance = {}{}", e.getErrorMessage(), e.getErrorCode());
+                            return transactionService.saveFailedUseTransaction(
+                                            request.getAccountNumber(),
+                                            request.getAmount())
+                                    .then(Mono.<TransactionDto>error(e));
+                        })
+                        .map(UseBalance.Response::from));
+    }
+
+    @PostMapping("/transaction/cancel")
+    public Mono<CancelBalance.Response> cancelBalance(
+            @RequestBody @Validated CancelBalance.Request request) {
+        return lockService.withLock(request.getAccountNumber(), () ->
+                transactionService.cancelBalance(
+                                request.getTransactionId(),
+                                request.getAccountNumber(),
+                                request.getAmount())
+                        .onErrorResume(AccountException.class, e -> {
+                            log.debug("Failed to CancelBalance = {}{}", e.getErrorMessage(), e.getErrorCode());
+                            return transactionService.saveFailedCancelTransaction(
+                                            request.getAccountNumber(),
+                                            request.getAmount())
+                                    .then(Mono.<TransactionDto>error(e));
+                        })
+                        .map(CancelBalance.Response::from));
+    }
+
+    @GetMapping("/transaction/{transactionId}")
+    public Mono<QueryTransactionResponse> queryTransaction(
+            @PathVariable("transactionId") String transactionId) {
+        return transactionService.queryTransaction(transactionId)
+                .map(QueryTransactionResponse::from);
+    }
+}
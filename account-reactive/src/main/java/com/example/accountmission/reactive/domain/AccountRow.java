@@ -0,0 +1,52 @@
+package com.example.accountmission.reactive.domain;
+
+import com.example.accountmission.policy.AccountPolicy;
+import com.example.accountmission.type.AccountStatus;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("account")
+public class AccountRow {
+    @Id
+    private Long id;
+
+    private Long accountUserId;
+
+    private String accountNumber;
+
+    private AccountStatus accountStatus;
+
+    private Long balance;
+
+    @Version
+    private Long version;
+
+    private LocalDateTime registeredAt;
+    private LocalDateTime unRegisteredAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    public void useBalance(Long amount) {
+        AccountPolicy.validateSufficientBalance(balance, amount);
+        balance = balance - amount;
+    }
+
+    public void cancelBalance(Long amount) {
+        AccountPolicy.validateCancelAmount(amount);
+        balance = balance + amount;
+    }
+}
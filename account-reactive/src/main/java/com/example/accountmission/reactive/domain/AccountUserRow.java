@@ -0,0 +1,20 @@
+package com.example.accountmission.reactive.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("account_user")
+public class AccountUserRow {
+    @Id
+    private Long id;
+
+    private String name;
+}
@@ -0,0 +1,42 @@
+package com.example.accountmission.reactive.domain;
+
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table("transaction")
+public class TransactionRow {
+    @Id
+    private Long id;
+
+    private TransactionType transactionType;
+
+    private TransactionResultType transactionResultType;
+
+    private Long accountId;
+    private Long amount;
+    private Long balanceSnapshot;
+    @Builder.Default
+    private Long cancelledAmount = 0L;
+
+    private String transactionId;
+    private LocalDateTime transactedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,28 @@
+package com.example.accountmission.reactive.dto;
+
+import com.example.accountmission.reactive.domain.AccountRow;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class AccountDto {
+    private Long userId;
+    private String accountNumber;
+    private Long balance;
+
+    private LocalDateTime registeredAt;
+    private LocalDateTime unRegisteredAt;
+
+    public static AccountDto fromRow(AccountRow account) {
+        return AccountDto.builder()
+                .userId(account.getAccountUserId())
+                .accountNumber(account.getAccountNumber())
+                .registeredAt(account.getRegisteredAt())
+                .balance(account.getBalance())
+                .unRegisteredAt(account.getUnRegisteredAt())
+                .build();
+    }
+}
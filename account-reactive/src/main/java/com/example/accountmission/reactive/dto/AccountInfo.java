@@ -0,0 +1,15 @@
+package com.example.accountmission.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountInfo {
+    private String accountNumber;
+    private Long balance;
+}
@@ -0,0 +1,14 @@
+package com.example.accountmission.reactive.dto;
+
+import com.example.accountmission.type.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErrorResponse {
+    private ErrorCode errorCode;
+    private String errorMessage;
+}
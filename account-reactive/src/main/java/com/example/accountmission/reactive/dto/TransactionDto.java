@@ -0,0 +1,37 @@
+package com.example.accountmission.reactive.dto;
+
+import com.example.accountmission.reactive.domain.TransactionRow;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionDto {
+    private String accountNumber;
+    private String transactionId;
+
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+
+    private Long amount;
+    private Long balanceSnapshot;
+
+    private LocalDateTime transactedAt;
+
+    public static TransactionDto fromRow(TransactionRow transaction, String accountNumber) {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionId(transaction.getTransactionId())
+                .transactionType(transaction.getTransactionType())
+                .transactionResultType(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapshot(transaction.getBalanceSnapshot())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+}
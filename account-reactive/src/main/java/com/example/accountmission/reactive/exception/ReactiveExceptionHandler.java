@@ -0,0 +1,58 @@
+package com.example.accountmission.reactive.exception;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.exception.RejectionLogSampler;
+import com.example.accountmission.reactive.dto.ErrorResponse;
+import com.example.accountmission.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import static com.example.accountmission.type.ErrorCode.*;
+
+/**
+ * MVC 의 GlobalExceptionHandler 와 같은 상태 코드/Retry-After 규칙
+ */
+@Slf4j
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+    private final String retryAfterSeconds;
+    private final RejectionLogSampler rejectionLogSampler;
+
+    public ReactiveExceptionHandler(
+            @Value("${account.error.retry-after-seconds:1}") int retryAfterSeconds,
+            @Value("${account.error.log-per-second:10}") int logPerSecond) {
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.rejectionLogSampler = new RejectionLogSampler(logPerSecond);
+    }
+
+    @ExceptionHandler(AccountException.class)
+    public ResponseEntity<ErrorResponse> handleAccountException(AccountException e) {
+        rejectionLogSampler.log(e.getErrorCode(), e.getMessage());
+        return toResponse(e.getErrorCode(), e.getMessage());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleWebExchangeBindException(WebExchangeBindException e) {
+        log.error("WebExchangeBindException is occurred", e);
+        return toResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleException(Exception e) {
+        log.error("Exception is occurred", e);
+        return toResponse(INTERNAL_SERVER_ERROR, INTERNAL_SERVER_ERROR.getDescription());
+    }
+
+    private ResponseEntity<ErrorResponse> toResponse(ErrorCode errorCode, String errorMessage) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(errorCode.getHttpStatus());
+        if (errorCode.isRetryable()) {
+            builder.header(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        }
+        return builder.body(new ErrorResponse(errorCode, errorMessage));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.accountmission.reactive.repository;
+
+import com.example.accountmission.reactive.domain.AccountRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface AccountRowRepository extends ReactiveCrudRepository<AccountRow, Long> {
+    Mono<AccountRow> findFirstByOrderByIdDesc();
+
+    Mono<Long> countByAccountUserId(Long accountUserId);
+
+    Mono<AccountRow> findByAccountNumber(String accountNumber);
+
+    Flux<AccountRow> findByAccountUserId(Long accountUserId);
+}
@@ -0,0 +1,7 @@
+package com.example.accountmission.reactive.repository;
+
+import com.example.accountmission.reactive.domain.AccountUserRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface AccountUserRowRepository extends ReactiveCrudRepository<AccountUserRow, Long> {
+}
@@ -0,0 +1,18 @@
+package com.example.accountmission.reactive.repository;
+
+import com.example.accountmission.reactive.domain.TransactionRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface TransactionRowRepository extends ReactiveCrudRepository<TransactionRow, Long> {
+    Mono<TransactionRow> findByTransactionId(String transactionId);
+
+    // JPA TransactionRepository.addCancelledAmount 와 같은 조건부 누적
+    @Modifying
+    @Query("update transaction set cancelled_amount = cancelled_amount + :amount " +
+            "where id = :id and transaction_type = 'USE' and transaction_result_type = 'SUCCESS' " +
+            "and cancelled_amount + :amount <= amount")
+    Mono<Integer> addCancelledAmount(Long id, Long amount);
+}
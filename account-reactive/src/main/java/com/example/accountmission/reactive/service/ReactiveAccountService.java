@@ -0,0 +1,70 @@
+package com.example.accountmission.reactive.service;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.policy.AccountPolicy;
+import com.example.accountmission.reactive.domain.AccountRow;
+import com.example.accountmission.reactive.domain.AccountUserRow;
+import com.example.accountmission.reactive.dto.AccountDto;
+import com.example.accountmission.reactive.repository.AccountRowRepository;
+import com.example.accountmission.reactive.repository.AccountUserRowRepository;
+import com.example.accountmission.type.AccountStatus;
+import com.example.accountmission.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveAccountService {
+    private final AccountRowRepository accountRepository;
+    private final AccountUserRowRepository accountUserRepository;
+
+    @Transactional
+    public Mono<AccountDto> createAccount(Long userId, Long initialBalance) {
+        return getAccountUser(userId)
+                .flatMap(user -> accountRepository.countByAccountUserId(user.getId())
+                        .doOnNext(count -> AccountPolicy.validateCountOfAccountPerUser(count.intValue()))
+                        .then(accountRepository.findFirstByOrderByIdDesc()
+                                .map(account -> AccountPolicy.nextAccountNumber(account.getAccountNumber()))
+                                .defaultIfEmpty(AccountPolicy.nextAccountNumber(null)))
+                        .flatMap(accountNumber -> accountRepository.save(AccountRow.builder()
+                                .accountUserId(user.getId())
+                                .accountNumber(accountNumber)
+                                .accountStatus(AccountStatus.IN_USE)
+                                .balance(initialBalance)
+                                .registeredAt(LocalDateTime.now())
+                                .build())))
+                .map(AccountDto::fromRow);
+    }
+
+    @Transactional
+    public Mono<AccountDto> deleteAccount(Long userId, String accountNumber) {
+        return getAccountUser(userId)
+                .flatMap(user -> accountRepository.findByAccountNumber(accountNumber)
+                        .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND)))
+                        .flatMap(account -> {
+                            AccountPolicy.validateDeleteAccount(user.getId(), account.getAccountUserId(),
+                                    account.getAccountStatus(), account.getBalance());
+                            account.setUnRegisteredAt(LocalDateTime.now());
+                            account.setAccountStatus(AccountStatus.UNREGISTERED);
+                            return accountRepository.save(account);
+                        }))
+                .map(AccountDto::fromRow);
+    }
+
+    @Transactional(readOnly = true)
+    public Flux<AccountDto> getAccountsByUserId(Long userId) {
+        return getAccountUser(userId)
+                .flatMapMany(user -> accountRepository.findByAccountUserId(user.getId()))
+                .map(AccountDto::fromRow);
+    }
+
+    private Mono<AccountUserRow> getAccountUser(Long userId) {
+        return accountUserRepository.findById(userId)
+                .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.USER_NOT_FOUND)));
+    }
+}
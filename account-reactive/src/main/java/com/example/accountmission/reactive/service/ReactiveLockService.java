@@ -0,0 +1,47 @@
+package com.example.accountmission.reactive.service;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * MVC 의 LockService 와 같은 키/대기시간/lease 를 사용하는 리액티브 분산락
+ * 리액티브 체인은 쓰레드가 바뀌므로 쓰레드 아이디 대신 요청마다 만든 lockId 로 소유자를 구분한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveLockService {
+    private final RedissonReactiveClient redissonReactiveClient;
+
+    public <T> Mono<T> withLock(String accountNumber, Supplier<Mono<T>> action) {
+        RLockReactive lock = redissonReactiveClient.getLock(getLockKey(accountNumber));
+        long lockId = ThreadLocalRandom.current().nextLong();
+        Mono<RLockReactive> acquire = lock.tryLock(1, 5, TimeUnit.SECONDS, lockId)
+                .flatMap(isLock -> {
+                    if (!isLock) {
+                        log.error("===Lock acquisition failed===");
+                        return Mono.error(AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+                    }
+                    return Mono.just(lock);
+                });
+        return Mono.usingWhen(acquire,
+                acquired -> action.get(),
+                acquired -> acquired.unlock(lockId),
+                (acquired, e) -> acquired.unlock(lockId),
+                acquired -> acquired.unlock(lockId));
+    }
+
+    private static String getLockKey(String accountNumber) {
+        return "ACLK : " + accountNumber;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.accountmission.reactive.service;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.policy.AccountPolicy;
+import com.example.accountmission.reactive.domain.AccountRow;
+import com.example.accountmission.reactive.domain.TransactionRow;
+import com.example.accountmission.reactive.dto.TransactionDto;
+import com.example.accountmission.reactive.repository.AccountRowRepository;
+import com.example.accountmission.reactive.repository.AccountUserRowRepository;
+import com.example.accountmission.reactive.repository.TransactionRowRepository;
+import com.example.accountmission.type.ErrorCode;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.example.accountmission.type.TransactionResultType.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+    private final TransactionRowRepository transactionRepository;
+    private final AccountUserRowRepository accountUserRepository;
+    private final AccountRowRepository accountRepository;
+
+    @Transactional
+    public Mono<TransactionDto> useBalance(Long userId, String accountNumber, Long amount) {
+        return accountUserRepository.findById(userId)
+                .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.USER_NOT_FOUND)))
+                .flatMap(user -> findAccount(accountNumber)
+                        .flatMap(account -> {
+                            AccountPolicy.validateUseBalance(
+                                    user.getId(), account.getAccountUserId(), account.getAccountStatus());
+                            account.useBalance(amount);
+                            return accountRepository.save(account);
+                        }))
+                .flatMap(account -> saveTransactionStatus(TransactionType.USE, SUCCESS, amount, account));
+    }
+
+    @Transactional
+    public Mono<TransactionDto> saveFailedUseTransaction(String accountNumber, Long amount) {
+        return findAccount(accountNumber)
+                .flatMap(account -> saveTransactionStatus(TransactionType.USE, FAIL, amount, account));
+    }
+
+    @Transactional
+    public Mono<TransactionDto> cancelBalance(String transactionId, String accountNumber, Long amount) {
+        return findAccount(accountNumber)
+                .zipWhen(account -> transactionRepository.findByTransactionId(transactionId)
+                        .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND))))
+                .flatMap(tuple -> {
+                    AccountRow account = tuple.getT1();
+                    TransactionRow transaction = tuple.getT2();
+                    AccountPolicy.validateCancelBalance(
+                            transaction.getAccountId(), account.getId(),
+                            transaction.getTransactionType(), transaction.getTransactionResultType(),
+                            transaction.getAmount(), transaction.getCancelledAmount(), amount);
+                    return transactionRepository.addCancelledAmount(transaction.getId(), amount)
+                            .flatMap(updated -> {
+                                if (updated == 0) {
+                                    return Mono.<AccountRow>error(AccountException.of(ErrorCode.CANCEL_EXCEED_REMAINING));
+                                }
+                                account.cancelBalance(amount);
+                                return accountRepository.save(account);
+                            });
+                })
+                .flatMap(account -> saveTransactionStatus(TransactionType.CANCEL, SUCCESS, amount, account));
+    }
+
+    @Transactional
+    public Mono<TransactionDto> saveFailedCancelTransaction(String accountNumber, Long amount) {
+        return findAccount(accountNumber)
+                .flatMap(account -> saveTransactionStatus(TransactionType.CANCEL, FAIL, amount, account));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<TransactionDto> queryTransaction(String transactionId) {
+        return transactionRepository.findByTransactionId(transactionId)
+                .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND)))
+                .flatMap(transaction -> accountRepository.findById(transaction.getAccountId())
+                        .map(account -> TransactionDto.fromRow(transaction, account.getAccountNumber())));
+    }
+
+    private Mono<AccountRow> findAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .switchIfEmpty(Mono.error(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND)));
+    }
+
+    private Mono<TransactionDto> saveTransactionStatus(
+            TransactionType transactionType, TransactionResultType resultType, Long amount, AccountRow account) {
+        return transactionRepository.save(
+                        TransactionRow.builder()
+                                .transactionType(transactionType)
+                                .transactionResultType(resultType)
+                                .accountId(account.getId())
+                                .amount(amount)
+                                .balanceSnapshot(account.getBalance())
+                                .transactionId(UUID.randomUUID().toString().replace("-", ""))
+                                .transactedAt(LocalDateTime.now())
+                                .build())
+                .map(transaction -> TransactionDto.fromRow(transaction, account.getAccountNumber()));
+    }
+}
@@ -0,0 +1,9 @@
+insert into account_user(name, created_at, updated_at)
+values ('Pororo', now(), now());
+
+insert into account_user(name, created_at, updated_at)
+values ('Luffy', now(), now());
+
+insert into account_user(name, created_at, updated_at)
+values ('Fire', now(), now());
+
@@ -0,0 +1,36 @@
+create table if not exists account_user
+(
+    id         bigint generated by default as identity primary key,
+    name       varchar(255),
+    created_at timestamp,
+    updated_at timestamp
+);
+
+create table if not exists account
+(
+    id               bigint generated by default as identity primary key,
+    account_user_id  bigint references account_user (id),
+    account_number   varchar(10),
+    account_status   varchar(255),
+    balance          bigint,
+    version          bigint,
+    registered_at    timestamp,
+    un_registered_at timestamp,
+    created_at       timestamp,
+    updated_at       timestamp
+);
+
+create table if not exists transaction
+(
+    id                      bigint generated by default as identity primary key,
+    transaction_type        varchar(255),
+    transaction_result_type varchar(255),
+    account_id              bigint references account (id),
+    amount                  bigint,
+    balance_snapshot        bigint,
+    cancelled_amount        bigint default 0 not null,
+    transaction_id          varchar(255),
+    transacted_at           timestamp,
+    created_at              timestamp,
+    updated_at              timestamp
+);
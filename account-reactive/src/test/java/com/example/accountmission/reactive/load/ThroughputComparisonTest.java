@@ -0,0 +1,194 @@
+package com.example.accountmission.reactive.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 실행 중인 MVC / WebFlux 서버에 같은 부하를 주고 처리량을 비교한다.
+ * ./gradlew :account-reactive:loadTest -Pload.targets=mvc=http://localhost:8080,reactive=http://localhost:8081 -Pload.cores=4
+ * 요청의 절반은 조회(거래, 계좌 목록), 절반은 잔액 사용 후 같은 금액 취소로 계좌 락과 쓰기를 거친다.
+ * MVC 서버는 account.transaction.use-delay=0 으로 띄운다. (기본 3초 대기)
+ * 계좌별 입장 제한(account.admission.account-*)과 락 대기로 거절된 쓰기(423/429/503)는 실패가 아닌 거절로 따로 센다.
+ * load.cores 는 서버에 할당한 코어 수이며, 지정하면 코어당 처리량을 함께 출력한다.
+ * 사용자 1의 계좌 중 잔액이 있는 계좌를 다시 쓰고, load.accounts 보다 적을 때만 새로 만든다.
+ */
+@Tag("load")
+@EnabledIfSystemProperty(named = "load.targets", matches = ".+")
+class ThroughputComparisonTest {
+    private static final Pattern ACCOUNT = Pattern.compile(
+            "\"accountNumber\"\\s*:\\s*\"(\\d+)\"\\s*,\\s*\"balance\"\\s*:\\s*(\\d+)");
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("\"accountNumber\"\\s*:\\s*\"(\\d+)\"");
+    private static final Pattern TRANSACTION_ID = Pattern.compile("\"transactionId\"\\s*:\\s*\"(\\w+)\"");
+    private static final Set<Integer> REJECTED = Set.of(423, 429, 503);
+    private static final long INITIAL_BALANCE = 1_000_000L;
+    private static final long WRITE_AMOUNT = 100L;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("MVC / WebFlux 처리량 비교")
+    void compareThroughput() throws Exception {
+        int requests = Integer.getInteger("load.requests", 20_000);
+        int concurrency = Integer.getInteger("load.concurrency", 64);
+        int accounts = Integer.getInteger("load.accounts", 4);
+        int cores = Integer.getInteger("load.cores", 0);
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String target : System.getProperty("load.targets").split(",")) {
+            String[] nameAndUrl = target.split("=", 2);
+            Workload workload = prepare(nameAndUrl[1], accounts);
+            run(workload, Math.max(1_000, concurrency * 10), concurrency);
+            results.put(nameAndUrl[0], run(workload, requests, concurrency));
+        }
+
+        results.forEach((name, result) -> System.out.printf("%-10s %10.1f req/s %s %8d rejected%n",
+                name, result.throughput(),
+                cores > 0 ? String.format("%10.1f req/s/core", result.throughput() / cores) : "",
+                result.rejected()));
+        results.values().forEach(result -> assertTrue(result.throughput() > 0));
+    }
+
+    // 사용자 1의 계좌를 다시 쓰고, 조회할 거래번호를 얻기 위해 한 번 사용한다.
+    private Workload prepare(String baseUrl, int accounts) throws Exception {
+        List<String> accountNumbers = new ArrayList<>();
+        Matcher existing = ACCOUNT.matcher(send(get(baseUrl + "/account?user_id=1")));
+        while (existing.find() && accountNumbers.size() < accounts) {
+            // 해지된 계좌는 잔액이 0 이다.
+            if (Long.parseLong(existing.group(2)) >= INITIAL_BALANCE / 2) {
+                accountNumbers.add(existing.group(1));
+            }
+        }
+        while (accountNumbers.size() < accounts) {
+            String created = send(post(baseUrl + "/account",
+                    "{\"userId\":1,\"initialBalance\":" + INITIAL_BALANCE + "}"));
+            Matcher accountNumber = ACCOUNT_NUMBER.matcher(created);
+            assertTrue(accountNumber.find(), created);
+            accountNumbers.add(accountNumber.group(1));
+        }
+
+        String used = send(useRequest(baseUrl, accountNumbers.get(0), 1L));
+        Matcher transactionId = TRANSACTION_ID.matcher(used);
+        assertTrue(transactionId.find(), used);
+        return new Workload(baseUrl, accountNumbers, transactionId.group(1));
+    }
+
+    private Result run(Workload workload, int requests, int concurrency) throws Exception {
+        List<HttpRequest> reads = List.of(
+                get(workload.baseUrl() + "/transaction/" + workload.transactionId()),
+                get(workload.baseUrl() + "/account?user_id=1"));
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            CompletableFuture<Void> future = i % 2 == 0
+                    ? send(reads.get(i / 2 % reads.size()), completed, rejected, failures)
+                    : useThenCancel(workload, workload.accountNumbers().get(i / 2 % workload.accountNumbers().size()),
+                    completed, rejected, failures);
+            futures.add(future.whenComplete((ignored, e) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        // 처리량은 성공(200) 응답만 센다.
+        assertTrue(failures.get() < (completed.get() + rejected.get()) / 100, "failures = " + failures.get());
+        return new Result(completed.get() / seconds, rejected.get());
+    }
+
+    // 사용한 금액을 바로 취소하므로 반복 실행해도 계좌 잔액이 줄지 않는다.
+    private CompletableFuture<Void> useThenCancel(Workload workload, String accountNumber,
+                                                AtomicLong completed, AtomicLong rejected, AtomicLong failures) {
+        return httpClient.sendAsync(useRequest(workload.baseUrl(), accountNumber, WRITE_AMOUNT),
+                        HttpResponse.BodyHandlers.ofString())
+                .<CompletableFuture<Void>>handle((response, e) -> {
+                    count(response, e, completed, rejected, failures);
+                    if (e != null || response.statusCode() != 200) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    Matcher transactionId = TRANSACTION_ID.matcher(response.body());
+                    if (!transactionId.find()) {
+                        failures.incrementAndGet();
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return send(post(workload.baseUrl() + "/transaction/cancel",
+                            "{\"transactionId\":\"" + transactionId.group(1) + "\",\"accountNumber\":\""
+                                    + accountNumber + "\",\"amount\":" + WRITE_AMOUNT + "}"),
+                            completed, rejected, failures);
+                })
+                .thenCompose(future -> future);
+    }
+
+    private CompletableFuture<Void> send(HttpRequest request,
+                                         AtomicLong completed, AtomicLong rejected, AtomicLong failures) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .<Void>handle((response, e) -> {
+                    count(response, e, completed, rejected, failures);
+                    return null;
+                });
+    }
+
+    private static void count(HttpResponse<?> response, Throwable e,
+                              AtomicLong completed, AtomicLong rejected, AtomicLong failures) {
+        if (e != null) {
+            failures.incrementAndGet();
+        } else if (response.statusCode() == 200) {
+            completed.incrementAndGet();
+        } else if (REJECTED.contains(response.statusCode())) {
+            rejected.incrementAndGet();
+        } else {
+            failures.incrementAndGet();
+        }
+    }
+
+    private String send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static HttpRequest useRequest(String baseUrl, String accountNumber, long amount) {
+        return post(baseUrl + "/transaction/use",
+                "{\"userId\":1,\"accountNumber\":\"" + accountNumber + "\",\"amount\":" + amount + "}");
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private record Workload(String baseUrl, List<String> accountNumbers, String transactionId) {
+    }
+
+    private record Result(double throughput, long rejected) {
+    }
+}
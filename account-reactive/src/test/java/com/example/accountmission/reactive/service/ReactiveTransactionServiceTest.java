@@ -0,0 +1,110 @@
+package com.example.accountmission.reactive.service;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.reactive.domain.AccountRow;
+import com.example.accountmission.reactive.domain.AccountUserRow;
+import com.example.accountmission.reactive.domain.TransactionRow;
+import com.example.accountmission.reactive.repository.AccountRowRepository;
+import com.example.accountmission.reactive.repository.AccountUserRowRepository;
+import com.example.accountmission.reactive.repository.TransactionRowRepository;
+import com.example.accountmission.type.AccountStatus;
+import com.example.accountmission.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static com.example.accountmission.type.TransactionResultType.SUCCESS;
+import static com.example.accountmission.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionServiceTest {
+    @Mock
+    private TransactionRowRepository transactionRepository;
+    @Mock
+    private AccountUserRowRepository accountUserRepository;
+    @Mock
+    private AccountRowRepository accountRepository;
+
+    private ReactiveTransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new ReactiveTransactionService(
+                transactionRepository, accountUserRepository, accountRepository);
+    }
+
+    @Test
+    @DisplayName("잔액 사용 성공")
+    void successUseBalance() {
+        //given
+        AccountRow account = AccountRow.builder()
+                .id(1L)
+                .accountUserId(1L)
+                .accountNumber("1234567890")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Mono.just(new AccountUserRow(1L, "Pororo")));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account));
+        given(accountRepository.save(any()))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        //when
+        //then
+        StepVerifier.create(transactionService.useBalance(1L, "1234567890", 1200L))
+                .assertNext(transactionDto -> {
+                    assertEquals(USE, transactionDto.getTransactionType());
+                    assertEquals(SUCCESS, transactionDto.getTransactionResultType());
+                    assertEquals(10000L - 1200L, transactionDto.getBalanceSnapshot());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("거래 금액이 잔액 보다 큰 경우 - 잔액 사용 실패")
+    void useBalance_AmountExceedBalance() {
+        //given
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Mono.just(new AccountUserRow(1L, "Pororo")));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(AccountRow.builder()
+                        .id(1L)
+                        .accountUserId(1L)
+                        .accountStatus(AccountStatus.IN_USE)
+                        .balance(100L)
+                        .build()));
+        //when
+        //then
+        StepVerifier.create(transactionService.useBalance(1L, "1234567890", 1200L))
+                .expectErrorSatisfies(e -> assertEquals(
+                        ErrorCode.AMOUNT_EXCEED_BALANCE, ((AccountException) e).getErrorCode()))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("거래 조회 실패")
+    void queryTransaction_TransactionNotFound() {
+        //given
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Mono.<TransactionRow>empty());
+        //when
+        //then
+        StepVerifier.create(transactionService.queryTransaction("transactionId"))
+                .expectErrorSatisfies(e -> assertEquals(
+                        ErrorCode.TRANSACTION_NOT_FOUND, ((AccountException) e).getErrorCode()))
+                .verify();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.accountmission.lock;
+
+import com.example.accountmission.service.LockService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 계좌 락 구현별 lock + unlock 비용 (경쟁 없이 쓰레드마다 다른 계좌)
+ * - local    : JVM 락
+ * - redis    : Redisson 락 + 펜싱 토큰 INCR (임베디드 Redis, 실제 배포는 네트워크 왕복이 더해진다)
+ * - database : 트랜잭션 시작 + SELECT ... FOR UPDATE + 커밋 (H2 메모리)
+ */
+@State(Scope.Benchmark)
+public class AccountLockProviderBenchmark {
+    private static final int ACCOUNTS = 16;
+    private static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+
+    @Param({"local", "redis", "database"})
+    private String provider;
+
+    private AccountLockProvider lockProvider;
+    private RedisServer redisServer;
+    private RedissonClient redissonClient;
+    private HikariDataSource dataSource;
+    private final AtomicInteger nextAccount = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {
+        private String accountNumber;
+
+        @Setup
+        public void setup(AccountLockProviderBenchmark benchmark) {
+            accountNumber = String.valueOf(
+                    FIRST_ACCOUNT_NUMBER + benchmark.nextAccount.getAndIncrement() % ACCOUNTS);
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        LockProperties properties = new LockProperties();
+        lockProvider = switch (provider) {
+            case "local" -> new LocalAccountLockProvider(properties.getWaitTime().toMillis());
+            case "redis" -> new LockService(startRedis(), properties);
+            case "database" -> startDatabase();
+            default -> throw new IllegalArgumentException(provider);
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (redissonClient != null) {
+            redissonClient.shutdown();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long lockUnlock(ThreadAccount account) {
+        return lockAndUnlock(account.accountNumber);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long lockUnlockParallel(ThreadAccount account) {
+        return lockAndUnlock(account.accountNumber);
+    }
+
+    private long lockAndUnlock(String accountNumber) {
+        long token = lockProvider.lock(accountNumber);
+        lockProvider.unlock(accountNumber);
+        return token;
+    }
+
+    private RedissonClient startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+        redissonClient = Redisson.create(config);
+        return redissonClient;
+    }
+
+    private AccountLockProvider startDatabase() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:account-lock-benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(8);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists account " +
+                "(account_number varchar(10) primary key, fencing_token bigint)");
+        jdbcTemplate.update("delete from account");
+        for (int i = 0; i < ACCOUNTS; i++) {
+            jdbcTemplate.update("insert into account (account_number) values (?)",
+                    String.valueOf(FIRST_ACCOUNT_NUMBER + i));
+        }
+        return new DatabaseAccountLockProvider(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+}
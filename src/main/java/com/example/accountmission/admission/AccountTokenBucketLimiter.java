@@ -0,0 +1,83 @@
+package com.example.accountmission.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 계좌번호별 토큰 버킷
+ * 한 계좌에 요청이 몰려도 Redisson 락 앞에서 쓰레드가 대기하지 않도록 초과분은 바로 거절한다.
+ * 토큰이 가득 찬(오래 안 쓰인) 버킷은 추적 계좌 수가 maxTrackedAccounts 를 넘을 때 정리한다.
+ */
+public class AccountTokenBucketLimiter {
+    private final double permitsPerNano;
+    private final int burst;
+    private final int maxTrackedAccounts;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public AccountTokenBucketLimiter(double permitsPerSecond, int burst, int maxTrackedAccounts) {
+        this(permitsPerSecond, burst, maxTrackedAccounts, System::nanoTime);
+    }
+
+    AccountTokenBucketLimiter(double permitsPerSecond, int burst, int maxTrackedAccounts,
+                              LongSupplier nanoClock) {
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxTrackedAccounts = maxTrackedAccounts;
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean tryAcquire(String accountNumber) {
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(accountNumber);
+        if (bucket == null) {
+            if (buckets.size() >= maxTrackedAccounts) {
+                evictIdle(now);
+            }
+            bucket = buckets.computeIfAbsent(accountNumber, key -> new TokenBucket(burst, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    int trackedAccounts() {
+        return buckets.size();
+    }
+
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        // 전부 사용중이라면 초기화한다. (잠시 한도가 느슨해질 뿐 거래에는 영향 없음)
+        if (buckets.size() >= maxTrackedAccounts) {
+            buckets.clear();
+        }
+    }
+
+    private final class TokenBucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+
+        private synchronized boolean tryAcquire(long now) {
+            refill(now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        private synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= burst;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.accountmission.admission;
+
+import com.example.accountmission.aop.AccountLock;
+import com.example.accountmission.aop.AccountLockKeyResolver;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 계좌 락을 잡기 전에 입장 여부를 정한다.
+ * 락 대기(최대 1초) 전에 거절해야 쓰레드가 묶이지 않으므로 LockAopAspect 보다 먼저 실행된다.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class AdmissionControlAspect {
+    private final AdmissionGate admissionGate;
+    private final AccountLockKeyResolver lockKeyResolver;
+
+    // 계좌별 한도는 락과 같은 키로 센다.
+    @Around("@annotation(accountLock)")
+    public Object admit(ProceedingJoinPoint pjp, AccountLock accountLock) throws Throwable {
+        AdmissionGate.Permit permit = admissionGate.acquire(lockKeyResolver.resolve(pjp, accountLock));
+        Throwable failure = null;
+        try {
+            return pjp.proceed();
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            permit.release(failure);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.accountmission.admission;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+
+/**
+ * 거래 요청 입장 제어
+ * 1. 서비스 전체 동시 처리 한도 -> 초과하면 SERVICE_OVERLOADED
+ * 2. 계좌별 토큰 버킷 -> 초과하면 ACCOUNT_RATE_LIMITED (잡은 동시 처리 자리는 지연시간 표본 없이 돌려준다)
+ * 전체 한도로 거절된 요청은 계좌 토큰을 쓰지 않는다.
+ * 입장한 요청은 처리가 끝나면 반드시 {@link Permit#release(Throwable)} 를 호출해야 한다.
+ */
+public class AdmissionGate {
+    private static final Permit UNLIMITED_PERMIT = new Permit(null, 0L);
+
+    private final GradientConcurrencyLimiter concurrencyLimiter;
+    private final AccountTokenBucketLimiter accountLimiter;
+
+    public AdmissionGate(GradientConcurrencyLimiter concurrencyLimiter,
+                         AccountTokenBucketLimiter accountLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.accountLimiter = accountLimiter;
+    }
+
+    /**
+     * 제한 없이 모두 통과 (account.admission.enabled=false, 테스트)
+     */
+    public static AdmissionGate unlimited() {
+        return new AdmissionGate(null, null);
+    }
+
+    public Permit acquire(String accountNumber) {
+        if (concurrencyLimiter == null) {
+            return UNLIMITED_PERMIT;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            throw AccountException.of(ErrorCode.SERVICE_OVERLOADED);
+        }
+        if (!accountLimiter.tryAcquire(accountNumber)) {
+            concurrencyLimiter.onIgnore();
+            throw AccountException.of(ErrorCode.ACCOUNT_RATE_LIMITED);
+        }
+        return new Permit(concurrencyLimiter, System.nanoTime());
+    }
+
+    public static final class Permit {
+        private final GradientConcurrencyLimiter limiter;
+        private final long startNanos;
+
+        private Permit(GradientConcurrencyLimiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 락 획득 실패는 과부하 신호로 보고 한도를 줄인다.
+         * 그 외 결과(업무 거절 포함)는 지연시간 표본으로 사용한다.
+         */
+        public void release(Throwable failure) {
+            if (limiter == null) {
+                return;
+            }
+            if (failure instanceof AccountException e
+                    && e.getErrorCode() == ErrorCode.ACCOUNT_TRANSACTION_LOCK) {
+                limiter.onDropped();
+            } else {
+                limiter.onComplete(System.nanoTime() - startNanos);
+            }
+        }
+    }
+}
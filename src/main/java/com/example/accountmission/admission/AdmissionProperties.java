@@ -0,0 +1,25 @@
+package com.example.accountmission.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+
+    // 거래 API 전체 동시 처리 한도 (관측된 지연시간으로 조정)
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    private double rttTolerance = 1.5;
+    private double smoothing = 0.2;
+    private int longWindow = 600;
+
+    // 계좌별 토큰 버킷
+    private double accountPermitsPerSecond = 20;
+    private int accountBurst = 40;
+    private int maxTrackedAccounts = 100_000;
+}
@@ -0,0 +1,91 @@
+package com.example.accountmission.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 지연시간 기울기 기반 동시성 한도
+ * 장기 평균 지연(longRtt) 대비 이번 요청 지연(rtt)이 늘어나면 한도를 줄이고, 비슷하면 sqrt(limit) 만큼 늘린다.
+ * 락 대기 실패처럼 과부하로 버려진 요청은 한도를 바로 10% 줄인다. (AIMD 의 multiplicative decrease)
+ *
+ * 기준이 고정 목표값이 아닌 자기 자신의 평균이므로 엔드포인트 자체가 느린 경우에도 한도가 바닥으로 떨어지지 않는다.
+ */
+public class GradientConcurrencyLimiter {
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final int longWindow;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+    private double longRttNanos;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, double smoothing, int longWindow) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.longWindow = longWindow;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onComplete(long rttNanos) {
+        int current = inflight.getAndDecrement();
+        update(rttNanos, current);
+    }
+
+    public void onDropped() {
+        inflight.decrementAndGet();
+        synchronized (this) {
+            limit = clamp(limit * DROP_BACKOFF);
+        }
+    }
+
+    // 처리하지 않고 돌려준 자리 (계좌별 한도 거절), 한도는 그대로 둔다.
+    public void onIgnore() {
+        inflight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inflightAtCompletion) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            return;
+        }
+        longRttNanos += (rttNanos - longRttNanos) / longWindow;
+
+        // 한도의 절반도 쓰지 않고 있다면 지연이 낮아도 한도를 늘리지 않는다.
+        if (inflightAtCompletion < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
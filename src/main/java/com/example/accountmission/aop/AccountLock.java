@@ -2,10 +2,15 @@ package com.example.accountmission.aop;
 
 import java.lang.annotation.*;
 
+/**
+ * 메소드 실행 동안 계좌 락을 잡는다.
+ * value 는 메소드 파라미터로 계산하는 SpEL (파라미터 이름 또는 #p0, #a0), 예) "#request.accountNumber"
+ * 비워두면 AccountLockIdInterface 파라미터의 계좌번호를 쓴다.
+ */
 @Target(ElementType.METHOD)
 @Documented
 @Inherited
 @Retention(RetentionPolicy.RUNTIME)
 public @interface AccountLock {
-    String value(); // 락의 이름 고유 값
+    String value() default ""; // 락의 이름 고유 값 (DATABASE 락은 계좌번호여야 한다)
 }
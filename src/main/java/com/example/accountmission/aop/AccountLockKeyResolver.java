@@ -0,0 +1,91 @@
+package com.example.accountmission.aop;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.NativeDetector;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @AccountLock 의 락 키 계산
+ * 메소드마다 처음 한번만 SpEL 을 파싱해서 캐시하고, 이후에는 파라미터만 바꿔서 계산한다.
+ * MIXED 모드라 반복 호출되는 식은 바이트코드로 컴파일되고, 컴파일된 코드가 실패하면(파라미터 타입이 바뀐 경우 등)
+ * 해석 모드로 돌아간다. (native image 는 실행 중에 클래스를 만들 수 없으므로 해석 모드만 사용)
+ */
+@Component
+public class AccountLockKeyResolver {
+    private final SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(
+            NativeDetector.inNativeImage() ? SpelCompilerMode.OFF : SpelCompilerMode.MIXED,
+            AccountLockKeyResolver.class.getClassLoader()));
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<Method, LockKey> lockKeys = new ConcurrentHashMap<>();
+
+    public String resolve(ProceedingJoinPoint pjp, AccountLock accountLock) {
+        return resolve(((MethodSignature) pjp.getSignature()).getMethod(), accountLock, pjp.getArgs());
+    }
+
+    public String resolve(Method method, AccountLock accountLock, Object[] args) {
+        LockKey lockKey = lockKeys.get(method);
+        if (lockKey == null) {
+            lockKey = lockKeys.computeIfAbsent(method, m -> parse(m, accountLock.value()));
+        }
+        Object key = lockKey.resolve(args);
+        if (key == null) {
+            throw new IllegalArgumentException("Lock key of " + method + " is null");
+        }
+        return key.toString();
+    }
+
+    private LockKey parse(Method method, String expression) {
+        if (expression.isBlank()) {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (AccountLockIdInterface.class.isAssignableFrom(parameterTypes[i])) {
+                    return new RequestKey(i);
+                }
+            }
+            throw new IllegalStateException(
+                    "@AccountLock on " + method + " needs a key expression or an AccountLockIdInterface parameter");
+        }
+        String[] names = parameterNameDiscoverer.getParameterNames(method);
+        return new ExpressionKey(parser.parseExpression(expression), names == null ? new String[0] : names);
+    }
+
+    private interface LockKey {
+        Object resolve(Object[] args);
+    }
+
+    private record RequestKey(int index) implements LockKey {
+        @Override
+        public Object resolve(Object[] args) {
+            AccountLockIdInterface request = (AccountLockIdInterface) args[index];
+            return request == null ? null : request.getAccountNumber();
+        }
+    }
+
+    // 파라미터 값만 읽을 수 있는 컨텍스트 (임의의 메소드 호출이나 타입 참조는 허용하지 않는다)
+    private record ExpressionKey(Expression expression, String[] parameterNames) implements LockKey {
+        @Override
+        public Object resolve(Object[] args) {
+            SimpleEvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding().build();
+            for (int i = 0; i < args.length; i++) {
+                context.setVariable("p" + i, args[i]);
+                context.setVariable("a" + i, args[i]);
+                if (i < parameterNames.length) {
+                    context.setVariable(parameterNames[i], args[i]);
+                }
+            }
+            return expression.getValue(context);
+        }
+    }
+}
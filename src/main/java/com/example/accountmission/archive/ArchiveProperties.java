@@ -0,0 +1,19 @@
+package com.example.accountmission.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.archive")
+public class ArchiveProperties {
+    private boolean enabled = true;
+    private String directory = "./data/transaction-archive";
+    // 이보다 오래된 거래를 세그먼트로 옮긴다. 보관된 거래는 조회만 가능하고 취소할 수 없다.
+    private Duration minAge = Duration.ofDays(365);
+    private int batchSize = 50_000;
+    private long intervalMs = 3_600_000L;
+}
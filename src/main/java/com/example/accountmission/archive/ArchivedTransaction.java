@@ -0,0 +1,20 @@
+package com.example.accountmission.archive;
+
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+
+/**
+ * 세그먼트 파일에 저장되는 거래 한 건
+ * 계좌 id 는 샤드마다 다를 수 있으므로 계좌번호(숫자 10자리)를 long 으로 저장한다.
+ */
+public record ArchivedTransaction(
+        long id,
+        long accountNumber,
+        String transactionId,
+        TransactionType transactionType,
+        TransactionResultType transactionResultType,
+        long amount,
+        long balanceSnapshot,
+        long cancelledAmount,
+        long transactedAtMillis) {
+}
@@ -0,0 +1,195 @@
+package com.example.accountmission.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.example.accountmission.archive.SegmentFormat.*;
+
+/**
+ * 메모리 매핑된 읽기 전용 세그먼트
+ * 인덱스는 매핑된 버퍼에서 바로 이진 탐색하고, 필요한 블록만 압축을 풀어 읽는다.
+ * 절대 위치로만 읽으므로 여러 쓰레드가 동시에 사용해도 된다.
+ */
+final class Segment {
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final int blockCount;
+    private final int blockIndexOffset;
+    private final int txIndexOffset;
+
+    private Segment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a transaction segment: " + path);
+        }
+        this.rowCount = buffer.getInt(8);
+        this.blockCount = buffer.getInt(12);
+        this.blockIndexOffset = (int) buffer.getLong(16);
+        this.txIndexOffset = (int) buffer.getLong(24);
+    }
+
+    static Segment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지된다.
+            return new Segment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    Optional<ArchivedTransaction> findByTransactionId(String transactionId) {
+        long hash = hash(transactionId);
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(txIndexOffset + mid * TX_INDEX_ENTRY_BYTES) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        // 해시 충돌이 있을 수 있으므로 같은 해시를 모두 확인한다.
+        for (int i = low; i < rowCount; i++) {
+            int entry = txIndexOffset + i * TX_INDEX_ENTRY_BYTES;
+            if (buffer.getLong(entry) != hash) {
+                break;
+            }
+            ArchivedTransaction candidate = decodeBlock(buffer.getInt(entry + 8)).get(buffer.getInt(entry + 12));
+            if (candidate.transactionId().equals(transactionId)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 계좌의 [fromMillis, toMillis] 거래, 희소 인덱스로 겹치는 블록만 읽는다.
+     */
+    List<ArchivedTransaction> findByAccount(long accountNumber, long fromMillis, long toMillis) {
+        List<ArchivedTransaction> result = new ArrayList<>();
+        for (int block = firstBlockEndingAtOrAfter(accountNumber, fromMillis); block < blockCount; block++) {
+            int entry = blockIndexOffset + block * BLOCK_INDEX_ENTRY_BYTES;
+            if (compare(buffer.getLong(entry + 8), buffer.getLong(entry + 16), accountNumber, toMillis) > 0) {
+                break;
+            }
+            for (ArchivedTransaction row : decodeBlock(block)) {
+                if (row.accountNumber() == accountNumber
+                        && row.transactedAtMillis() >= fromMillis
+                        && row.transactedAtMillis() <= toMillis) {
+                    result.add(row);
+                }
+            }
+        }
+        return result;
+    }
+
+    // 마지막 행이 (accountNumber, fromMillis) 이상인 첫 블록
+    private int firstBlockEndingAtOrAfter(long accountNumber, long fromMillis) {
+        int low = 0;
+        int high = blockCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int entry = blockIndexOffset + mid * BLOCK_INDEX_ENTRY_BYTES;
+            if (compare(buffer.getLong(entry + 24), buffer.getLong(entry + 32), accountNumber, fromMillis) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(long account1, long time1, long account2, long time2) {
+        int byAccount = Long.compare(account1, account2);
+        return byAccount != 0 ? byAccount : Long.compare(time1, time2);
+    }
+
+    private List<ArchivedTransaction> decodeBlock(int block) {
+        int offset = (int) buffer.getLong(blockIndexOffset + block * BLOCK_INDEX_ENTRY_BYTES);
+        int rawLength = buffer.getInt(offset);
+        int compressedLength = buffer.getInt(offset + 4);
+
+        Inflater inflater = new Inflater();
+        byte[] raw = new byte[rawLength];
+        try {
+            inflater.setInput(buffer.slice(offset + 8, compressedLength));
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted segment block " + block + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+        return decodeRows(ByteBuffer.wrap(raw));
+    }
+
+    private static List<ArchivedTransaction> decodeRows(ByteBuffer in) {
+        int count = (int) readVarLong(in);
+        long[] accountNumbers = readDeltaColumn(in, count);
+        long[] transactedAts = readDeltaColumn(in, count);
+        long[] ids = readDeltaColumn(in, count);
+        int[] flags = new int[count];
+        for (int i = 0; i < count; i++) {
+            flags[i] = in.get() & 0xFF;
+        }
+        long[] amounts = readColumn(in, count);
+        long[] balanceSnapshots = readColumn(in, count);
+        long[] cancelledAmounts = readColumn(in, count);
+
+        List<ArchivedTransaction> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] transactionId = new byte[(int) readVarLong(in)];
+            in.get(transactionId);
+            rows.add(new ArchivedTransaction(
+                    ids[i],
+                    accountNumbers[i],
+                    new String(transactionId, StandardCharsets.UTF_8),
+                    transactionType(flags[i]),
+                    transactionResultType(flags[i]),
+                    amounts[i],
+                    balanceSnapshots[i],
+                    cancelledAmounts[i],
+                    transactedAts[i]));
+        }
+        return rows;
+    }
+
+    private static long[] readDeltaColumn(ByteBuffer in, int count) {
+        long[] values = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += readVarLong(in);
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static long[] readColumn(ByteBuffer in, int count) {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = readVarLong(in);
+        }
+        return values;
+    }
+}
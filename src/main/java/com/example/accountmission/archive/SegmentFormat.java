@@ -0,0 +1,81 @@
+package com.example.accountmission.archive;
+
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 거래 세그먼트 파일 형식
+ *
+ * [header 32 bytes]
+ *   magic int, version int, rowCount int, blockCount int, blockIndexOffset long, txIndexOffset long
+ * [blocks]  블록마다 rawLength int, compressedLength int, deflate(컬럼 인코딩된 BLOCK_ROWS 건)
+ *   블록 안은 컬럼별로 저장한다.
+ *   accountNumber / transactedAt / id : 이전 행과의 차이(zigzag varint)
+ *   type, result : 한 바이트 (type | result << 4)
+ *   amount, balanceSnapshot, cancelledAmount : zigzag varint
+ *   transactionId : 길이 varint + UTF-8
+ * [block index] 블록마다 offset, 첫 행 (accountNumber, transactedAt), 마지막 행 (accountNumber, transactedAt)
+ *   행은 (accountNumber, transactedAt, id) 순으로 정렬되어 있어 계좌/기간 조회는 이 희소 인덱스로 블록만 고른다.
+ * [tx index] 행마다 (hash(transactionId) long, block int, row int), hash 순 정렬
+ */
+final class SegmentFormat {
+    static final int MAGIC = 0x54585347; // "TXSG"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int BLOCK_ROWS = 1024;
+    static final int BLOCK_INDEX_ENTRY_BYTES = 40;
+    static final int TX_INDEX_ENTRY_BYTES = 16;
+
+    private SegmentFormat() {
+    }
+
+    // FNV-1a 64bit
+    static long hash(String transactionId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : transactionId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // enum 은 null 이면 0, 그 외는 ordinal + 1
+    static int ordinal(Enum<?> value) {
+        return value == null ? 0 : value.ordinal() + 1;
+    }
+
+    static TransactionType transactionType(int flags) {
+        int ordinal = flags & 0x0F;
+        return ordinal == 0 ? null : TransactionType.values()[ordinal - 1];
+    }
+
+    static TransactionResultType transactionResultType(int flags) {
+        int ordinal = (flags >> 4) & 0x0F;
+        return ordinal == 0 ? null : TransactionResultType.values()[ordinal - 1];
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long zigzag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
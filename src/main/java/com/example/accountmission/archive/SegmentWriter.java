@@ -0,0 +1,148 @@
+package com.example.accountmission.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static com.example.accountmission.archive.SegmentFormat.*;
+
+/**
+ * 거래 목록을 세그먼트 파일 하나로 쓴다. (형식은 {@link SegmentFormat})
+ * 임시 파일에 다 쓴 뒤 이름을 바꾸므로 읽는 쪽은 완성된 파일만 본다.
+ */
+final class SegmentWriter {
+    private static final Comparator<ArchivedTransaction> ORDER =
+            Comparator.comparingLong(ArchivedTransaction::accountNumber)
+                    .thenComparingLong(ArchivedTransaction::transactedAtMillis)
+                    .thenComparingLong(ArchivedTransaction::id);
+
+    private SegmentWriter() {
+    }
+
+    static void write(Path path, List<ArchivedTransaction> transactions) throws IOException {
+        List<ArchivedTransaction> rows = new ArrayList<>(transactions);
+        rows.sort(ORDER);
+        int blockCount = (rows.size() + BLOCK_ROWS - 1) / BLOCK_ROWS;
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(HEADER_BYTES);
+
+            ByteBuffer blockIndex = ByteBuffer.allocate(blockCount * BLOCK_INDEX_ENTRY_BYTES);
+            ByteBuffer txIndex = ByteBuffer.allocate(rows.size() * TX_INDEX_ENTRY_BYTES);
+            long[][] txEntries = new long[rows.size()][];
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                for (int block = 0; block < blockCount; block++) {
+                    int from = block * BLOCK_ROWS;
+                    List<ArchivedTransaction> blockRows = rows.subList(from, Math.min(from + BLOCK_ROWS, rows.size()));
+                    ArchivedTransaction first = blockRows.get(0);
+                    ArchivedTransaction last = blockRows.get(blockRows.size() - 1);
+                    blockIndex.putLong(channel.position())
+                            .putLong(first.accountNumber()).putLong(first.transactedAtMillis())
+                            .putLong(last.accountNumber()).putLong(last.transactedAtMillis());
+                    writeFully(channel, compress(deflater, encodeBlock(blockRows)));
+
+                    for (int row = 0; row < blockRows.size(); row++) {
+                        txEntries[from + row] = new long[]{hash(blockRows.get(row).transactionId()), block, row};
+                    }
+                }
+            } finally {
+                deflater.end();
+            }
+
+            long blockIndexOffset = channel.position();
+            writeFully(channel, blockIndex.flip());
+
+            Arrays.sort(txEntries, Comparator.comparingLong(entry -> entry[0]));
+            for (long[] entry : txEntries) {
+                txIndex.putLong(entry[0]).putInt((int) entry[1]).putInt((int) entry[2]);
+            }
+            long txIndexOffset = channel.position();
+            writeFully(channel, txIndex.flip());
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putInt(VERSION).putInt(rows.size()).putInt(blockCount)
+                    .putLong(blockIndexOffset).putLong(txIndexOffset);
+            channel.position(0);
+            writeFully(channel, header.flip());
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] encodeBlock(List<ArchivedTransaction> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 48);
+        writeVarLong(out, rows.size());
+
+        long previous = 0;
+        for (ArchivedTransaction row : rows) {
+            writeVarLong(out, row.accountNumber() - previous);
+            previous = row.accountNumber();
+        }
+        previous = 0;
+        for (ArchivedTransaction row : rows) {
+            writeVarLong(out, row.transactedAtMillis() - previous);
+            previous = row.transactedAtMillis();
+        }
+        previous = 0;
+        for (ArchivedTransaction row : rows) {
+            writeVarLong(out, row.id() - previous);
+            previous = row.id();
+        }
+        for (ArchivedTransaction row : rows) {
+            out.write(ordinal(row.transactionType()) | ordinal(row.transactionResultType()) << 4);
+        }
+        for (ArchivedTransaction row : rows) {
+            writeVarLong(out, row.amount());
+        }
+        for (ArchivedTransaction row : rows) {
+            writeVarLong(out, row.balanceSnapshot());
+        }
+        for (ArchivedTransaction row : rows) {
+            writeVarLong(out, row.cancelledAmount());
+        }
+        for (ArchivedTransaction row : rows) {
+            byte[] transactionId = row.transactionId().getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, transactionId.length);
+            out.writeBytes(transactionId);
+        }
+        return out.toByteArray();
+    }
+
+    private static ByteBuffer compress(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(buffer);
+            out.write(buffer, 0, length);
+        }
+        byte[] compressed = out.toByteArray();
+        return ByteBuffer.allocate(8 + compressed.length)
+                .putInt(raw.length)
+                .putInt(compressed.length)
+                .put(compressed)
+                .flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
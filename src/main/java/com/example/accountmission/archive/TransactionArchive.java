@@ -0,0 +1,92 @@
+package com.example.accountmission.archive;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * 보관(archive)된 거래 세그먼트 목록
+ * 디렉토리 구조 : {directory}/{shard}/tx-{minId}-{maxId}.seg
+ * 같은 id 범위로 다시 보관하면 같은 파일 이름이 되므로 중복 등록되지 않는다.
+ */
+@Slf4j
+public class TransactionArchive {
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    // 파일 경로 순 = 샤드별 id 순, 최근 세그먼트부터 찾는다.
+    private final ConcurrentSkipListMap<Path, Segment> segments =
+            new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+
+    public TransactionArchive(Path directory) {
+        this.directory = directory;
+        loadExisting();
+    }
+
+    public Optional<ArchivedTransaction> findByTransactionId(String transactionId) {
+        for (Segment segment : segments.values()) {
+            Optional<ArchivedTransaction> found = segment.findByTransactionId(transactionId);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<ArchivedTransaction> findByAccount(long accountNumber, long fromMillis, long toMillis) {
+        List<ArchivedTransaction> result = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            result.addAll(segment.findByAccount(accountNumber, fromMillis, toMillis));
+        }
+        result.sort(Comparator.comparingLong(ArchivedTransaction::transactedAtMillis));
+        return result;
+    }
+
+    /**
+     * 세그먼트 파일을 쓰고 바로 조회 대상에 추가한다.
+     * 원본 행 삭제 전에 추가되므로 그 사이에는 같은 거래가 양쪽에 있을 수 있다. (조회는 원본 테이블이 우선)
+     */
+    public void append(String shardKey, long minId, long maxId, List<ArchivedTransaction> transactions) {
+        Path shardDirectory = directory.resolve(shardKey);
+        Path path = shardDirectory.resolve(String.format("tx-%019d-%019d%s", minId, maxId, SEGMENT_SUFFIX));
+        try {
+            Files.createDirectories(shardDirectory);
+            SegmentWriter.write(path, transactions);
+            segments.put(path, Segment.open(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write transaction segment " + path, e);
+        }
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    private void loadExisting() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .forEach(path -> {
+                        try {
+                            segments.put(path, Segment.open(path));
+                        } catch (IOException | IllegalStateException e) {
+                            log.error("Skipping unreadable transaction segment {}: {}", path, e.getMessage());
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load transaction segments from " + directory, e);
+        }
+        log.info("Loaded {} transaction segments from {}", segments.size(), directory);
+    }
+}
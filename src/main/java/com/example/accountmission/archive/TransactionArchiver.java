@@ -0,0 +1,109 @@
+package com.example.accountmission.archive;
+
+import com.example.accountmission.shard.ShardContextHolder;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * minAge 보다 오래된 거래를 세그먼트 파일로 옮기고 원본 테이블에서 지운다.
+ * 1. id 순으로 batchSize 건 읽기
+ * 2. 세그먼트 파일 쓰기 (파일 이름이 id 범위라 재실행해도 같은 파일)
+ * 3. 같은 범위를 원본 테이블에서 삭제
+ * 2 와 3 사이에 실패하면 다음 실행에서 같은 범위를 다시 보관하고 삭제한다.
+ */
+@Slf4j
+public class TransactionArchiver {
+    private static final String DEFAULT_SHARD = "default";
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionArchive transactionArchive;
+    private final ShardRouter shardRouter;
+    private final Duration minAge;
+    private final int batchSize;
+
+    public TransactionArchiver(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               TransactionArchive transactionArchive,
+                               ShardRouter shardRouter,
+                               Duration minAge,
+                               int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionArchive = transactionArchive;
+        this.shardRouter = shardRouter;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${account.archive.interval-ms:3600000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        shardRouter.forEachShard(() -> {
+            try {
+                int archived;
+                do {
+                    archived = archiveBatch(cutoff);
+                } while (archived == batchSize);
+            } catch (RuntimeException e) {
+                log.error("Transaction archiving failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * @return 보관한 거래 수
+     */
+    int archiveBatch(LocalDateTime cutoff) {
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        List<ArchivedTransaction> transactions = jdbcTemplate.query(
+                "select t.id, a.account_number, t.transaction_id, t.transaction_type, " +
+                        "t.transaction_result_type, t.amount, t.balance_snapshot, t.cancelled_amount, t.transacted_at " +
+                        "from transaction t join account a on a.id = t.account_id " +
+                        "where t.transacted_at < ? order by t.id limit ?",
+                (rs, rowNum) -> new ArchivedTransaction(
+                        rs.getLong("id"),
+                        Long.parseLong(rs.getString("account_number")),
+                        rs.getString("transaction_id"),
+                        enumOrNull(TransactionType.class, rs.getString("transaction_type")),
+                        enumOrNull(TransactionResultType.class, rs.getString("transaction_result_type")),
+                        rs.getLong("amount"),
+                        rs.getLong("balance_snapshot"),
+                        rs.getLong("cancelled_amount"),
+                        rs.getTimestamp("transacted_at").toLocalDateTime().atZone(ZONE).toInstant().toEpochMilli()),
+                cutoffTimestamp, batchSize);
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        long minId = transactions.get(0).id();
+        long maxId = transactions.get(transactions.size() - 1).id();
+        String shardKey = ShardContextHolder.get() == null ? DEFAULT_SHARD : ShardContextHolder.get();
+        transactionArchive.append(shardKey, minId, maxId, transactions);
+
+        // id 순으로 앞에서부터 읽었으므로 범위 안의 오래된 거래는 모두 방금 보관한 거래다.
+        Integer deleted = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "delete from transaction where id between ? and ? and transacted_at < ?",
+                minId, maxId, cutoffTimestamp));
+        log.info("Archived {} transactions (id {} ~ {}), deleted {} from {}",
+                transactions.size(), minId, maxId, deleted, shardKey);
+        return transactions.size();
+    }
+
+    private static <E extends Enum<E>> E enumOrNull(Class<E> type, String name) {
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.admission.AccountTokenBucketLimiter;
+import com.example.accountmission.admission.AdmissionControlAspect;
+import com.example.accountmission.admission.AdmissionGate;
+import com.example.accountmission.admission.AdmissionProperties;
+import com.example.accountmission.admission.GradientConcurrencyLimiter;
+import com.example.accountmission.aop.AccountLockKeyResolver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 거래 API 입장 제어 (account.admission.enabled=false 이면 모두 통과)
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionGate admissionGate(AdmissionProperties properties) {
+        if (!properties.isEnabled()) {
+            return AdmissionGate.unlimited();
+        }
+        return new AdmissionGate(
+                new GradientConcurrencyLimiter(
+                        properties.getInitialLimit(),
+                        properties.getMinLimit(),
+                        properties.getMaxLimit(),
+                        properties.getRttTolerance(),
+                        properties.getSmoothing(),
+                        properties.getLongWindow()),
+                new AccountTokenBucketLimiter(
+                        properties.getAccountPermitsPerSecond(),
+                        properties.getAccountBurst(),
+                        properties.getMaxTrackedAccounts()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "account.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public AdmissionControlAspect admissionControlAspect(AdmissionGate admissionGate,
+                                                         AccountLockKeyResolver lockKeyResolver) {
+        return new AdmissionControlAspect(admissionGate, lockKeyResolver);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.archive.ArchiveProperties;
+import com.example.accountmission.archive.TransactionArchive;
+import com.example.accountmission.archive.TransactionArchiver;
+import com.example.accountmission.shard.ShardRouter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+
+/**
+ * 오래된 거래 보관 (account.archive.enabled=false 이면 보관 작업만 끄고, 이미 보관된 세그먼트는 계속 조회한다)
+ */
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfig {
+
+    @Bean
+    public TransactionArchive transactionArchive(ArchiveProperties properties) {
+        return new TransactionArchive(Path.of(properties.getDirectory()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "account.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TransactionArchiver transactionArchiver(JdbcTemplate jdbcTemplate,
+                                                   PlatformTransactionManager transactionManager,
+                                                   TransactionArchive transactionArchive,
+                                                   ShardRouter shardRouter,
+                                                   ArchiveProperties properties) {
+        return new TransactionArchiver(jdbcTemplate, transactionManager, transactionArchive, shardRouter,
+                properties.getMinAge(), properties.getBatchSize());
+    }
+}
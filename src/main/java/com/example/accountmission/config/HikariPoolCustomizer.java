@@ -0,0 +1,35 @@
+package com.example.accountmission.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 직접 만드는 커넥션 풀(샤드, 레플리카)에도 spring.datasource.hikari 설정과 풀 메트릭을 적용한다.
+ * 기본 DataSource 는 스프링 부트가 같은 설정과 메트릭을 적용하므로 여기를 거치지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class HikariPoolCustomizer {
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public DataSource customize(DataSource dataSource, String poolName) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(hikari));
+            hikari.setPoolName(poolName);
+            // 풀이 처음 커넥션을 만들기 전에 지정해야 한다.
+            meterRegistry.ifAvailable(hikari::setMetricRegistry);
+        }
+        return dataSource;
+    }
+}
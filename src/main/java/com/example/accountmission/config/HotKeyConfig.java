@@ -0,0 +1,31 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.hotkey.HotKeyDetector;
+import com.example.accountmission.hotkey.HotKeyEndpoint;
+import com.example.accountmission.hotkey.HotKeyProperties;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 경쟁이 심한 계좌 탐지 (account.hotkey.enabled=false 이면 기록하지 않는다)
+ */
+@Configuration
+@EnableConfigurationProperties(HotKeyProperties.class)
+public class HotKeyConfig {
+
+    @Bean
+    public HotKeyDetector hotKeyDetector(HotKeyProperties properties) {
+        if (!properties.isEnabled()) {
+            return HotKeyDetector.disabled();
+        }
+        return new HotKeyDetector(properties);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = HotKeyEndpoint.class)
+    public HotKeyEndpoint hotKeyEndpoint(HotKeyDetector hotKeyDetector, HotKeyProperties properties) {
+        return new HotKeyEndpoint(hotKeyDetector, properties.getTopLimit());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.engine.BalanceEngine;
+import com.example.accountmission.journal.JournalProperties;
+import com.example.accountmission.journal.TransactionJournal;
+import com.example.accountmission.limit.SpendingLimiter;
+import com.example.accountmission.repository.AccountRepository;
+import com.example.accountmission.repository.AccountUserRepository;
+import com.example.accountmission.repository.TransactionRepository;
+import com.example.accountmission.service.ResourceVersionCache;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.stats.TransactionStatsAccumulator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 잔액 사용/취소 저널 모드 (account.journal.enabled=true 일 때만 저널을 열고, 아니면 기존 동기 처리)
+ * 승인 API 는 DB 잔액으로 검증하고 확정 시 저널을 거치지 않고 출금하므로 저널 모드와 같이 켤 수 없다.
+ */
+@Configuration
+@EnableConfigurationProperties(JournalProperties.class)
+public class JournalConfig {
+
+    /**
+     * 잔액 엔진은 저널 모드에서만 쓴다. (메모리 잔액의 변경을 저널로 영속화)
+     */
+    @Bean
+    public BalanceEngine balanceEngine(JournalProperties properties, JdbcTemplate jdbcTemplate,
+                                       ShardRouter shardRouter,
+                                       @Value("${account.hold.enabled:true}") boolean holdEnabled) {
+        if (!properties.isEnabled() || !properties.isBalanceEngine()) {
+            return BalanceEngine.disabled();
+        }
+        // 엔진의 tryDebit 은 묶인 금액을 보지 않으므로 승인 API 가 켜져 있으면 묶인 금액까지 쓸 수 있다.
+        if (holdEnabled) {
+            throw new IllegalStateException(
+                    "account.journal.balance-engine=true requires account.hold.enabled=false "
+                            + "(the engine does not track held amounts)");
+        }
+        return new BalanceEngine(jdbcTemplate, shardRouter, properties.getExpectedAccounts());
+    }
+
+    @Bean(destroyMethod = "close")
+    public TransactionJournal transactionJournal(JournalProperties properties,
+                                                 BalanceEngine balanceEngine,
+                                                 SpendingLimiter spendingLimiter,
+                                                 AccountUserRepository accountUserRepository,
+                                                 AccountRepository accountRepository,
+                                                 TransactionRepository transactionRepository,
+                                                 ResourceVersionCache resourceVersionCache,
+                                                 TransactionStatsAccumulator transactionStatsAccumulator,
+                                                 ShardRouter shardRouter,
+                                                 PlatformTransactionManager transactionManager,
+                                                 @Value("${account.hold.enabled:true}") boolean holdEnabled) {
+        if (!properties.isEnabled()) {
+            return TransactionJournal.disabled();
+        }
+        if (holdEnabled) {
+            throw new IllegalStateException(
+                    "account.journal.enabled=true requires account.hold.enabled=false "
+                            + "(holds are validated and captured outside the journal)");
+        }
+        return TransactionJournal.start(properties, balanceEngine, spendingLimiter, accountUserRepository, accountRepository,
+                transactionRepository, resourceVersionCache, transactionStatsAccumulator, shardRouter,
+                transactionManager);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.lock.AccountLockProvider;
+import com.example.accountmission.lock.DatabaseAccountLockProvider;
+import com.example.accountmission.lock.LocalAccountLockProvider;
+import com.example.accountmission.lock.LockProperties;
+import com.example.accountmission.service.LockService;
+import org.redisson.api.RedissonClient;
+import org.redisson.spring.starter.RedissonAutoConfigurationCustomizer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 계좌 락 구현 선택 (account.lock.provider = local | redis | database)
+ * Redis 락은 임대 시간 없이(-1) 잡아서 Redisson watchdog 이 연장하도록 하고,
+ * watchdog 의 임대 시간을 account.lock.lease-time 으로 맞춘다.
+ */
+@Configuration
+@EnableConfigurationProperties(LockProperties.class)
+public class LockConfig {
+
+    @Bean
+    public AccountLockProvider accountLockProvider(LockProperties properties,
+                                                   ObjectProvider<RedissonClient> redissonClient,
+                                                   JdbcTemplate jdbcTemplate,
+                                                   PlatformTransactionManager transactionManager) {
+        return switch (properties.getProvider()) {
+            case LOCAL -> new LocalAccountLockProvider(properties.getWaitTime().toMillis());
+            case DATABASE -> new DatabaseAccountLockProvider(jdbcTemplate, transactionManager);
+            case REDIS -> new LockService(redissonClient.getObject(), properties);
+        };
+    }
+
+    @Bean
+    public RedissonAutoConfigurationCustomizer lockWatchdogCustomizer(LockProperties properties) {
+        return config -> config.setLockWatchdogTimeout(properties.getLeaseTime().toMillis());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.admission.AdmissionControlAspect;
+import com.example.accountmission.aop.AccountLock;
+import com.example.accountmission.aop.AccountLockIdInterface;
+import com.example.accountmission.domain.Account;
+import com.example.accountmission.domain.AccountDailyStats;
+import com.example.accountmission.domain.AccountUser;
+import com.example.accountmission.domain.BalanceHold;
+import com.example.accountmission.domain.BaseEntity;
+import com.example.accountmission.domain.Transaction;
+import com.example.accountmission.dto.ErrorResponse;
+import com.example.accountmission.service.LockAopAspect;
+import com.example.accountmission.shard.ShardRoutingAspect;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.Kryo5Codec;
+import org.redisson.config.ClusterServersConfig;
+import org.redisson.config.Config;
+import org.redisson.config.MasterSlaveServersConfig;
+import org.redisson.config.SentinelServersConfig;
+import org.redisson.config.SingleServerConfig;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * GraalVM native image 용 힌트 (./gradlew -Paot nativeCompile)
+ * 스프링 AOT 가 찾지 못하는 리플렉션만 등록한다.
+ * - 엔티티 : Hibernate 가 필드/생성자를 리플렉션으로 다룬다.
+ * - 애스펙트 : 포인트컷(@annotation, args 바인딩)을 실행 시점에 해석한다.
+ *             락 키 SpEL 은 native 에서 해석 모드로 계산한다. (요청 DTO 의 getter 는 AOT 가 @RequestBody 로 등록)
+ * - Redisson : 설정 객체를 프로퍼티로 채우고, 코덱을 클래스 이름으로 만든다.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.AccountRuntimeHints.class)
+public class NativeImageConfig {
+
+    static class AccountRuntimeHints implements RuntimeHintsRegistrar {
+        private static final MemberCategory[] ENTITY = {
+                MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> entity : new Class<?>[]{BaseEntity.class, AccountUser.class, Account.class,
+                    Transaction.class, BalanceHold.class, AccountDailyStats.class}) {
+                hints.reflection().registerType(entity, ENTITY);
+            }
+
+            for (Class<?> aspect : new Class<?>[]{LockAopAspect.class, AdmissionControlAspect.class,
+                    ShardRoutingAspect.class}) {
+                hints.reflection().registerType(aspect, MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+            hints.reflection().registerType(AccountLock.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(AccountLockIdInterface.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // 오류 응답은 예외 처리기에서 직접 직렬화한다.
+            hints.reflection().registerType(ErrorResponse.class,
+                    MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            for (Class<?> config : new Class<?>[]{Config.class, SingleServerConfig.class,
+                    ClusterServersConfig.class, SentinelServersConfig.class, MasterSlaveServersConfig.class}) {
+                hints.reflection().registerType(config,
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+            for (Class<?> codec : new Class<?>[]{Kryo5Codec.class, StringCodec.class, LongCodec.class,
+                    ByteArrayCodec.class}) {
+                hints.reflection().registerType(codec,
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS);
+            }
+
+            hints.resources().registerPattern("db/migration/*.sql");
+        }
+    }
+}
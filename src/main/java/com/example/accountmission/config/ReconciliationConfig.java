@@ -0,0 +1,34 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.archive.TransactionArchive;
+import com.example.accountmission.reconciliation.BalanceReconciler;
+import com.example.accountmission.reconciliation.ReconciliationProperties;
+import com.example.accountmission.shard.ShardRouter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * 일일 잔액 대사 (account.reconciliation.enabled=false 이면 등록하지 않는다)
+ */
+@Configuration
+@EnableConfigurationProperties(ReconciliationProperties.class)
+@ConditionalOnProperty(prefix = "account.reconciliation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReconciliationConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public BalanceReconciler balanceReconciler(DataSource dataSource,
+                                               ShardRouter shardRouter,
+                                               TransactionArchive transactionArchive,
+                                               ReconciliationProperties properties) {
+        // 범위 쿼리를 스트리밍으로 읽도록 fetch size 를 지정한 전용 JdbcTemplate
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(properties.getFetchSize());
+        return new BalanceReconciler(jdbcTemplate, shardRouter, transactionArchive,
+                properties.getParallelism(), properties.getRangeSize(), properties.getMaxReportedMismatches());
+    }
+}
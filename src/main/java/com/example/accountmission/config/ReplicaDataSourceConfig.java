@@ -0,0 +1,72 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.replica.DataSourceType;
+import com.example.accountmission.replica.ReplicaLagMonitor;
+import com.example.accountmission.replica.ReplicaProperties;
+import com.example.accountmission.replica.ReplicationRoutingDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * account.replica.enabled=true 이면 @Transactional(readOnly = true) 조회를 레플리카로 보낸다.
+ * 샤드 모드(account.shard.enabled)와 같이 켤 수 없으며, 같이 켜면 기동하지 않는다.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "account.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public DataSource replicaDataSource(ReplicaProperties replicaProperties,
+                                        HikariPoolCustomizer hikariPoolCustomizer,
+                                        @Value("${account.shard.enabled:false}") boolean shardEnabled) {
+        // 샤드 모드의 dataSource 는 샤드 라우팅만 하므로, 같이 켜면 레플리카가 한 샤드의 복제본인지 알 수 없다.
+        if (shardEnabled) {
+            throw new IllegalStateException(
+                    "account.replica.enabled=true requires account.shard.enabled=false "
+                            + "(replica routing is not shard-aware)");
+        }
+        return hikariPoolCustomizer.customize(DataSourceBuilder.create()
+                .url(replicaProperties.getUrl())
+                .username(replicaProperties.getUsername())
+                .password(replicaProperties.getPassword())
+                .build(), "replica");
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               ReplicaProperties replicaProperties) {
+        return new ReplicaLagMonitor(
+                replicaDataSource,
+                replicaProperties.getLagQuery(),
+                replicaProperties.getMaxLag().toMillis());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 HikariPoolCustomizer hikariPoolCustomizer) {
+        DataSource primaryDataSource = hikariPoolCustomizer.customize(
+                dataSourceProperties.initializeDataSourceBuilder().build(), "primary");
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(replicaLagMonitor);
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceType.PRIMARY, primaryDataSource,
+                DataSourceType.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.seed.BulkSeedGenerator;
+import com.example.accountmission.seed.SeedProperties;
+import com.example.accountmission.shard.ShardRouter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 성능 측정용 대량 데이터 생성 (account.seed.enabled=true 일 때만 시작 시 한번 실행)
+ */
+@Configuration
+@EnableConfigurationProperties(SeedProperties.class)
+public class SeedConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "account.seed", name = "enabled", havingValue = "true")
+    public BulkSeedGenerator bulkSeedGenerator(JdbcTemplate jdbcTemplate,
+                                               PlatformTransactionManager transactionManager,
+                                               ShardRouter shardRouter,
+                                               SeedProperties properties) {
+        return new BulkSeedGenerator(jdbcTemplate, transactionManager, shardRouter, properties);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.shard.ConsistentHashRing;
+import com.example.accountmission.shard.ShardProperties;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.shard.ShardRoutingAspect;
+import com.example.accountmission.shard.ShardRoutingDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * account.shard.enabled=true 이면 계좌번호 기준으로 여러 DataSource 에 분산 저장한다.
+ * account_user 는 참조 데이터이므로 모든 샤드에 동일하게 복제되어 있어야 한다.
+ * 스키마와 account_user 는 샤드마다 Flyway(db/migration)로 만든다. (shard 프로필)
+ */
+@Configuration
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardingConfig {
+    // 계좌 id 는 샤드 목록 순서로 나눠 발급한다. (i 번째 샤드: i+1, i+1+MAX_SHARDS, ...)
+    static final int MAX_SHARDS = 1024;
+
+    @Bean
+    @ConditionalOnProperty(prefix = "account.shard", name = "enabled", havingValue = "true")
+    public DataSource dataSource(ShardProperties shardProperties, HikariPoolCustomizer hikariPoolCustomizer,
+                                 @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto,
+                                 @Value("${spring.sql.init.mode:embedded}") String sqlInitMode) {
+        // 엔티티 DDL 과 data.sql 은 기본 샤드에만 적용되므로 같이 쓸 수 없다.
+        if (!"none".equals(ddlAuto) || !"never".equals(sqlInitMode)) {
+            throw new IllegalStateException("account.shard.enabled=true 이면 spring.jpa.hibernate.ddl-auto=none, "
+                    + "spring.sql.init.mode=never 이어야 합니다. (shard 프로필)");
+        }
+        List<ShardProperties.Shard> shards = shardProperties.getShards();
+        if (shards.size() > MAX_SHARDS) {
+            throw new IllegalStateException("샤드는 " + MAX_SHARDS + "개까지 지정할 수 있습니다.");
+        }
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            ShardProperties.Shard shard = shards.get(i);
+            DataSource dataSource = hikariPoolCustomizer.customize(DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build(), shard.getName());
+            initializeShard(dataSource, i);
+            targets.put(shard.getName(), dataSource);
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(targets.values().iterator().next());
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * 샤드에 스키마와 사용자를 만들고, 계좌 id 가 다른 샤드와 겹치지 않도록 identity 를 맞춘다.
+     * 샤드 순서를 바꾸면 id 가 겹칠 수 있으므로 새 샤드는 목록 뒤에 추가한다.
+     */
+    static void initializeShard(DataSource dataSource, int shardIndex) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long next = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from account", Long.class) + 1;
+        long start = next + Math.floorMod(shardIndex + 1 - next, MAX_SHARDS);
+        jdbcTemplate.execute("alter table account alter column id set increment by " + MAX_SHARDS
+                + " restart with " + start);
+    }
+
+    @Bean
+    public ShardRouter shardRouter(ShardProperties shardProperties,
+                                   PlatformTransactionManager transactionManager) {
+        if (!shardProperties.isEnabled()) {
+            return ShardRouter.single();
+        }
+        List<String> shardKeys = shardProperties.getShards().stream()
+                .map(ShardProperties.Shard::getName)
+                .toList();
+        return new ShardRouter(
+                new ConsistentHashRing(shardKeys, shardProperties.getVirtualNodes()),
+                transactionManager,
+                Executors.newFixedThreadPool(shardProperties.getFanOutThreads()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "account.shard", name = "enabled", havingValue = "true")
+    public ShardRoutingAspect shardRoutingAspect(ShardRouter shardRouter) {
+        return new ShardRoutingAspect(shardRouter);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.limit.LocalSpendingCounter;
+import com.example.accountmission.limit.RedisSpendingCounter;
+import com.example.accountmission.limit.SpendingCounter;
+import com.example.accountmission.limit.SpendingLimitProperties;
+import com.example.accountmission.limit.SpendingLimiter;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 잔액 사용 한도 (account.limit.enabled=false 이면 검사하지 않는다)
+ */
+@Configuration
+@EnableConfigurationProperties(SpendingLimitProperties.class)
+public class SpendingLimitConfig {
+
+    @Bean
+    public SpendingLimiter spendingLimiter(SpendingLimitProperties properties,
+                                           ObjectProvider<RedissonClient> redissonClient) {
+        if (!properties.isEnabled()) {
+            return SpendingLimiter.disabled();
+        }
+        long windowMillis = properties.getWindow().toMillis();
+        long bucketMillis = properties.getBucket().toMillis();
+        // LOCAL 이면 Redisson 을 여기서 만들지 않는다. (지연 초기화 시 기동을 늦추지 않도록)
+        SpendingCounter counter = properties.getStore() == SpendingLimitProperties.Store.REDIS
+                ? new RedisSpendingCounter(redissonClient.getObject(), windowMillis, bucketMillis)
+                : new LocalSpendingCounter(windowMillis, bucketMillis, properties.getMaxTrackedKeys());
+        return new SpendingLimiter(properties, counter);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.controller.AccountController;
+import com.example.accountmission.controller.TransactionController;
+import com.example.accountmission.journal.TransactionJournal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 빠른 기동 (fast-start 프로필, spring.main.lazy-initialization=true)
+ * 빈을 처음 쓸 때 만들어서 기동 시간을 줄이되, 아래 빈은 지연시키지 않는다.
+ * - @Scheduled 작업이 있는 빈 : 만들어지기 전에는 스케줄도 등록되지 않는다. (승인 만료, 집계 반영 등)
+ * - 저널 : 재시작 복구를 첫 요청까지 미루지 않는다.
+ * 기동이 끝나면 거래 API 빈(Redisson 연결, JPA 포함)을 백그라운드에서 미리 만들어 첫 요청이 기다리지 않게 한다.
+ */
+@Slf4j
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBackgroundJobs() {
+        return (beanName, beanDefinition, beanType) -> TransactionJournal.class.isAssignableFrom(beanType)
+                || ApplicationRunner.class.isAssignableFrom(beanType)
+                || hasScheduledMethod(beanType);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.main", name = "lazy-initialization", havingValue = "true")
+    ApplicationListener<ApplicationReadyEvent> transactionApiWarmup() {
+        AtomicBoolean started = new AtomicBoolean();
+        return event -> {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            Thread warmup = new Thread(() -> {
+                long startedAt = System.currentTimeMillis();
+                try {
+                    event.getApplicationContext().getBean(TransactionController.class);
+                    event.getApplicationContext().getBean(AccountController.class);
+                    log.info("Transaction API beans initialized in {} ms", System.currentTimeMillis() - startedAt);
+                } catch (RuntimeException e) {
+                    // 첫 요청에서 다시 만들어지므로 기동은 계속한다.
+                    log.warn("Failed to warm up transaction API beans : {}", e.getMessage());
+                }
+            }, "startup-warmup");
+            warmup.setDaemon(true);
+            warmup.start();
+        };
+    }
+
+    private static boolean hasScheduledMethod(Class<?> beanType) {
+        if (beanType == null) {
+            return false;
+        }
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType,
+                method -> found.set(true),
+                method -> !found.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return found.get();
+    }
+}
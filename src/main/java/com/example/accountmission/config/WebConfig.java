@@ -0,0 +1,27 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.controller.UseDelayInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * 잔액 사용 API 의 대기는 AOP(샤드 선택 -> 입장 제어 -> 락) 밖에서 실행되도록 인터셉터로 건다.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final Duration useDelay;
+
+    public WebConfig(@Value("${account.transaction.use-delay:3s}") Duration useDelay) {
+        this.useDelay = useDelay;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new UseDelayInterceptor(useDelay))
+                .addPathPatterns("/transaction/use");
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.accountmission.controller;
 
 import com.example.accountmission.domain.Account;
+import com.example.accountmission.dto.AccountDto;
 import com.example.accountmission.dto.AccountInfo;
 import com.example.accountmission.dto.CreateAccount;
 import com.example.accountmission.dto.DeleteAccount;
 import com.example.accountmission.service.AccountService;
+import com.example.accountmission.service.ResourceVersionCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,6 +20,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AccountController {
     private final AccountService accountService;
+    private final ResourceVersionCache resourceVersionCache;
 
     @PostMapping("/account")
     public CreateAccount.Response createAccount(
@@ -32,18 +38,32 @@ public class AccountController {
         return accountService.getAccount(id);
     }
 
+    /**
+     * 계좌 version 으로 만든 약한 ETag 를 내려준다.
+     * If-None-Match 가 캐시된 ETag 와 같으면 DB 조회 없이 304
+     */
     @GetMapping("/account")
-    public List<AccountInfo> getAccountsByUserId(
-            @RequestParam("user_id") Long userId
+    public ResponseEntity<List<AccountInfo>> getAccountsByUserId(
+            @RequestParam("user_id") Long userId,
+            WebRequest webRequest
     ) {
-        return accountService.getAccountsByUserId(userId)
-                .stream()
-                .map(accountDto ->
-                        AccountInfo.builder()
-                                .accountNumber(accountDto.getAccountNumber())
-                                .balance(accountDto.getBalance())
-                                .build())
-                .toList();
+        String cachedEtag = resourceVersionCache.getAccountListEtag(userId);
+        if (cachedEtag != null && webRequest.checkNotModified(cachedEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cachedEtag).build();
+        }
+
+        List<AccountDto> accounts = accountService.getAccountsByUserId(userId);
+        String etag = accountListEtag(accounts);
+        resourceVersionCache.putAccountListEtag(userId, etag);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(accounts.stream()
+                        .map(accountDto ->
+                                AccountInfo.builder()
+                                        .accountNumber(accountDto.getAccountNumber())
+                                        .balance(accountDto.getBalance())
+                                        .build())
+                        .toList());
     }
 
     @DeleteMapping("/account")
@@ -56,4 +76,13 @@ public class AccountController {
                 )
         );
     }
+
+    private static String accountListEtag(List<AccountDto> accounts) {
+        long hash = 17;
+        for (AccountDto account : accounts) {
+            hash = 31 * hash + account.getAccountNumber().hashCode();
+            hash = 31 * hash + (account.getVersion() == null ? 0 : account.getVersion());
+        }
+        return "W/\"" + accounts.size() + "-" + Long.toHexString(hash) + "\"";
+    }
 }
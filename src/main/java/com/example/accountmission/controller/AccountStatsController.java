@@ -0,0 +1,35 @@
+package com.example.accountmission.controller;
+
+import com.example.accountmission.dto.AccountDailyStatsDto;
+import com.example.accountmission.service.AccountStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 계좌별 일별 거래 집계 (기간을 주지 않으면 최근 7일)
+ */
+@RestController
+@RequiredArgsConstructor
+public class AccountStatsController {
+    private static final int DEFAULT_DAYS = 7;
+
+    private final AccountStatsService accountStatsService;
+
+    @GetMapping("/account/{accountNumber}/stats")
+    public List<AccountDailyStatsDto> getStats(
+            @PathVariable("accountNumber") String accountNumber,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.minusDays(DEFAULT_DAYS - 1) : from;
+        return accountStatsService.getStats(accountNumber, start, end);
+    }
+}
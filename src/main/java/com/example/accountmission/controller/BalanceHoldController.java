@@ -0,0 +1,55 @@
+package com.example.accountmission.controller;
+
+import com.example.accountmission.aop.AccountLock;
+import com.example.accountmission.dto.AuthorizeBalance;
+import com.example.accountmission.dto.CaptureBalance;
+import com.example.accountmission.dto.VoidBalance;
+import com.example.accountmission.service.BalanceHoldService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 1. 잔액 승인 (금액을 묶어둠)
+ * 2. 승인 확정 (실제 출금)
+ * 3. 승인 취소
+ * 계좌 락은 각 요청의 상태 변경 동안만 잡힌다.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "account.hold", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BalanceHoldController {
+    private final BalanceHoldService balanceHoldService;
+
+    @PostMapping("/transaction/authorize")
+    @AccountLock("#request.accountNumber")
+    public AuthorizeBalance.Response authorize(
+            @RequestBody @Validated AuthorizeBalance.Request request) {
+        return AuthorizeBalance.Response.from(balanceHoldService.authorize(
+                request.getUserId(),
+                request.getAccountNumber(),
+                request.getAmount()));
+    }
+
+    @PostMapping("/transaction/capture")
+    @AccountLock("#request.accountNumber")
+    public CaptureBalance.Response capture(
+            @RequestBody @Validated CaptureBalance.Request request) {
+        return CaptureBalance.Response.from(balanceHoldService.capture(
+                request.getHoldId(),
+                request.getAccountNumber(),
+                request.getAmount()));
+    }
+
+    @PostMapping("/transaction/void")
+    @AccountLock("#request.accountNumber")
+    public VoidBalance.Response voidHold(
+            @RequestBody @Validated VoidBalance.Request request) {
+        return VoidBalance.Response.from(balanceHoldService.voidHold(
+                request.getHoldId(),
+                request.getAccountNumber()));
+    }
+}
@@ -4,12 +4,22 @@ import com.example.accountmission.aop.AccountLock;
 import com.example.accountmission.dto.CancelBalance;
 import com.example.accountmission.dto.QueryTransactionResponse;
 import com.example.accountmission.dto.UseBalance;
+import com.example.accountmission.dto.TransactionDto;
 import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.journal.TransactionJournal;
+import com.example.accountmission.service.ResourceVersionCache;
 import com.example.accountmission.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 1. 잔액 사용
@@ -20,20 +30,25 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
+    private static final CacheControl IMMUTABLE =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TransactionService transactionService;
+    private final ResourceVersionCache resourceVersionCache;
+    private final TransactionJournal transactionJournal;
 
     @PostMapping("/transaction/use")
-    @AccountLock(value = "#AccountNumber")
+    @AccountLock("#request.accountNumber")
     public UseBalance.Response useBalance(
-            @RequestBody @Validated UseBalance.Request request) throws InterruptedException {
+            @RequestBody @Validated UseBalance.Request request) {
         try {
-            Thread.sleep(3000L);
-            return UseBalance.Response.from(transactionService.useBalance(
+            return UseBalance.Response.from(useBalance(
                     request.getUserId(),
                     request.getAccountNumber(),
                     request.getAmount()));
         } catch (AccountException e) {
-            log.error("Failed to use Balance = {}{}, Request = {USER ID = {}, ACCOUNT NUMBER = {},AMOUNT = {}}",
+            log.debug("Failed to use Balance = {}{}, Request = {USER ID = {}, ACCOUNT NUMBER = {},AMOUNT = {}}",
                     e.getErrorMessage(), e.getErrorCode(), request.getUserId(), request.getAccountNumber(), request.getAmount());
             transactionService.saveFailedUseTransaction(
                     request.getAccountNumber(),
@@ -43,16 +58,16 @@ public class TransactionController {
         }
     }
     @PostMapping("/transaction/cancel")
-    @AccountLock(value = "#AccountNumber")
+    @AccountLock("#request.accountNumber")
     public CancelBalance.Response cancelBalance(
             @RequestBody @Validated CancelBalance.Request request) {
         try {
-            return CancelBalance.Response.from(transactionService.cancelBalance(
+            return CancelBalance.Response.from(cancelBalance(
                     request.getTransactionId(),
                     request.getAccountNumber(),
                     request.getAmount()));
         } catch (AccountException e) {
-            log.error("Failed to CancelBalance = {}{}",
+            log.debug("Failed to CancelBalance = {}{}",
                     e.getErrorMessage(), e.getErrorCode());
             transactionService.saveFailedCancelTransaction(
                     request.getAccountNumber(),
@@ -62,10 +77,58 @@ public class TransactionController {
         }
     }
 
+    // 저널 모드이면 WAL 에 기록 후 응답, 아니면 DB 에 바로 반영
+    private TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        return transactionJournal.isEnabled()
+                ? transactionJournal.useBalance(userId, accountNumber, amount)
+                : transactionService.useBalance(userId, accountNumber, amount);
+    }
+
+    private TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
+        return transactionJournal.isEnabled()
+                ? transactionJournal.cancelBalance(transactionId, accountNumber, amount)
+                : transactionService.cancelBalance(transactionId, accountNumber, amount);
+    }
+
+    // 저널 모드이면 아직 DB 에 반영되지 않은 거래와 취소 금액을 저널에서 먼저 찾는다.
+    private TransactionDto queryTransaction(String transactionId) {
+        return transactionJournal.isEnabled()
+                ? transactionJournal.queryTransaction(transactionId, transactionService::queryTransaction)
+                : transactionService.queryTransaction(transactionId);
+    }
+
+    /**
+     * 더 이상 바뀌지 않는 거래는 강한 ETag 와 immutable 캐시 헤더를 내려준다.
+     * 부분 취소가 남은 사용 거래는 매번 ETag 로 재검증하게 한다.
+     * If-None-Match 가 캐시된 ETag 와 같으면 DB 조회 없이 304
+     * (immutable 거래는 클라이언트가 재검증하지 않으므로 304 는 재검증 대상 거래에 대한 응답이다)
+     * 재검증 대상 거래의 ETag 는 다른 노드에서 취소될 수 있으므로 짧은 TTL 동안만 믿는다.
+     */
     @GetMapping("/transaction/{transactionId}")
-    public QueryTransactionResponse queryTransaction(
-            @PathVariable("transactionId") String transactionId) {
-        return QueryTransactionResponse.from(
-                transactionService.queryTransaction(transactionId));
+    public ResponseEntity<QueryTransactionResponse> queryTransaction(
+            @PathVariable("transactionId") String transactionId,
+            WebRequest webRequest) {
+        String cachedEtag = resourceVersionCache.getTransactionEtag(transactionId);
+        if (cachedEtag != null && webRequest.checkNotModified(cachedEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(cachedEtag)
+                    .cacheControl(REVALIDATE)
+                    .build();
+        }
+
+        QueryTransactionResponse response = QueryTransactionResponse.from(queryTransaction(transactionId));
+        String etag = transactionEtag(response);
+        resourceVersionCache.putTransactionEtag(transactionId, etag, response.isFinal());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(response.isFinal() ? IMMUTABLE : REVALIDATE)
+                .body(response);
+    }
+
+    private static String transactionEtag(QueryTransactionResponse response) {
+        int hash = Objects.hash(response.getAccountNumber(), response.getTransactionType(),
+                response.getTransactionResultType(), response.getAmount(), response.getCancelledAmount(),
+                response.getTransactedAt());
+        return "\"" + response.getTransactionId() + "-" + Integer.toHexString(hash) + "\"";
     }
 }
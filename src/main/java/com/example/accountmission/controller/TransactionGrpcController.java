@@ -0,0 +1,240 @@
+package com.example.accountmission.controller;
+
+import com.example.accountmission.admission.AdmissionGate;
+import com.example.accountmission.dto.TransactionDto;
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.grpc.*;
+import com.example.accountmission.journal.TransactionJournal;
+import com.example.accountmission.service.AccountLockTemplate;
+import com.example.accountmission.service.TransactionService;
+import com.example.accountmission.shard.ShardContextHolder;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.type.ErrorCode;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.Supplier;
+
+/**
+ * 내부 결제 게이트웨이용 gRPC 엔드포인트 (TransactionController 와 같은 기능)
+ * 1. 잔액 사용
+ * 2. 잔액 사용 취소
+ * 3. 거래 확인
+ * 4. 잔액 사용 스트림 (양방향)
+ *
+ * HTTP 경로의 AOP(입장 제어, @AccountLock, 샤드 라우팅, @Validated)는 gRPC 요청에 걸리지 않으므로 여기서 직접 처리한다.
+ * 업무 오류는 gRPC 상태 대신 응답의 error_code 로 내려준다. (스트림이 오류 하나로 끊기지 않도록)
+ */
+@Slf4j
+@GrpcService
+@RequiredArgsConstructor
+public class TransactionGrpcController extends BalanceServiceGrpc.BalanceServiceImplBase {
+    private static final int ACCOUNT_NUMBER_LENGTH = 10;
+    private static final long MIN_AMOUNT = 10L;
+    private static final long MAX_AMOUNT = 1000_000_000L;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final TransactionService transactionService;
+    private final AccountLockTemplate accountLockTemplate;
+    private final ShardRouter shardRouter;
+    private final AdmissionGate admissionGate;
+    private final TransactionJournal transactionJournal;
+
+    @Override
+    public void useBalance(UseBalanceRequest request, StreamObserver<BalanceReply> responseObserver) {
+        responseObserver.onNext(handleUseBalance(request));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void cancelBalance(CancelBalanceRequest request, StreamObserver<BalanceReply> responseObserver) {
+        responseObserver.onNext(handleCancelBalance(request));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void queryTransaction(QueryTransactionRequest request,
+                                 StreamObserver<QueryTransactionReply> responseObserver) {
+        QueryTransactionReply reply;
+        try {
+            // 저널 모드이면 아직 DB 에 반영되지 않은 거래와 취소 금액을 저널에서 먼저 찾는다. (HTTP 와 같음)
+            TransactionDto dto = transactionJournal.isEnabled()
+                    ? transactionJournal.queryTransaction(request.getTransactionId(),
+                    transactionService::queryTransaction)
+                    : transactionService.queryTransaction(request.getTransactionId());
+            reply = QueryTransactionReply.newBuilder()
+                    .setAccountNumber(dto.getAccountNumber())
+                    .setTransactionType(TransactionType.valueOf(dto.getTransactionType().name()))
+                    .setTransactionResult(toResult(dto))
+                    .setTransactionId(dto.getTransactionId())
+                    .setAmount(dto.getAmount())
+                    .setCancelledAmount(dto.getCancelledAmount() == null ? 0L : dto.getCancelledAmount())
+                    .setTransactedAtEpochMillis(toEpochMillis(dto.getTransactedAt()))
+                    .build();
+        } catch (AccountException e) {
+            reply = QueryTransactionReply.newBuilder()
+                    .setTransactionId(request.getTransactionId())
+                    .setErrorCode(e.getErrorCode().name())
+                    .setErrorMessage(e.getErrorCode().getDescription())
+                    .build();
+        }
+        responseObserver.onNext(reply);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * 요청 하나마다 결과 하나를 요청 순서대로 내려준다.
+     * gRPC 는 한 스트림의 onNext 를 순차로 호출하므로 별도 동기화는 필요 없다.
+     */
+    @Override
+    public StreamObserver<UseBalanceRequest> useBalanceStream(StreamObserver<BalanceReply> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(UseBalanceRequest request) {
+                responseObserver.onNext(handleUseBalance(request));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("UseBalance stream cancelled by client : {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    BalanceReply handleUseBalance(UseBalanceRequest request) {
+        BalanceReply.Builder reply = BalanceReply.newBuilder()
+                .setRequestId(request.getRequestId())
+                .setAccountNumber(request.getAccountNumber())
+                .setAmount(request.getAmount());
+        if (request.getUserId() < 1 || !isValid(request.getAccountNumber(), request.getAmount())) {
+            return failed(reply, ErrorCode.INVALID_REQUEST);
+        }
+
+        try {
+            TransactionDto dto = withLock(request.getAccountNumber(), () ->
+                    transactionJournal.isEnabled()
+                            ? transactionJournal.useBalance(
+                                    request.getUserId(), request.getAccountNumber(), request.getAmount())
+                            : transactionService.useBalance(
+                                    request.getUserId(), request.getAccountNumber(), request.getAmount()));
+            return succeeded(reply, dto);
+        } catch (AccountException e) {
+            log.debug("Failed to use Balance (grpc) = {}{}, Request = {USER ID = {}, ACCOUNT NUMBER = {},AMOUNT = {}}",
+                    e.getErrorMessage(), e.getErrorCode(), request.getUserId(), request.getAccountNumber(), request.getAmount());
+            saveFailed(e, request.getAccountNumber(), () -> transactionService.saveFailedUseTransaction(
+                    request.getAccountNumber(), request.getAmount()));
+            return failed(reply, e.getErrorCode());
+        } catch (OptimisticLockingFailureException e) {
+            // 임대가 만료된 락으로 동시에 반영한 경우 (HTTP 경로는 GlobalExceptionHandler 가 같은 오류로 응답)
+            return failed(reply, ErrorCode.STALE_LOCK_TOKEN);
+        }
+    }
+
+    BalanceReply handleCancelBalance(CancelBalanceRequest request) {
+        BalanceReply.Builder reply = BalanceReply.newBuilder()
+                .setRequestId(request.getRequestId())
+                .setAccountNumber(request.getAccountNumber())
+                .setAmount(request.getAmount());
+        if (request.getTransactionId().isBlank() || !isValid(request.getAccountNumber(), request.getAmount())) {
+            return failed(reply, ErrorCode.INVALID_REQUEST);
+        }
+
+        try {
+            TransactionDto dto = withLock(request.getAccountNumber(), () ->
+                    transactionJournal.isEnabled()
+                            ? transactionJournal.cancelBalance(
+                                    request.getTransactionId(), request.getAccountNumber(), request.getAmount())
+                            : transactionService.cancelBalance(
+                                    request.getTransactionId(), request.getAccountNumber(), request.getAmount()));
+            return succeeded(reply, dto);
+        } catch (AccountException e) {
+            log.debug("Failed to CancelBalance (grpc) = {}{}",
+                    e.getErrorMessage(), e.getErrorCode());
+            saveFailed(e, request.getAccountNumber(), () -> transactionService.saveFailedCancelTransaction(
+                    request.getAccountNumber(), request.getAmount()));
+            return failed(reply, e.getErrorCode());
+        } catch (OptimisticLockingFailureException e) {
+            return failed(reply, ErrorCode.STALE_LOCK_TOKEN);
+        }
+    }
+
+    // HTTP 경로의 AOP 와 같은 순서 : 샤드 선택(ShardRoutingAspect, 가장 먼저) -> 입장 제어 -> 락 -> 서비스 호출 -> 락 해제
+    // 샤드를 락보다 먼저 정해야 DB 행 락(account.lock.provider=database)도 계좌의 샤드에서 잡힌다.
+    private <T> T withLock(String accountNumber, Supplier<T> action) {
+        String previousShard = ShardContextHolder.get();
+        try {
+            if (shardRouter.isSharded()) {
+                ShardContextHolder.set(shardRouter.shardOf(accountNumber));
+            }
+            AdmissionGate.Permit permit = admissionGate.acquire(accountNumber);
+            Throwable failure = null;
+            try {
+                return accountLockTemplate.execute(accountNumber, action::get);
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            } finally {
+                permit.release(failure);
+            }
+        } finally {
+            ShardContextHolder.restore(previousShard);
+        }
+    }
+
+    // 입장 거절, 락 획득 실패처럼 재시도 가능한 오류는 HTTP 경로처럼 실패 거래를 남기지 않는다.
+    // 실패 거래 저장이 실패해도(없는 계좌 등) 응답은 원래 오류로 내려준다.
+    private void saveFailed(AccountException cause, String accountNumber, Runnable save) {
+        if (cause.getErrorCode().isRetryable()) {
+            return;
+        }
+        String previousShard = ShardContextHolder.get();
+        try {
+            if (shardRouter.isSharded()) {
+                ShardContextHolder.set(shardRouter.shardOf(accountNumber));
+            }
+            save.run();
+        } catch (AccountException e) {
+            log.debug("Failed transaction not saved = {}", e.getErrorCode());
+        } finally {
+            ShardContextHolder.restore(previousShard);
+        }
+    }
+
+    private static boolean isValid(String accountNumber, long amount) {
+        return accountNumber.length() == ACCOUNT_NUMBER_LENGTH
+                && amount >= MIN_AMOUNT && amount <= MAX_AMOUNT;
+    }
+
+    private static BalanceReply succeeded(BalanceReply.Builder reply, TransactionDto dto) {
+        return reply.setTransactionResult(toResult(dto))
+                .setTransactionId(dto.getTransactionId())
+                .setAmount(dto.getAmount())
+                .setTransactedAtEpochMillis(toEpochMillis(dto.getTransactedAt()))
+                .build();
+    }
+
+    private static BalanceReply failed(BalanceReply.Builder reply, ErrorCode errorCode) {
+        return reply.setTransactionResult(TransactionResult.FAIL)
+                .setErrorCode(errorCode.name())
+                .setErrorMessage(errorCode.getDescription())
+                .build();
+    }
+
+    private static TransactionResult toResult(TransactionDto dto) {
+        return TransactionResult.valueOf(dto.getTransactionResultType().name());
+    }
+
+    private static long toEpochMillis(LocalDateTime transactedAt) {
+        return transactedAt == null ? 0L : transactedAt.atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.accountmission.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * 잔액 사용 API 의 인위적인 대기 (account.transaction.use-delay)
+ * 컨트롤러 호출 전에 기다리므로 입장 제어(동시 처리 자리, 지연시간 표본)와 계좌 락에는 잡히지 않는다.
+ */
+public class UseDelayInterceptor implements HandlerInterceptor {
+    private final Duration useDelay;
+
+    public UseDelayInterceptor(Duration useDelay) {
+        this.useDelay = useDelay;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        if (!useDelay.isZero()) {
+            Thread.sleep(useDelay.toMillis());
+        }
+        return true;
+    }
+}
@@ -1,20 +1,29 @@
 package com.example.accountmission.domain;
 
-import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.policy.AccountPolicy;
 import com.example.accountmission.type.AccountStatus;
-import com.example.accountmission.type.ErrorCode;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+
+/**
+ * heldAmount 는 승인(authorize) 후 확정/취소 전인 금액으로, 사용 가능 잔액은 balance - heldAmount 이다.
+ * heldAmount 는 만료 스위퍼가 락 없이 원자적 UPDATE 로 줄이므로 엔티티로는 변경하지 않는다.
+ * (@DynamicUpdate 로 변경된 컬럼만 UPDATE 해서 스위퍼의 변경을 덮어쓰지 않는다)
+ */
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
+@Table(indexes = @Index(name = "ux_account_account_number", columnList = "accountNumber", unique = true))
 public class Account extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,20 +40,62 @@ public class Account extends BaseEntity {
 
     private Long balance;
 
+    // 개설 시 잔액, 잔액 대사(reconciliation)의 시작값 (이 컬럼 이전에 개설된 계좌는 null)
+    private Long initialBalance;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long heldAmount = 0L;
+
+    // 잔액/상태가 바뀔 때마다 증가, 계좌 목록 ETag 를 만들 때 사용
+    @Version
+    private Long version;
+
+    // 마지막으로 잔액을 바꾼 계좌 락의 펜싱 토큰 (락 임대가 만료된 요청의 늦은 반영을 막는다)
+    private Long fencingToken;
+
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
-    public void useBalance(Long amount) {
-        if (balance < amount) {
-            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+    // 컬럼(version, heldAmount 등)이 추가되기 전의 생성자, 기존 코드와 테스트가 그대로 컴파일되도록 유지한다.
+    public Account(Long id, AccountUser accountUser, String accountNumber, AccountStatus accountStatus,
+                   Long balance, LocalDateTime registeredAt, LocalDateTime unRegisteredAt) {
+        this(id, accountUser, accountNumber, accountStatus, balance, null, 0L, null, null,
+                registeredAt, unRegisteredAt);
+    }
+
+    public Long getAvailableBalance() {
+        return balance - (heldAmount == null ? 0L : heldAmount);
+    }
+
+    /**
+     * 현재 쓰레드의 락 토큰이 마지막 토큰보다 작으면 거절하고, 아니면 토큰을 기록한다.
+     * 읽은 뒤 다른 요청이 먼저 커밋했다면 @Version 으로 UPDATE 가 실패하므로 확인과 기록이 같이 반영된다.
+     * 락 밖에서의 변경(토큰 없음)은 확인하지 않는다.
+     */
+    public void fence(Long token) {
+        if (token == null) {
+            return;
         }
+        AccountPolicy.validateFencingToken(fencingToken, token);
+        fencingToken = token;
+    }
+
+    public void useBalance(Long amount) {
+        AccountPolicy.validateSufficientBalance(getAvailableBalance(), amount);
+        balance = balance - amount;
+    }
+
+    /**
+     * 승인 시 이미 묶어둔 금액에서 빠지므로 사용 가능 잔액은 다시 확인하지 않는다.
+     */
+    public void captureBalance(Long amount) {
         balance = balance - amount;
     }
 
     public void cancelBalance(Long amount) {
-        if (amount < 0) {
-            throw new AccountException(ErrorCode.INVALID_REQUEST);
-        }
+        AccountPolicy.validateCancelAmount(amount);
         balance = balance + amount;
     }
 }
@@ -0,0 +1,43 @@
+package com.example.accountmission.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
+
+/**
+ * 계좌별 일별 거래 집계
+ * TransactionStatsAccumulator 가 MERGE 로 누적만 하므로 엔티티로는 변경하지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "ux_account_daily_stats_account_date", columnNames = {"accountNumber", "statDate"}))
+public class AccountDailyStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String accountNumber;
+    private LocalDate statDate;
+
+    @ColumnDefault("0")
+    private long useCount;
+    @ColumnDefault("0")
+    private long useAmount;
+    @ColumnDefault("0")
+    private long useFailCount;
+    @ColumnDefault("0")
+    private long cancelCount;
+    @ColumnDefault("0")
+    private long cancelAmount;
+    @ColumnDefault("0")
+    private long cancelFailCount;
+}
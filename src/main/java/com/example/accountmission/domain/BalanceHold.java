@@ -0,0 +1,43 @@
+package com.example.accountmission.domain;
+
+import com.example.accountmission.type.HoldStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 잔액 승인(authorize) 건
+ * AUTHORIZED -> CAPTURED / VOIDED / EXPIRED 로 한번만 바뀌며, 상태 변경은 조건부 UPDATE 로만 한다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(indexes = {
+        @Index(name = "ux_balance_hold_hold_id", columnList = "holdId", unique = true),
+        @Index(name = "ix_balance_hold_status_expires_at", columnList = "holdStatus, expiresAt")
+})
+public class BalanceHold extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String holdId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+
+    private Long amount;
+
+    @Enumerated(EnumType.STRING)
+    private HoldStatus holdStatus;
+
+    private LocalDateTime authorizedAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime completedAt;
+}
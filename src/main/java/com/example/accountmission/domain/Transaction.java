@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
@@ -16,6 +17,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "ux_transaction_transaction_id", columnList = "transactionId", unique = true),
+        @Index(name = "ix_transaction_transacted_at", columnList = "transactedAt")
+})
 public class Transaction extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,7 +37,19 @@ public class Transaction extends BaseEntity {
     private Long amount;
     private Long balanceSnapshot;
 
+    // 사용 거래의 누적 취소 금액, TransactionRepository.addCancelledAmount 로만 증가한다.
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long cancelledAmount = 0L;
+
     private String transactionId;
     private LocalDateTime transactedAt;
 
+    public Transaction(Long id, TransactionType transactionType, TransactionResultType transactionResultType,
+                       Account account, Long amount, Long balanceSnapshot,
+                       String transactionId, LocalDateTime transactedAt) {
+        this(id, transactionType, transactionResultType, account, amount, balanceSnapshot,
+                0L, transactionId, transactedAt);
+    }
 }
@@ -0,0 +1,58 @@
+package com.example.accountmission.dto;
+
+import com.example.accountmission.domain.AccountDailyStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountDailyStatsDto {
+    private LocalDate date;
+    private long useCount;
+    private long useAmount;
+    private long useFailCount;
+    private long cancelCount;
+    private long cancelAmount;
+    private long cancelFailCount;
+
+    public static AccountDailyStatsDto fromEntity(AccountDailyStats stats) {
+        return AccountDailyStatsDto.builder()
+                .date(stats.getStatDate())
+                .useCount(stats.getUseCount())
+                .useAmount(stats.getUseAmount())
+                .useFailCount(stats.getUseFailCount())
+                .cancelCount(stats.getCancelCount())
+                .cancelAmount(stats.getCancelAmount())
+                .cancelFailCount(stats.getCancelFailCount())
+                .build();
+    }
+
+    /**
+     * 아직 반영되지 않은 집계값을 더한다. (TransactionStatsAccumulator 의 순서)
+     */
+    public AccountDailyStatsDto plus(long[] pending) {
+        return AccountDailyStatsDto.builder()
+                .date(date)
+                .useCount(useCount + pending[0])
+                .useAmount(useAmount + pending[1])
+                .useFailCount(useFailCount + pending[2])
+                .cancelCount(cancelCount + pending[3])
+                .cancelAmount(cancelAmount + pending[4])
+                .cancelFailCount(cancelFailCount + pending[5])
+                .build();
+    }
+
+    /**
+     * 사용/취소 요청 중 실패한 비율
+     */
+    public double getFailureRate() {
+        long total = useCount + useFailCount + cancelCount + cancelFailCount;
+        return total == 0 ? 0.0 : (double) (useFailCount + cancelFailCount) / total;
+    }
+}
@@ -12,6 +12,7 @@ public class AccountDto {
     private Long userId;
     private String accountNumber;
     private Long balance;
+    private Long version;
 
 
     private LocalDateTime registeredAt;
@@ -23,6 +24,7 @@ public class AccountDto {
                 .accountNumber(account.getAccountNumber())
                 .registeredAt(account.getRegisteredAt())
                 .balance(account.getBalance())
+                .version(account.getVersion())
                 .unRegisteredAt(account.getUnRegisteredAt())
                 .build();
     }
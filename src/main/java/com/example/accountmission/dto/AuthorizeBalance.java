@@ -0,0 +1,58 @@
+package com.example.accountmission.dto;
+
+import com.example.accountmission.aop.AccountLockIdInterface;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+public class AuthorizeBalance {
+
+    /**
+     * {
+     *   "userId" : 1,
+     *   "accountNumber" : "1234567890",
+     *   "amount" : 1000
+     * }
+     */
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Request implements AccountLockIdInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+
+        @NotNull
+        @Min(10)
+        @Max(1000_000_000)
+        private Long amount;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private String holdId;
+        private Long amount;
+        private LocalDateTime expiresAt;
+
+        public static Response from(BalanceHoldDto balanceHoldDto) {
+            return Response.builder()
+                    .accountNumber(balanceHoldDto.getAccountNumber())
+                    .holdId(balanceHoldDto.getHoldId())
+                    .amount(balanceHoldDto.getAmount())
+                    .expiresAt(balanceHoldDto.getExpiresAt())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.accountmission.dto;
+
+import com.example.accountmission.domain.BalanceHold;
+import com.example.accountmission.type.HoldStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceHoldDto {
+    private String accountNumber;
+    private String holdId;
+    private HoldStatus holdStatus;
+    private Long amount;
+    private LocalDateTime authorizedAt;
+    private LocalDateTime expiresAt;
+
+    public static BalanceHoldDto fromEntity(BalanceHold hold, String accountNumber) {
+        return BalanceHoldDto.builder()
+                .accountNumber(accountNumber)
+                .holdId(hold.getHoldId())
+                .holdStatus(hold.getHoldStatus())
+                .amount(hold.getAmount())
+                .authorizedAt(hold.getAuthorizedAt())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.accountmission.dto;
 
+import com.example.accountmission.aop.AccountLockIdInterface;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -14,7 +15,7 @@ public class DeleteAccount {
     @Getter
     @AllArgsConstructor
     @NoArgsConstructor
-    public static class Request {
+    public static class Request implements AccountLockIdInterface {
         @NotNull
         @Min(1)
         private Long userId;
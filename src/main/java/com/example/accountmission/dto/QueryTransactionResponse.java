@@ -5,6 +5,8 @@ import com.example.accountmission.type.TransactionType;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,8 +18,24 @@ public class QueryTransactionResponse {
     private TransactionResultType transactionResultType;
     private String transactionId;
     private Long amount;
+    private Long cancelledAmount;
     private LocalDateTime transactedAt;
 
+    public QueryTransactionResponse(String accountNumber, TransactionType transactionType,
+                                    TransactionResultType transactionResultType, String transactionId,
+                                    Long amount, LocalDateTime transactedAt) {
+        this(accountNumber, transactionType, transactionResultType, transactionId, amount, 0L, transactedAt);
+    }
+
+    /**
+     * 성공한 사용 거래는 남은 금액이 있는 동안 부분 취소로 cancelledAmount 가 바뀔 수 있다.
+     */
+    public boolean isFinal() {
+        return transactionType != TransactionType.USE
+                || transactionResultType != TransactionResultType.SUCCESS
+                || Objects.equals(cancelledAmount, amount);
+    }
+
     public static QueryTransactionResponse from(TransactionDto transactionDto) {
         return QueryTransactionResponse.builder()
                 .accountNumber(transactionDto.getAccountNumber())
@@ -25,6 +43,7 @@ public class QueryTransactionResponse {
                 .transactionResultType(transactionDto.getTransactionResultType())
                 .transactionId(transactionDto.getTransactionId())
                 .amount(transactionDto.getAmount())
+                .cancelledAmount(transactionDto.getCancelledAmount())
                 .transactedAt(transactionDto.getTransactedAt())
                 .build();
     }
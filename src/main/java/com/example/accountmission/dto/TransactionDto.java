@@ -1,11 +1,14 @@
 package com.example.accountmission.dto;
 
+import com.example.accountmission.archive.ArchivedTransaction;
 import com.example.accountmission.domain.Transaction;
 import com.example.accountmission.type.TransactionResultType;
 import com.example.accountmission.type.TransactionType;
 import lombok.*;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Getter
 @Setter
@@ -21,6 +24,7 @@ public class TransactionDto {
 
     private Long amount;
     private Long balanceSnapshot;
+    private Long cancelledAmount;
 
     private LocalDateTime transactedAt;
 
@@ -32,7 +36,22 @@ public class TransactionDto {
                 .transactionResultType(transaction.getTransactionResultType())
                 .amount(transaction.getAmount())
                 .balanceSnapshot(transaction.getBalanceSnapshot())
+                .cancelledAmount(transaction.getCancelledAmount())
                 .transactedAt(transaction.getTransactedAt())
                 .build();
     }
+
+    public static TransactionDto fromArchived(ArchivedTransaction transaction) {
+        return TransactionDto.builder()
+                .accountNumber(String.valueOf(transaction.accountNumber()))
+                .transactionId(transaction.transactionId())
+                .transactionType(transaction.transactionType())
+                .transactionResultType(transaction.transactionResultType())
+                .amount(transaction.amount())
+                .balanceSnapshot(transaction.balanceSnapshot())
+                .cancelledAmount(transaction.cancelledAmount())
+                .transactedAt(LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(transaction.transactedAtMillis()), ZoneId.systemDefault()))
+                .build();
+    }
 }
@@ -0,0 +1,51 @@
+package com.example.accountmission.dto;
+
+import com.example.accountmission.aop.AccountLockIdInterface;
+import com.example.accountmission.type.HoldStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+public class VoidBalance {
+
+    /**
+     * {
+     *   "holdId" : "holdId",
+     *   "accountNumber" : "1234567890"
+     * }
+     */
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Request implements AccountLockIdInterface {
+        @NotBlank
+        private String holdId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private String holdId;
+        private HoldStatus holdStatus;
+        private Long releasedAmount;
+
+        public static Response from(BalanceHoldDto balanceHoldDto) {
+            return Response.builder()
+                    .accountNumber(balanceHoldDto.getAccountNumber())
+                    .holdId(balanceHoldDto.getHoldId())
+                    .holdStatus(balanceHoldDto.getHoldStatus())
+                    .releasedAmount(balanceHoldDto.getAmount())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.accountmission.engine;
+
+import com.example.accountmission.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 사용 중(IN_USE) 계좌의 잔액을 메모리에 두고 저널 모드의 잔액 검증/차감을 DB 조회 없이 처리한다.
+ * 키는 계좌번호(숫자 10자리)를 long 으로 바꾼 값이고, 잔액과 소유자 id 를 각각 OffHeapLongLongMap 에 둔다.
+ *
+ * 1. 시작 시 : 저널 복구가 끝난 DB 의 account 테이블에서 모두 읽어온다.
+ * 2. 이후 생성된 계좌 : 처음 사용할 때 DB 에서 읽어온다. (계좌 락 안에서 호출되므로 한번만 읽는다)
+ * 3. 해지된 계좌 : 커밋 후 제거한다.
+ *
+ * DB 잔액은 저널 반영으로 뒤따라오며, 메모리 잔액이 기준이다.
+ * 승인(hold) 금액은 반영하지 않으므로 account.hold.enabled=true 이면 JournalConfig 가 기동을 실패시킨다.
+ */
+@Slf4j
+public class BalanceEngine {
+    private static final long UNKNOWN = -1L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final OffHeapLongLongMap balances;
+    private final OffHeapLongLongMap owners;
+
+    public BalanceEngine(JdbcTemplate jdbcTemplate, ShardRouter shardRouter, int expectedAccounts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.balances = new OffHeapLongLongMap(expectedAccounts);
+        this.owners = new OffHeapLongLongMap(expectedAccounts);
+    }
+
+    private BalanceEngine() {
+        this.jdbcTemplate = null;
+        this.shardRouter = null;
+        this.balances = null;
+        this.owners = null;
+    }
+
+    public static BalanceEngine disabled() {
+        return new BalanceEngine();
+    }
+
+    public boolean isEnabled() {
+        return balances != null;
+    }
+
+    public void loadAll() {
+        shardRouter.forEachShard(() -> {
+            jdbcTemplate.query(
+                    "select account_number, account_user_id, balance from account where account_status = 'IN_USE'",
+                    rs -> {
+                        long key = keyOf(rs.getString("account_number"));
+                        if (key > 0) {
+                            balances.put(key, rs.getLong("balance"));
+                            owners.put(key, rs.getLong("account_user_id"));
+                        }
+                    });
+        });
+        log.info("Loaded {} account balances into balance engine", balances.size());
+    }
+
+    /**
+     * @return 소유자 id, 엔진에도 DB 에도 사용 중인 계좌가 없으면 -1
+     */
+    public long ownerOf(String accountNumber) {
+        long key = keyOf(accountNumber);
+        if (key <= 0) {
+            return UNKNOWN;
+        }
+        long owner = owners.get(key, UNKNOWN);
+        if (owner != UNKNOWN) {
+            return owner;
+        }
+        List<long[]> rows = jdbcTemplate.query(
+                "select account_user_id, balance from account where account_number = ? and account_status = 'IN_USE'",
+                (rs, rowNum) -> new long[]{rs.getLong("account_user_id"), rs.getLong("balance")},
+                accountNumber);
+        if (rows.isEmpty()) {
+            return UNKNOWN;
+        }
+        balances.put(key, rows.get(0)[1]);
+        owners.put(key, rows.get(0)[0]);
+        return rows.get(0)[0];
+    }
+
+    public long balanceOf(String accountNumber) {
+        return balances.get(keyOf(accountNumber), UNKNOWN);
+    }
+
+    /**
+     * @return 차감 후 잔액, 잔액이 부족하면 -1 (차감하지 않음)
+     */
+    public long tryDebit(String accountNumber, long amount) {
+        return balances.subtractIfAtLeast(keyOf(accountNumber), amount);
+    }
+
+    public long credit(String accountNumber, long amount) {
+        return balances.addAndGet(keyOf(accountNumber), amount, UNKNOWN);
+    }
+
+    /**
+     * 해지 트랜잭션이 커밋된 뒤 제거한다.
+     */
+    public void evict(String accountNumber) {
+        if (!isEnabled()) {
+            return;
+        }
+        long key = keyOf(accountNumber);
+        Runnable action = () -> {
+            owners.remove(key);
+            balances.remove(key);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public int size() {
+        return isEnabled() ? balances.size() : 0;
+    }
+
+    // 숫자가 아니거나 0 으로 시작하는 계좌번호는 엔진에 두지 않는다. (long 으로 바꾸면 구분되지 않음)
+    private static long keyOf(String accountNumber) {
+        if (accountNumber == null || accountNumber.isEmpty() || accountNumber.length() > 18
+                || accountNumber.charAt(0) == '0') {
+            return UNKNOWN;
+        }
+        long key = 0L;
+        for (int i = 0; i < accountNumber.length(); i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return UNKNOWN;
+            }
+            key = key * 10 + (c - '0');
+        }
+        return key;
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.accountmission.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * long -> long 오픈 어드레싱(선형 탐사) 해시맵, 슬롯은 direct ByteBuffer 에 [key 8][value 8] 로 저장
+ * 항목당 32 바이트 (부하율 0.5) 로 객체/박싱 없이 GC 대상 힙을 거의 쓰지 않는다.
+ *
+ * 동시성
+ * 1. 값 변경은 슬롯 단위 CAS 라서 다른 키끼리는 서로 기다리지 않는다. (읽기 락만 잡는다)
+ * 2. 키 추가/삭제와 테이블 확장은 쓰기 락으로 막는다. (계좌 생성/최초 적재 때만 발생)
+ *
+ * key 0 은 빈 슬롯 표시로 쓰므로 저장할 수 없다.
+ */
+public final class OffHeapLongLongMap {
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final long EMPTY_KEY = 0L;
+    private static final int SLOT_BYTES = 16;
+    private static final int MAX_CAPACITY = 1 << 26;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ByteBuffer slots;
+    private int mask;
+    private int size;
+
+    public OffHeapLongLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        allocate(Math.min(capacity, MAX_CAPACITY));
+    }
+
+    public boolean containsKey(long key) {
+        lock.readLock().lock();
+        try {
+            return indexOf(key) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long get(long key, long missingValue) {
+        lock.readLock().lock();
+        try {
+            int index = indexOf(key);
+            return index < 0 ? missingValue : (long) LONGS.getVolatile(slots, valueOffset(index));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(long key, long value) {
+        checkKey(key);
+        lock.writeLock().lock();
+        try {
+            int index = indexOf(key);
+            if (index < 0) {
+                if ((size + 1) * 2 > mask + 1) {
+                    resize();
+                }
+                index = insertionIndex(key);
+                LONGS.setVolatile(slots, keyOffset(index), key);
+                size++;
+            }
+            LONGS.setVolatile(slots, valueOffset(index), value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return 더한 뒤의 값, 키가 없으면 missingValue (더하지 않음)
+     */
+    public long addAndGet(long key, long delta, long missingValue) {
+        lock.readLock().lock();
+        try {
+            int index = indexOf(key);
+            if (index < 0) {
+                return missingValue;
+            }
+            return (long) LONGS.getAndAdd(slots, valueOffset(index), delta) + delta;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 현재 값이 amount 이상일 때만 뺀다.
+     * @return 뺀 뒤의 값, 부족하거나 키가 없으면 -1
+     */
+    public long subtractIfAtLeast(long key, long amount) {
+        lock.readLock().lock();
+        try {
+            int index = indexOf(key);
+            if (index < 0) {
+                return -1L;
+            }
+            int offset = valueOffset(index);
+            while (true) {
+                long current = (long) LONGS.getVolatile(slots, offset);
+                if (current < amount) {
+                    return -1L;
+                }
+                if (LONGS.compareAndSet(slots, offset, current, current - amount)) {
+                    return current - amount;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean remove(long key) {
+        lock.writeLock().lock();
+        try {
+            int index = indexOf(key);
+            if (index < 0) {
+                return false;
+            }
+            // 뒤쪽 항목을 당겨서 탐사 체인이 끊기지 않게 한다. (tombstone 없음)
+            int hole = index;
+            int next = (hole + 1) & mask;
+            while (true) {
+                long nextKey = (long) LONGS.get(slots, keyOffset(next));
+                if (nextKey == EMPTY_KEY) {
+                    break;
+                }
+                int home = home(nextKey);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    LONGS.setVolatile(slots, keyOffset(hole), nextKey);
+                    LONGS.setVolatile(slots, valueOffset(hole), (long) LONGS.get(slots, valueOffset(next)));
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            LONGS.setVolatile(slots, keyOffset(hole), EMPTY_KEY);
+            LONGS.setVolatile(slots, valueOffset(hole), 0L);
+            size--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 읽기 또는 쓰기 락 안에서 호출
+    private int indexOf(long key) {
+        if (key == EMPTY_KEY) {
+            return -1;
+        }
+        for (int index = home(key); ; index = (index + 1) & mask) {
+            long slotKey = (long) LONGS.get(slots, keyOffset(index));
+            if (slotKey == key) {
+                return index;
+            }
+            if (slotKey == EMPTY_KEY) {
+                return -1;
+            }
+        }
+    }
+
+    private int insertionIndex(long key) {
+        int index = home(key);
+        while ((long) LONGS.get(slots, keyOffset(index)) != EMPTY_KEY) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize() {
+        if (mask + 1 >= MAX_CAPACITY) {
+            throw new IllegalStateException("OffHeapLongLongMap is full : " + size);
+        }
+        ByteBuffer old = slots;
+        int oldCapacity = mask + 1;
+        allocate(oldCapacity * 2);
+        for (int index = 0; index < oldCapacity; index++) {
+            long key = (long) LONGS.get(old, index * SLOT_BYTES);
+            if (key != EMPTY_KEY) {
+                int newIndex = insertionIndex(key);
+                LONGS.set(slots, keyOffset(newIndex), key);
+                LONGS.set(slots, valueOffset(newIndex), (long) LONGS.get(old, index * SLOT_BYTES + 8));
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = ByteBuffer.allocateDirect(capacity * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        mask = capacity - 1;
+    }
+
+    private int home(long key) {
+        // murmur3 fmix64, 연속된 계좌번호가 이웃 슬롯에 몰리지 않도록 섞는다.
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static int keyOffset(int index) {
+        return index * SLOT_BYTES;
+    }
+
+    private static int valueOffset(int index) {
+        return index * SLOT_BYTES + 8;
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("key 0 is reserved");
+        }
+    }
+}
@@ -1,22 +0,0 @@
-package com.example.accountmission.exception;
-
-import com.example.accountmission.type.ErrorCode;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-
-@Getter
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class AccountException extends RuntimeException{
-    private ErrorCode errorCode;
-    private String errorMessage;
-
-    public AccountException(ErrorCode errorCode) {
-        super(errorCode.getDescription());
-        this.errorCode = errorCode;
-        this.errorMessage = errorCode.getDescription();
-    }
-}
@@ -2,37 +2,97 @@ package com.example.accountmission.exception;
 
 import com.example.accountmission.dto.ErrorResponse;
 import com.example.accountmission.type.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
 import static com.example.accountmission.type.ErrorCode.*;
 
+/**
+ * ErrorCode 의 httpStatus 로 응답하고, 재시도 가능한 오류(계좌 락 등)는 Retry-After 를 내려준다.
+ * 응답 본문은 ErrorCode 별로 미리 직렬화해 두고 그대로 내려준다.
+ */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+    private final RejectionLogSampler rejectionLogSampler;
+    private final Map<ErrorCode, byte[]> serializedBodies = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler(
+            ObjectMapper objectMapper,
+            @Value("${account.error.retry-after-seconds:1}") int retryAfterSeconds,
+            @Value("${account.error.log-per-second:10}") int logPerSecond) throws JsonProcessingException {
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.rejectionLogSampler = new RejectionLogSampler(logPerSecond);
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            serializedBodies.put(errorCode, objectMapper.writeValueAsBytes(
+                    new ErrorResponse(errorCode, errorCode.getDescription())));
+        }
+    }
+
     @ExceptionHandler(AccountException.class)
-    public ErrorResponse handleAccountException(AccountException e) {
-        log.error("{} is occurred, {}", e.getErrorCode(), e.getMessage());
-        return new ErrorResponse(e.getErrorCode(), e.getMessage());
+    public ResponseEntity<byte[]> handleAccountException(AccountException e) throws JsonProcessingException {
+        rejectionLogSampler.log(e.getErrorCode(), e.getMessage());
+        return toResponse(e.getErrorCode(), e.getErrorMessage());
     }
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ErrorResponse MethodArgumentNotValidException(MethodArgumentNotValidException e) {
+    public ResponseEntity<byte[]> MethodArgumentNotValidException(MethodArgumentNotValidException e) {
         log.error("MethodArgumentNotValidException is occurred", e);
-        return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
+        return toResponse(INVALID_REQUEST);
     }
     @ExceptionHandler(DataIntegrityViolationException.class)
-    public ErrorResponse handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+    public ResponseEntity<byte[]> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
         log.error("DataIntegrityViolationException is occurred", e);
-        return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
+        return toResponse(INVALID_REQUEST);
+    }
+    // 임대가 만료된 락으로 다른 요청과 같은 계좌를 동시에 바꾸면 @Version 충돌로 늦게 커밋한 쪽이 실패한다.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<byte[]> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        rejectionLogSampler.log(STALE_LOCK_TOKEN, e.getMessage());
+        return toResponse(STALE_LOCK_TOKEN);
     }
     @ExceptionHandler(Exception.class)
-    public ErrorResponse handleAccountException(Exception e) {
+    public ResponseEntity<byte[]> handleAccountException(Exception e) {
         log.error("Exception is occurred", e);
-        return new ErrorResponse(
-                INTERNAL_SERVER_ERROR,
-                INTERNAL_SERVER_ERROR.getDescription());
+        return toResponse(INTERNAL_SERVER_ERROR);
+    }
+
+    // builder 로 메세지를 바꾼 예외만 새로 직렬화한다.
+    private ResponseEntity<byte[]> toResponse(ErrorCode errorCode, String errorMessage)
+            throws JsonProcessingException {
+        if (errorMessage == null || Objects.equals(errorMessage, errorCode.getDescription())) {
+            return toResponse(errorCode);
+        }
+        return toResponse(errorCode,
+                objectMapper.writeValueAsBytes(new ErrorResponse(errorCode, errorMessage)));
+    }
+
+    private ResponseEntity<byte[]> toResponse(ErrorCode errorCode) {
+        return toResponse(errorCode, serializedBodies.get(errorCode));
+    }
+
+    private ResponseEntity<byte[]> toResponse(ErrorCode errorCode, byte[] body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(errorCode.getHttpStatus())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (errorCode.isRetryable()) {
+            builder.header(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        }
+        return builder.body(body);
     }
 }
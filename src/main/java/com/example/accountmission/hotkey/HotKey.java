@@ -0,0 +1,9 @@
+package com.example.accountmission.hotkey;
+
+/**
+ * @param key        계좌번호 (락 키)
+ * @param waitMicros 감쇠된 락 대기 시간 합계, 실제 값 이상이며 최대 error 만큼 크다.
+ * @param error      추적을 시작할 때 물려받은 값 (Space-Saving 의 과대 추정 한도)
+ */
+public record HotKey(String key, long waitMicros, long error) {
+}
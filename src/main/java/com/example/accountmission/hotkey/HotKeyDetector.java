@@ -0,0 +1,107 @@
+package com.example.accountmission.hotkey;
+
+import com.example.accountmission.lock.LocalAccountLockProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 락 대기 시간으로 경쟁이 심한 계좌를 찾는다. (AccountLockTemplate 이 락을 잡을 때마다 넣는다, HTTP 와 gRPC 모두)
+ * 감쇠 주기마다 값을 절반으로 줄이므로 최근 몇 주기의 대기가 주로 반영된다.
+ *
+ * 승격(promotion-enabled)을 켜면 대기 합계가 promote-wait 이상인 계좌는 분산 락 앞에서 노드 안의 공정한 대기열을 먼저 거친다.
+ * 같은 노드의 요청이 분산 락을 두고 경쟁하며 대기 시간(1초)을 넘겨 실패하는 대신 차례로 처리되고,
+ * 분산 락에는 노드마다 하나의 요청만 기다린다. 대기열 대기도 락 대기에 포함되므로 경쟁이 이어지는 동안은 승격이 유지된다.
+ * 꺼지면 disabled() 가 등록되고 아무것도 하지 않는다.
+ */
+@Slf4j
+public class HotKeyDetector {
+    private final SpaceSavingSketch sketch;
+    private final long minWaitNanos;
+    private final boolean promotionEnabled;
+    private final long promoteWaitMicros;
+    private final int maxPromoted;
+    private final LocalAccountLockProvider singleWriter;
+    private volatile Set<String> promoted = Set.of();
+
+    public HotKeyDetector(HotKeyProperties properties) {
+        this(new SpaceSavingSketch(properties.getCapacity()),
+                properties.getMinWait().toNanos(),
+                properties.isPromotionEnabled(),
+                TimeUnit.MILLISECONDS.toMicros(properties.getPromoteWait().toMillis()),
+                properties.getMaxPromoted(),
+                new LocalAccountLockProvider(properties.getSingleWriterWait().toMillis(), true));
+    }
+
+    private HotKeyDetector(SpaceSavingSketch sketch, long minWaitNanos, boolean promotionEnabled,
+                           long promoteWaitMicros, int maxPromoted, LocalAccountLockProvider singleWriter) {
+        this.sketch = sketch;
+        this.minWaitNanos = minWaitNanos;
+        this.promotionEnabled = promotionEnabled;
+        this.promoteWaitMicros = promoteWaitMicros;
+        this.maxPromoted = maxPromoted;
+        this.singleWriter = singleWriter;
+    }
+
+    public static HotKeyDetector disabled() {
+        return new HotKeyDetector(null, 0L, false, 0L, 0, null);
+    }
+
+    public boolean isEnabled() {
+        return sketch != null;
+    }
+
+    public void record(String key, long waitNanos) {
+        if (sketch == null || waitNanos < minWaitNanos) {
+            return;
+        }
+        sketch.add(key, TimeUnit.NANOSECONDS.toMicros(waitNanos));
+    }
+
+    public List<HotKey> top(int limit) {
+        return sketch == null ? List.of() : sketch.top(limit);
+    }
+
+    public Set<String> promoted() {
+        return promoted;
+    }
+
+    public boolean isPromoted(String key) {
+        return promoted.contains(key);
+    }
+
+    /**
+     * 승격된 계좌의 노드 안 대기열, single-writer-wait 안에 차례가 오지 않으면 ACCOUNT_TRANSACTION_LOCK
+     */
+    public void enterSingleWriter(String key) {
+        singleWriter.lock(key);
+    }
+
+    public void exitSingleWriter(String key) {
+        singleWriter.unlock(key);
+    }
+
+    @Scheduled(fixedDelayString = "${account.hotkey.decay-interval-ms:60000}")
+    public void decay() {
+        if (sketch == null) {
+            return;
+        }
+        if (promotionEnabled) {
+            Set<String> next = new LinkedHashSet<>();
+            for (HotKey hotKey : sketch.top(maxPromoted)) {
+                if (hotKey.waitMicros() >= promoteWaitMicros) {
+                    next.add(hotKey.key());
+                }
+            }
+            if (!next.equals(promoted)) {
+                log.info("Hot accounts promoted to single-writer mode: {}", next);
+            }
+            promoted = Set.copyOf(next);
+        }
+        sketch.decay();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.accountmission.hotkey;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * GET /actuator/hotaccounts?limit=10 : 락 대기가 긴 계좌 순위와 승격된 계좌
+ * 계좌번호를 그대로 내려주므로 management.endpoints.web.exposure.include 에 기본으로 넣지 않는다.
+ */
+@Endpoint(id = "hotaccounts")
+@RequiredArgsConstructor
+public class HotKeyEndpoint {
+    private final HotKeyDetector hotKeyDetector;
+    private final int defaultLimit;
+
+    @ReadOperation
+    public HotAccounts hotAccounts(@Nullable Integer limit) {
+        return new HotAccounts(
+                hotKeyDetector.top(limit == null ? defaultLimit : limit),
+                hotKeyDetector.promoted());
+    }
+
+    public record HotAccounts(List<HotKey> top, Set<String> promoted) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.accountmission.hotkey;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.hotkey")
+public class HotKeyProperties {
+    private boolean enabled = true;
+    // 추적할 최대 계좌 수
+    private int capacity = 256;
+    // 이보다 짧은 락 대기는 경쟁이 없는 것으로 보고 넣지 않는다.
+    private Duration minWait = Duration.ofMillis(5);
+    // actuator 에 내려줄 기본 개수
+    private int topLimit = 10;
+
+    // 뜨거운 계좌를 노드 안에서 한 쓰레드씩만 처리 (single-writer)
+    private boolean promotionEnabled = false;
+    // 감쇠 주기마다 감쇠된 대기 합계가 이 값 이상인 계좌를 승격한다.
+    private Duration promoteWait = Duration.ofSeconds(2);
+    private int maxPromoted = 32;
+    // 승격된 계좌의 노드 안 대기열에서 기다리는 최대 시간
+    private Duration singleWriterWait = Duration.ofSeconds(10);
+}
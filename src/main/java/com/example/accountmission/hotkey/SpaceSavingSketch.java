@@ -0,0 +1,84 @@
+package com.example.accountmission.hotkey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy hitters
+ * capacity 개의 키만 추적하고, 새 키가 들어왔는데 꽉 차 있으면 가장 작은 키를 내보내고 그 값을 물려받는다.
+ * 실제 합계가 (전체 합계 / capacity) 보다 큰 키는 반드시 추적된다.
+ * 꽉 찬 상태에서 새 키가 올 때만 전체를 훑으므로 경쟁이 있는 락 대기만 넣는다. (HotKeyDetector 의 min-wait)
+ */
+final class SpaceSavingSketch {
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    synchronized void add(String key, long weight) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Counter(weight, 0L));
+            return;
+        }
+        Map.Entry<String, Counter> min = null;
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            if (min == null || entry.getValue().count < min.getValue().count) {
+                min = entry;
+            }
+        }
+        counters.remove(min.getKey());
+        long inherited = min.getValue().count;
+        counters.put(key, new Counter(inherited + weight, inherited));
+    }
+
+    synchronized List<HotKey> top(int limit) {
+        List<HotKey> keys = new ArrayList<>(counters.size());
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            keys.add(new HotKey(entry.getKey(), entry.getValue().count, entry.getValue().error));
+        }
+        keys.sort(Comparator.comparingLong(HotKey::waitMicros).reversed());
+        // 음수 limit 는 빈 목록, 추적 중인 키 수(capacity 이하)보다 크면 모두 돌려준다.
+        return List.copyOf(keys.subList(0, Math.max(0, Math.min(limit, keys.size()))));
+    }
+
+    /**
+     * 모든 값을 절반으로 줄여서 최근 대기에 가중치를 둔다. 0 이 된 키는 지운다.
+     */
+    synchronized void decay() {
+        Iterator<Counter> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            Counter counter = iterator.next();
+            counter.count >>= 1;
+            counter.error >>= 1;
+            if (counter.count == 0L) {
+                iterator.remove();
+            }
+        }
+    }
+
+    synchronized int size() {
+        return counters.size();
+    }
+
+    private static final class Counter {
+        private long count;
+        private long error;
+
+        private Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.accountmission.journal;
+
+import com.example.accountmission.domain.Account;
+import com.example.accountmission.domain.Transaction;
+import com.example.accountmission.repository.AccountRepository;
+import com.example.accountmission.repository.TransactionRepository;
+import com.example.accountmission.service.ResourceVersionCache;
+import com.example.accountmission.shard.ShardContextHolder;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.stats.TransactionStatsAccumulator;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * fsync 된 저널 기록을 sequence 순서대로 DB 에 반영하는 단일 쓰레드
+ * 샤드별로 묶어 한 트랜잭션에 반영하고, 모두 커밋되면 체크포인트를 남긴다.
+ * 실패하면 같은 묶음을 다시 반영한다. 거래번호가 이미 저장된 기록은 건너뛰므로 재반영/재시작 복구는 멱등이다.
+ * maxAttempts 번 연속 실패하면 반영을 멈추고 저널을 fail-stop 시킨다.
+ * 응답한 기록을 건너뛸 수는 없으므로, 뒤의 기록이 계속 쌓이지 않도록 새 거래를 거절하고 운영자가 원인을 고친 뒤 재시작한다.
+ */
+@Slf4j
+public class JournalApplier implements Closeable {
+    private static final long RETRY_BACKOFF_MILLIS = 1000L;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ResourceVersionCache resourceVersionCache;
+    private final TransactionStatsAccumulator transactionStatsAccumulator;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Consumer<List<JournalRecord>> onApplied;
+    private final BlockingQueue<JournalRecord> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean closed;
+    private WriteAheadLog writeAheadLog;
+    private Thread worker;
+
+    public JournalApplier(AccountRepository accountRepository,
+                          TransactionRepository transactionRepository,
+                          ResourceVersionCache resourceVersionCache,
+                          TransactionStatsAccumulator transactionStatsAccumulator,
+                          ShardRouter shardRouter,
+                          PlatformTransactionManager transactionManager,
+                          int batchSize,
+                          int maxAttempts,
+                          Consumer<List<JournalRecord>> onApplied) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.resourceVersionCache = resourceVersionCache;
+        this.transactionStatsAccumulator = transactionStatsAccumulator;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.onApplied = onApplied;
+    }
+
+    public void submit(List<JournalRecord> records) {
+        queue.addAll(records);
+    }
+
+    public void start(WriteAheadLog writeAheadLog) {
+        this.writeAheadLog = writeAheadLog;
+        worker = new Thread(this::applyLoop, "journal-applier");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 남은 기록은 반영하지 않고 멈춘다. (다음 시작 때 체크포인트 이후부터 다시 반영)
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void applyLoop() {
+        List<JournalRecord> batch = new ArrayList<>(batchSize);
+        int attempts = 0;
+        while (!closed) {
+            try {
+                if (batch.isEmpty()) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                applyBatch(batch);
+                writeAheadLog.checkpoint(batch.get(batch.size() - 1).sequence());
+                onApplied.accept(batch);
+                batch = new ArrayList<>(batchSize);
+                attempts = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (++attempts >= maxAttempts) {
+                    log.error("Stopping journal: failed to apply journal records {}..{} {} times, "
+                                    + "new transactions are rejected until the cause is fixed and the node restarts: {}",
+                            batch.get(0).sequence(), batch.get(batch.size() - 1).sequence(), attempts,
+                            e.getMessage(), e);
+                    writeAheadLog.failStop(e);
+                    return;
+                }
+                log.error("Failed to apply {} journal records, retrying: {}", batch.size(), e.getMessage(), e);
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void applyBatch(List<JournalRecord> batch) {
+        // 같은 계좌는 같은 샤드이므로 샤드별로 나눠도 계좌 안의 순서는 유지된다.
+        Map<String, List<JournalRecord>> byShard = new LinkedHashMap<>();
+        for (JournalRecord record : batch) {
+            byShard.computeIfAbsent(String.valueOf(shardRouter.shardOf(record.accountNumber())),
+                    key -> new ArrayList<>()).add(record);
+        }
+        for (List<JournalRecord> records : byShard.values()) {
+            String previous = ShardContextHolder.get();
+            ShardContextHolder.set(shardRouter.shardOf(records.get(0).accountNumber()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> records.forEach(this::apply));
+            } finally {
+                ShardContextHolder.restore(previous);
+            }
+        }
+    }
+
+    private void apply(JournalRecord record) {
+        if (transactionRepository.findByTransactionId(record.transactionId()).isPresent()) {
+            return;
+        }
+        Account account = accountRepository.findByAccountNumber(record.accountNumber())
+                .orElseThrow(() -> new IllegalStateException(
+                        "Journaled account not found : " + record.accountNumber()));
+
+        // 검증은 저널에 기록하기 전에 끝났으므로 여기서는 그대로 반영만 한다.
+        if (record.transactionType() == TransactionType.USE) {
+            account.setBalance(account.getBalance() - record.amount());
+        } else {
+            Transaction target = transactionRepository.findByTransactionId(record.targetTransactionId())
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Journaled cancel target not found : " + record.targetTransactionId()));
+            transactionRepository.addCancelledAmount(target.getId(), record.amount());
+            account.setBalance(account.getBalance() + record.amount());
+            resourceVersionCache.evictTransaction(record.targetTransactionId());
+        }
+        resourceVersionCache.evictAccountList(account.getAccountUser().getId());
+
+        LocalDateTime transactedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(record.transactedAtMillis()), ZONE);
+        transactionRepository.save(Transaction.builder()
+                .transactionType(record.transactionType())
+                .transactionResultType(TransactionResultType.SUCCESS)
+                .account(account)
+                .amount(record.amount())
+                .balanceSnapshot(record.balanceSnapshot())
+                .transactionId(record.transactionId())
+                .transactedAt(transactedAt)
+                .build());
+        transactionStatsAccumulator.record(record.accountNumber(), record.transactionType(),
+                TransactionResultType.SUCCESS, record.amount(), transactedAt);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.accountmission.journal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.journal")
+public class JournalProperties {
+    // true 이면 잔액 사용/취소를 저널에 기록한 뒤 응답하고 DB 에는 비동기로 반영한다.
+    private boolean enabled = false;
+    private String directory = "./data/journal";
+    // 저널 파일 하나의 크기 (가득 차면 새 파일로 넘어간다)
+    private DataSize fileSize = DataSize.ofMegabytes(64);
+    // DB 에 한 트랜잭션으로 반영할 최대 기록 수
+    private int applyBatchSize = 500;
+    // 같은 묶음의 반영이 이 횟수만큼 연속으로 실패하면 저널을 멈추고 새 거래를 거절한다. (1초 간격)
+    private int applyMaxAttempts = 10;
+    // true 이면 잔액을 메모리(BalanceEngine)에 두고 DB 조회 없이 검증/차감한다.
+    private boolean balanceEngine = false;
+    private int expectedAccounts = 1_000_000;
+}
@@ -0,0 +1,70 @@
+package com.example.accountmission.journal;
+
+import com.example.accountmission.type.TransactionType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 저널에 기록되는 잔액 사용/취소 한 건
+ * targetTransactionId 는 취소 대상 거래번호 (사용 거래는 빈 문자열)
+ * balanceSnapshot 은 응답으로 내려준 거래 후 잔액으로, DB 반영 시 그대로 저장한다.
+ */
+public record JournalRecord(
+        long sequence,
+        TransactionType transactionType,
+        String accountNumber,
+        String transactionId,
+        String targetTransactionId,
+        long amount,
+        long balanceSnapshot,
+        long transactedAtMillis) {
+
+    JournalRecord withSequence(long sequence) {
+        return new JournalRecord(sequence, transactionType, accountNumber, transactionId,
+                targetTransactionId, amount, balanceSnapshot, transactedAtMillis);
+    }
+
+    int encodedLength() {
+        return 8 + 1 + 8 + 8 + 8
+                + 2 + utf8Length(accountNumber)
+                + 2 + utf8Length(transactionId)
+                + 2 + utf8Length(targetTransactionId);
+    }
+
+    void encode(ByteBuffer out) {
+        out.putLong(sequence)
+                .put((byte) transactionType.ordinal())
+                .putLong(amount)
+                .putLong(balanceSnapshot)
+                .putLong(transactedAtMillis);
+        putString(out, accountNumber);
+        putString(out, transactionId);
+        putString(out, targetTransactionId);
+    }
+
+    static JournalRecord decode(ByteBuffer in) {
+        long sequence = in.getLong();
+        TransactionType transactionType = TransactionType.values()[in.get()];
+        long amount = in.getLong();
+        long balanceSnapshot = in.getLong();
+        long transactedAtMillis = in.getLong();
+        return new JournalRecord(sequence, transactionType, getString(in), getString(in), getString(in),
+                amount, balanceSnapshot, transactedAtMillis);
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.accountmission.journal;
+
+import com.example.accountmission.type.TransactionType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 저널에 기록되었지만 아직 DB 에 반영되지 않은 기록
+ * 미반영 기록이 있는 계좌는 마지막으로 기록한 잔액(balanceSnapshot)이 현재 잔액이고, 없으면 DB 잔액이 현재 잔액이다.
+ * 반영 커밋 후에 해제하므로 그 사이에는 두 곳 모두 같은 잔액을 가리킨다.
+ * 읽는 쪽은 반드시 이 값을 DB 보다 먼저 읽어야 한다. (반대 순서면 반영 직전의 DB 값과 해제된 값을 같이 볼 수 있다)
+ *
+ * 한 계좌의 reserve 는 계좌 락 안에서 순서대로 일어나므로, 저널에 기록하지 못해 해제되는 기록은 항상 그 계좌의 마지막 기록이다.
+ */
+class PendingBalances {
+    // 계좌번호 -> 미반영 기록 수와 마지막 기록 잔액
+    private final Map<String, AccountPending> accounts = new ConcurrentHashMap<>();
+    // 거래번호 -> 미반영 거래 (사용, 취소)
+    private final Map<String, JournalRecord> records = new ConcurrentHashMap<>();
+    // 사용 거래번호 -> 미반영 취소 금액 합계
+    private final Map<String, Long> cancels = new ConcurrentHashMap<>();
+
+    /**
+     * @return 미반영 기록이 없으면 null (DB 잔액이 현재 잔액)
+     */
+    Long lastBalanceOf(String accountNumber) {
+        AccountPending pending = accounts.get(accountNumber);
+        return pending == null ? null : pending.lastBalance();
+    }
+
+    JournalRecord recordOf(String transactionId) {
+        return records.get(transactionId);
+    }
+
+    JournalRecord useOf(String transactionId) {
+        JournalRecord record = records.get(transactionId);
+        return record != null && record.transactionType() == TransactionType.USE ? record : null;
+    }
+
+    long cancelledOf(String transactionId) {
+        return cancels.getOrDefault(transactionId, 0L);
+    }
+
+    void reserve(JournalRecord record) {
+        accounts.compute(record.accountNumber(), (key, pending) -> pending == null
+                ? new AccountPending(1, record.balanceSnapshot(), record.balanceSnapshot())
+                : new AccountPending(pending.records() + 1, record.balanceSnapshot(), pending.lastBalance()));
+        records.put(record.transactionId(), record);
+        if (record.transactionType() == TransactionType.CANCEL) {
+            add(cancels, record.targetTransactionId(), record.amount());
+        }
+    }
+
+    /**
+     * 저널에 기록하지 못한 기록, 마지막 기록 잔액을 그 전 값으로 되돌린다.
+     */
+    void release(JournalRecord record) {
+        release(record, true);
+    }
+
+    /**
+     * DB 에 반영된 기록
+     */
+    void releaseAll(List<JournalRecord> records) {
+        records.forEach(record -> release(record, false));
+    }
+
+    private void release(JournalRecord record, boolean rollback) {
+        accounts.computeIfPresent(record.accountNumber(), (key, pending) -> {
+            if (pending.records() == 1) {
+                return null;
+            }
+            return new AccountPending(pending.records() - 1,
+                    rollback ? pending.previousBalance() : pending.lastBalance(), pending.previousBalance());
+        });
+        records.remove(record.transactionId());
+        if (record.transactionType() == TransactionType.CANCEL) {
+            add(cancels, record.targetTransactionId(), -record.amount());
+        }
+    }
+
+    private static void add(Map<String, Long> map, String key, long delta) {
+        map.compute(key, (k, value) -> {
+            long sum = (value == null ? 0L : value) + delta;
+            return sum == 0L ? null : sum;
+        });
+    }
+
+    private record AccountPending(int records, long lastBalance, long previousBalance) {
+    }
+}
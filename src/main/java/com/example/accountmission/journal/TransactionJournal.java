@@ -0,0 +1,294 @@
+package com.example.accountmission.journal;
+
+import com.example.accountmission.domain.Account;
+import com.example.accountmission.domain.AccountUser;
+import com.example.accountmission.domain.Transaction;
+import com.example.accountmission.dto.TransactionDto;
+import com.example.accountmission.engine.BalanceEngine;
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.limit.SpendingLimiter;
+import com.example.accountmission.policy.AccountPolicy;
+import com.example.accountmission.repository.AccountRepository;
+import com.example.accountmission.repository.AccountUserRepository;
+import com.example.accountmission.repository.TransactionRepository;
+import com.example.accountmission.service.ResourceVersionCache;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.stats.TransactionStatsAccumulator;
+import com.example.accountmission.type.ErrorCode;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * 저널 모드의 잔액 사용/취소 (account.journal.enabled=true)
+ * 1. 미반영 기록이 있으면 마지막 기록 잔액, 없으면 DB 잔액으로 검증 (잔액 엔진을 켜면 메모리 잔액으로 검증/차감)
+ * 2. 사용 한도를 확인하고 저널에 기록, 기록하지 못하면 한도를 되돌린다.
+ * 3. 저널에 기록하고 fsync 가 끝나면 응답
+ * 4. DB 반영은 JournalApplier 가 비동기로 처리
+ *
+ * 계좌 락(@AccountLock) 안에서 호출되어야 하며, 미반영 금액은 노드 메모리에만 있으므로
+ * 한 계좌의 요청은 한 노드로 라우팅되는 배포에서만 사용한다.
+ * 저널 모드를 끄면 disabled() 가 등록되고 컨트롤러는 기존 TransactionService 로 처리한다.
+ */
+@Slf4j
+public class TransactionJournal implements Closeable {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final int FAIL_STOP_EXIT_CODE = 70;
+
+    private final WriteAheadLog writeAheadLog;
+    private final JournalApplier journalApplier;
+    private final PendingBalances pendingBalances;
+    private final BalanceEngine balanceEngine;
+    private final SpendingLimiter spendingLimiter;
+    private final AccountUserRepository accountUserRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+
+    TransactionJournal(WriteAheadLog writeAheadLog,
+                       JournalApplier journalApplier,
+                       PendingBalances pendingBalances,
+                       BalanceEngine balanceEngine,
+                       SpendingLimiter spendingLimiter,
+                       AccountUserRepository accountUserRepository,
+                       AccountRepository accountRepository,
+                       TransactionRepository transactionRepository) {
+        this.writeAheadLog = writeAheadLog;
+        this.journalApplier = journalApplier;
+        this.pendingBalances = pendingBalances;
+        this.balanceEngine = balanceEngine;
+        this.spendingLimiter = spendingLimiter;
+        this.accountUserRepository = accountUserRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    public static TransactionJournal disabled() {
+        return new TransactionJournal(null, null, null, BalanceEngine.disabled(), SpendingLimiter.disabled(),
+                null, null, null);
+    }
+
+    /**
+     * 체크포인트 이후의 기록을 DB 에 다시 반영하고(멱등) 잔액 엔진을 적재한 뒤 시작한다.
+     */
+    public static TransactionJournal start(JournalProperties properties,
+                                           BalanceEngine balanceEngine,
+                                           SpendingLimiter spendingLimiter,
+                                           AccountUserRepository accountUserRepository,
+                                           AccountRepository accountRepository,
+                                           TransactionRepository transactionRepository,
+                                           ResourceVersionCache resourceVersionCache,
+                                           TransactionStatsAccumulator transactionStatsAccumulator,
+                                           ShardRouter shardRouter,
+                                           PlatformTransactionManager transactionManager) {
+        PendingBalances pendingBalances = new PendingBalances();
+        JournalApplier journalApplier = new JournalApplier(accountRepository, transactionRepository,
+                resourceVersionCache, transactionStatsAccumulator, shardRouter, transactionManager,
+                properties.getApplyBatchSize(), properties.getApplyMaxAttempts(), pendingBalances::releaseAll);
+        WriteAheadLog writeAheadLog = new WriteAheadLog(Path.of(properties.getDirectory()),
+                (int) properties.getFileSize().toBytes(), journalApplier::submit, TransactionJournal::halt);
+
+        List<JournalRecord> recovered = writeAheadLog.recover();
+        for (int from = 0; from < recovered.size(); from += properties.getApplyBatchSize()) {
+            List<JournalRecord> batch = recovered.subList(
+                    from, Math.min(from + properties.getApplyBatchSize(), recovered.size()));
+            journalApplier.applyBatch(batch);
+            writeAheadLog.checkpoint(batch.get(batch.size() - 1).sequence());
+        }
+        if (balanceEngine.isEnabled()) {
+            balanceEngine.loadAll();
+        }
+        journalApplier.start(writeAheadLog);
+        writeAheadLog.start();
+        return new TransactionJournal(writeAheadLog, journalApplier, pendingBalances, balanceEngine, spendingLimiter,
+                accountUserRepository, accountRepository, transactionRepository);
+    }
+
+    public boolean isEnabled() {
+        return writeAheadLog != null;
+    }
+
+    public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        if (balanceEngine.isEnabled()) {
+            return useEngineBalance(userId, accountNumber, amount);
+        }
+        Long pendingBalance = pendingBalances.lastBalanceOf(accountNumber);
+        AccountUser user = accountUserRepository.findById(userId)
+                .orElseThrow(() -> AccountException.of(ErrorCode.USER_NOT_FOUND));
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        AccountPolicy.validateUseBalance(
+                user.getId(), account.getAccountUser().getId(), account.getAccountStatus());
+        // 저널 모드에서는 승인 API 가 꺼져 있으므로 묶인 금액이 없다.
+        long balance = pendingBalance == null ? account.getBalance() : pendingBalance;
+        AccountPolicy.validateSufficientBalance(balance, amount);
+
+        Runnable releaseLimit = spendingLimiter.reserve(user.getId(), accountNumber, amount);
+        try {
+            return append(new JournalRecord(0L, TransactionType.USE, accountNumber, newTransactionId(), "",
+                    amount, balance - amount, System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            releaseLimit.run();
+            throw e;
+        }
+    }
+
+    /**
+     * 소유자와 잔액을 메모리에서 확인하고 CAS 로 차감한다.
+     * 엔진에 없거나 소유자가 다르면 DB 로 검증해서 기존과 같은 오류를 낸다.
+     */
+    private TransactionDto useEngineBalance(Long userId, String accountNumber, Long amount) {
+        if (balanceEngine.ownerOf(accountNumber) != userId) {
+            AccountUser user = accountUserRepository.findById(userId)
+                    .orElseThrow(() -> AccountException.of(ErrorCode.USER_NOT_FOUND));
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
+            AccountPolicy.validateUseBalance(
+                    user.getId(), account.getAccountUser().getId(), account.getAccountStatus());
+            throw AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND);
+        }
+        Runnable releaseLimit = spendingLimiter.reserve(userId, accountNumber, amount);
+        long remaining = balanceEngine.tryDebit(accountNumber, amount);
+        if (remaining < 0) {
+            releaseLimit.run();
+            throw AccountException.of(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+        try {
+            return append(new JournalRecord(0L, TransactionType.USE, accountNumber, newTransactionId(), "",
+                    amount, remaining, System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            balanceEngine.credit(accountNumber, amount);
+            releaseLimit.run();
+            throw e;
+        }
+    }
+
+    public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
+        Long pendingBalance = pendingBalances.lastBalanceOf(accountNumber);
+        long pendingCancelled = pendingBalances.cancelledOf(transactionId);
+        JournalRecord pendingUse = pendingBalances.useOf(transactionId);
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        Optional<Transaction> transaction = transactionRepository.findByTransactionId(transactionId);
+        if (transaction.isPresent()) {
+            Transaction target = transaction.get();
+            AccountPolicy.validateCancelBalance(
+                    target.getAccount().getId(), account.getId(),
+                    target.getTransactionType(), target.getTransactionResultType(),
+                    target.getAmount(), target.getCancelledAmount() + pendingCancelled, amount);
+        } else if (pendingUse != null) {
+            // 아직 DB 에 반영되지 않은 사용 거래 (계좌는 계좌번호로 비교)
+            AccountPolicy.validateCancelBalance(
+                    pendingUse.accountNumber().equals(accountNumber) ? account.getId() : null, account.getId(),
+                    TransactionType.USE, TransactionResultType.SUCCESS,
+                    pendingUse.amount(), pendingCancelled, amount);
+        } else {
+            throw AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND);
+        }
+        AccountPolicy.validateCancelAmount(amount);
+
+        if (balanceEngine.isEnabled()) {
+            // 적재되지 않은 계좌라면 먼저 읽어온 뒤, 저널에 기록된 다음 더한다.
+            balanceEngine.ownerOf(accountNumber);
+            long balance = balanceEngine.balanceOf(accountNumber);
+            TransactionDto cancelled = append(new JournalRecord(0L, TransactionType.CANCEL, accountNumber,
+                    newTransactionId(), transactionId, amount, balance + amount, System.currentTimeMillis()));
+            balanceEngine.credit(accountNumber, amount);
+            return cancelled;
+        }
+        long balance = pendingBalance == null ? account.getBalance() : pendingBalance;
+        return append(new JournalRecord(0L, TransactionType.CANCEL, accountNumber, newTransactionId(), transactionId,
+                amount, balance + amount, System.currentTimeMillis()));
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 거래는 저널 기록으로 답하고, 반영된 거래는 DB 값에 미반영 취소 금액을 더한다.
+     * 미반영 거래는 반영 커밋 후에 해제되므로 먼저 확인하고, 취소 금액은 DB 를 읽은 뒤에 더한다.
+     * (반대 순서면 그 사이 반영된 취소를 두 번 더할 수 있다)
+     */
+    public TransactionDto queryTransaction(String transactionId, Function<String, TransactionDto> appliedQuery) {
+        JournalRecord pending = pendingBalances.recordOf(transactionId);
+        if (pending != null) {
+            TransactionDto dto = toDto(pending);
+            dto.setCancelledAmount(pendingBalances.cancelledOf(transactionId));
+            return dto;
+        }
+        TransactionDto applied = appliedQuery.apply(transactionId);
+        long pendingCancelled = pendingBalances.cancelledOf(transactionId);
+        if (pendingCancelled == 0L) {
+            return applied;
+        }
+        // 같은 조회를 기다린 다른 요청과 공유하는 객체일 수 있으므로 복사해서 더한다.
+        return TransactionDto.builder()
+                .accountNumber(applied.getAccountNumber())
+                .transactionId(applied.getTransactionId())
+                .transactionType(applied.getTransactionType())
+                .transactionResultType(applied.getTransactionResultType())
+                .amount(applied.getAmount())
+                .balanceSnapshot(applied.getBalanceSnapshot())
+                .cancelledAmount((applied.getCancelledAmount() == null ? 0L : applied.getCancelledAmount())
+                        + pendingCancelled)
+                .transactedAt(applied.getTransactedAt())
+                .build();
+    }
+
+    @Override
+    public void close() {
+        if (!isEnabled()) {
+            return;
+        }
+        writeAheadLog.close();
+        journalApplier.close();
+    }
+
+    private TransactionDto append(JournalRecord record) {
+        // 반영 쓰레드가 먼저 해제하지 않도록 저널에 넣기 전에 미반영 금액으로 잡는다.
+        pendingBalances.reserve(record);
+        try {
+            writeAheadLog.append(record).join();
+        } catch (CompletionException e) {
+            pendingBalances.release(record);
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return toDto(record);
+    }
+
+    private static TransactionDto toDto(JournalRecord record) {
+        return TransactionDto.builder()
+                .accountNumber(record.accountNumber())
+                .transactionId(record.transactionId())
+                .transactionType(record.transactionType())
+                .transactionResultType(TransactionResultType.SUCCESS)
+                .amount(record.amount())
+                .balanceSnapshot(record.balanceSnapshot())
+                .cancelledAmount(0L)
+                .transactedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(record.transactedAtMillis()), ZONE))
+                .build();
+    }
+
+    /**
+     * fsync 가 실패하면 응답하지 못한 기록이 디스크에 있는지 알 수 없으므로 종료 훅 없이 바로 멈춘다.
+     * (정상 종료는 진행 중인 요청을 기다리고 저널을 다시 flush 하려 한다) 재시작하면 저널로 복구한다.
+     */
+    private static void halt(Throwable cause) {
+        log.error("Halting node after journal fsync failure: {}", cause.getMessage());
+        Runtime.getRuntime().halt(FAIL_STOP_EXIT_CODE);
+    }
+
+    private static String newTransactionId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
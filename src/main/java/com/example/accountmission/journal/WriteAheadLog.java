@@ -0,0 +1,382 @@
+package com.example.accountmission.journal;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑된 추가 전용(append-only) 저널
+ * 파일 구조 : {directory}/journal-{첫 sequence}.wal, 기록 = [길이 4][CRC32C 4][내용]
+ *
+ * 그룹 커밋
+ * 1. append 는 락 안에서 매핑된 버퍼에 쓰고 대기열에 넣기만 한다.
+ * 2. flusher 쓰레드가 그때까지 쓰인 범위를 한번에 force(fsync) 하고 대기 중인 요청을 모두 완료시킨다.
+ * fsync 하는 동안 들어온 기록은 다음 force 에 같이 묶이므로 동시 요청이 많을수록 fsync 당 기록 수가 늘어난다.
+ *
+ * 복구 시 길이가 0 이거나 CRC 가 맞지 않는 기록(쓰다 중단된 꼬리)부터는 버리고 새 파일에 이어 쓴다.
+ *
+ * fail-stop
+ * force 가 실패해도 이미 매핑된 버퍼에 쓴 기록은 나중에 디스크에 내려가서 재시작 시 반영될 수 있다.
+ * 그래서 대기 중인 요청을 실패로 응답하지 않고, 이후의 append 를 모두 거절한 뒤 onFailure 로 노드를 멈춘다.
+ * (응답을 받지 못한 요청은 재시작 후 거래 조회로 결과를 확인한다)
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+    private static final String FILE_PREFIX = "journal-";
+    private static final String FILE_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int FRAME_HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int fileSize;
+    private final Consumer<List<JournalRecord>> onDurable;
+    private final Consumer<Throwable> onFailure;
+
+    // 첫 sequence -> 파일, 체크포인트 이전 파일은 지운다.
+    private final ConcurrentSkipListMap<Long, Path> files = new ConcurrentSkipListMap<>();
+    private final Object lock = new Object();
+    private final List<MappedFile> unflushedFiles = new ArrayList<>();
+    private List<Waiter> waiters = new ArrayList<>();
+    private MappedFile current;
+    private long nextSequence;
+    private volatile boolean closed;
+    private volatile Throwable failure;
+    private Thread flusher;
+
+    /**
+     * @param onFailure fsync 가 실패했을 때 호출, 노드를 멈춰야 한다. (flusher 쓰레드에서 호출)
+     */
+    public WriteAheadLog(Path directory, int fileSize, Consumer<List<JournalRecord>> onDurable,
+                         Consumer<Throwable> onFailure) {
+        this.directory = directory;
+        this.fileSize = fileSize;
+        this.onDurable = onDurable;
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * 체크포인트 이후의 기록을 읽어오고 새 파일을 연다. start 전에 한번만 호출한다.
+     * @return DB 에 반영되지 않았을 수 있는 기록 (sequence 순)
+     */
+    public List<JournalRecord> recover() {
+        List<JournalRecord> recovered = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            long checkpoint = readCheckpoint();
+            long lastSequence = checkpoint;
+            try (Stream<Path> list = Files.list(directory)) {
+                list.filter(WriteAheadLog::isJournalFile)
+                        .forEach(path -> files.put(firstSequenceOf(path), path));
+            }
+            for (Path path : files.values()) {
+                for (JournalRecord record : readFile(path)) {
+                    lastSequence = Math.max(lastSequence, record.sequence());
+                    if (record.sequence() > checkpoint) {
+                        recovered.add(record);
+                    }
+                }
+            }
+            nextSequence = lastSequence + 1;
+            current = openFile(nextSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover journal in " + directory, e);
+        }
+        log.info("Recovered {} journal records after checkpoint from {}", recovered.size(), directory);
+        return recovered;
+    }
+
+    public void start() {
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * 기록을 추가하고 fsync 가 끝나면 완료되는 future 를 돌려준다. (sequence 가 채워진 기록)
+     */
+    public CompletableFuture<JournalRecord> append(JournalRecord record) {
+        CompletableFuture<JournalRecord> future = new CompletableFuture<>();
+        synchronized (lock) {
+            if (closed) {
+                future.completeExceptionally(new IllegalStateException("Journal is closed"));
+                return future;
+            }
+            if (failure != null) {
+                // 버퍼에 쓰지 않았으므로 실패로 응답해도 나중에 반영되지 않는다.
+                future.completeExceptionally(AccountException.of(ErrorCode.JOURNAL_UNAVAILABLE));
+                return future;
+            }
+            JournalRecord sequenced = record.withSequence(nextSequence);
+            int frameLength = FRAME_HEADER_BYTES + sequenced.encodedLength();
+            try {
+                if (current.buffer.remaining() < frameLength) {
+                    rollOver();
+                }
+            } catch (IOException e) {
+                future.completeExceptionally(new UncheckedIOException("Failed to roll journal file", e));
+                return future;
+            }
+            writeFrame(current.buffer, sequenced);
+            nextSequence++;
+            waiters.add(new Waiter(sequenced, future));
+            lock.notifyAll();
+        }
+        return future;
+    }
+
+    /**
+     * 이후의 append 를 모두 JOURNAL_UNAVAILABLE 로 거절한다. 이미 쓴 기록은 그대로 둔다.
+     */
+    public void failStop(Throwable cause) {
+        synchronized (lock) {
+            if (failure == null) {
+                failure = cause;
+            }
+        }
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * appliedSequence 까지 DB 에 반영되었음을 기록하고, 모든 기록이 반영된 지난 파일을 지운다.
+     */
+    public void checkpoint(long appliedSequence) {
+        try {
+            Path tmp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.write(tmp, ByteBuffer.allocate(8).putLong(appliedSequence).array());
+            Files.move(tmp, directory.resolve(CHECKPOINT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            Map.Entry<Long, Path> entry = files.firstEntry();
+            while (entry != null) {
+                Map.Entry<Long, Path> next = files.higherEntry(entry.getKey());
+                // 다음 파일이 없으면 지금 쓰는 파일
+                if (next == null || next.getKey() - 1 > appliedSequence) {
+                    break;
+                }
+                files.remove(entry.getKey());
+                Files.deleteIfExists(entry.getValue());
+                entry = next;
+            }
+        } catch (IOException e) {
+            // 체크포인트가 늦어지면 재시작 시 더 많은 기록을 다시 반영할 뿐이다. (반영은 멱등)
+            log.warn("Failed to write journal checkpoint {}: {}", appliedSequence, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (lock) {
+            if (failure == null) {
+                flush(takeUnflushed());
+            }
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.warn("Failed to close journal file: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            Batch batch;
+            synchronized (lock) {
+                while (waiters.isEmpty() && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (waiters.isEmpty()) {
+                    return;
+                }
+                batch = takeUnflushed();
+            }
+            if (!flush(batch)) {
+                return;
+            }
+        }
+    }
+
+    // lock 안에서 호출
+    private Batch takeUnflushed() {
+        List<Waiter> taken = waiters;
+        waiters = new ArrayList<>();
+        List<FlushRange> ranges = new ArrayList<>();
+        for (MappedFile file : unflushedFiles) {
+            ranges.add(new FlushRange(file, file.buffer.position(), true));
+        }
+        unflushedFiles.clear();
+        if (current != null) {
+            ranges.add(new FlushRange(current, current.buffer.position(), false));
+        }
+        return new Batch(ranges, taken);
+    }
+
+    /**
+     * @return false 이면 fsync 가 실패해서 fail-stop 상태가 되었다.
+     */
+    private boolean flush(Batch batch) {
+        try {
+            for (FlushRange range : batch.ranges()) {
+                range.file().force(range.upTo());
+                if (range.last()) {
+                    range.file().close();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // 기록이 디스크에 내려갔는지 알 수 없으므로 대기 중인 요청은 완료시키지 않는다.
+            log.error("Journal fsync failed, stopping the journal with {} records in doubt: {}",
+                    batch.waiters().size(), e.getMessage(), e);
+            failStop(e);
+            onFailure.accept(e);
+            return false;
+        }
+        List<JournalRecord> durable = new ArrayList<>(batch.waiters().size());
+        for (Waiter waiter : batch.waiters()) {
+            durable.add(waiter.record());
+        }
+        if (!durable.isEmpty()) {
+            // 요청에 응답하기 전에 반영 대기열에 넣어야 반영 순서가 sequence 순서와 같다.
+            onDurable.accept(durable);
+        }
+        batch.waiters().forEach(waiter -> waiter.future().complete(waiter.record()));
+        return true;
+    }
+
+    // lock 안에서 호출
+    // 새 파일은 0 으로 채워져 있으므로 남은 공간은 길이 0 (끝) 으로 읽힌다.
+    private void rollOver() throws IOException {
+        unflushedFiles.add(current);
+        current = openFile(nextSequence);
+    }
+
+    private MappedFile openFile(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%019d%s", FILE_PREFIX, firstSequence, FILE_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        files.put(firstSequence, path);
+        return new MappedFile(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize));
+    }
+
+    private static void writeFrame(MappedByteBuffer buffer, JournalRecord record) {
+        int start = buffer.position();
+        int length = record.encodedLength();
+        buffer.position(start + FRAME_HEADER_BYTES);
+        record.encode(buffer);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + FRAME_HEADER_BYTES, length));
+        buffer.putInt(start, length);
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    private static List<JournalRecord> readFile(Path path) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int position = 0;
+            while (position + FRAME_HEADER_BYTES <= buffer.limit()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + FRAME_HEADER_BYTES + length > buffer.limit()) {
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(position + FRAME_HEADER_BYTES, length);
+                CRC32C crc = new CRC32C();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                    log.warn("Journal {} has a torn record at {}, ignoring the rest", path, position);
+                    break;
+                }
+                records.add(JournalRecord.decode(payload));
+                position += FRAME_HEADER_BYTES + length;
+            }
+        }
+        return records;
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return 0L;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(path)).getLong();
+    }
+
+    private static boolean isJournalFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+    }
+
+    private static long firstSequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    private static final class MappedFile {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        // flusher 쓰레드에서만 변경
+        private int flushedPosition;
+
+        private MappedFile(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        void force(int upTo) {
+            if (upTo > flushedPosition) {
+                buffer.force(flushedPosition, upTo - flushedPosition);
+                flushedPosition = upTo;
+            }
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private record FlushRange(MappedFile file, int upTo, boolean last) {
+    }
+
+    private record Waiter(JournalRecord record, CompletableFuture<JournalRecord> future) {
+    }
+
+    private record Batch(List<FlushRange> ranges, List<Waiter> waiters) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.accountmission.limit;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 단일 노드용 카운터
+ * 키마다 bucket 배열을 링으로 두고, window 를 벗어난 bucket 은 다음에 그 자리를 쓸 때 비운다.
+ * 추적 키가 maxTrackedKeys 를 넘으면 window 안의 사용액이 없는 키만 정리한다. (한도가 풀리면 안되므로 비우지 않는다)
+ */
+public class LocalSpendingCounter implements SpendingCounter {
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int maxTrackedKeys;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LocalSpendingCounter(long windowMillis, long bucketMillis, int maxTrackedKeys) {
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = (int) Math.max(1, (windowMillis + bucketMillis - 1) / bucketMillis);
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    @Override
+    public boolean tryAdd(String key, long amount, long limit, long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        while (true) {
+            Window window = windows.get(key);
+            if (window == null) {
+                if (windows.size() >= maxTrackedKeys) {
+                    evictEmpty(bucket);
+                }
+                window = windows.computeIfAbsent(key, k -> new Window(bucketCount));
+            }
+            // 꺼낸 뒤 정리된 window 에 더하면 새 window 와 사용액이 나뉘므로 다시 꺼낸다.
+            synchronized (window) {
+                if (!window.evicted) {
+                    return window.tryAdd(bucket, amount, limit);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void subtract(String key, long amount, long nowMillis) {
+        Window window = windows.get(key);
+        if (window != null) {
+            window.subtract(nowMillis / bucketMillis, amount);
+        }
+    }
+
+    // window 의 락을 잡고 비어있는지 확인한 뒤 지우므로, 정리와 더하기가 엇갈리지 않는다.
+    private void evictEmpty(long bucket) {
+        windows.forEach((key, window) -> {
+            synchronized (window) {
+                if (window.isEmpty(bucket) && windows.remove(key, window)) {
+                    window.evicted = true;
+                }
+            }
+        });
+    }
+
+    int trackedKeys() {
+        return windows.size();
+    }
+
+    private static final class Window {
+        private final long[] buckets;
+        private final long[] amounts;
+        // 맵에서 지워진 window, window 의 락 안에서만 읽고 쓴다.
+        private boolean evicted;
+
+        private Window(int bucketCount) {
+            this.buckets = new long[bucketCount];
+            this.amounts = new long[bucketCount];
+            Arrays.fill(buckets, Long.MIN_VALUE);
+        }
+
+        private synchronized boolean tryAdd(long bucket, long amount, long limit) {
+            if (total(bucket) > limit - amount) {
+                return false;
+            }
+            int slot = (int) Math.floorMod(bucket, (long) buckets.length);
+            if (buckets[slot] != bucket) {
+                buckets[slot] = bucket;
+                amounts[slot] = 0L;
+            }
+            amounts[slot] += amount;
+            return true;
+        }
+
+        private synchronized void subtract(long bucket, long amount) {
+            int slot = (int) Math.floorMod(bucket, (long) buckets.length);
+            if (buckets[slot] == bucket) {
+                amounts[slot] -= amount;
+            }
+        }
+
+        private synchronized boolean isEmpty(long bucket) {
+            return total(bucket) == 0L;
+        }
+
+        private long total(long bucket) {
+            long oldest = bucket - buckets.length + 1;
+            long total = 0L;
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] >= oldest && buckets[i] <= bucket) {
+                    total += amounts[i];
+                }
+            }
+            return total;
+        }
+    }
+}
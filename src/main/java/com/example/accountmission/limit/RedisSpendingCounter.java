@@ -0,0 +1,73 @@
+package com.example.accountmission.limit;
+
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.List;
+
+/**
+ * 여러 노드가 공유하는 카운터
+ * 키마다 Redis hash 하나(field = bucket 번호, value = 사용액)를 두고,
+ * 합계 확인과 증가를 Lua 스크립트 한번으로 처리해서 노드 사이에서도 원자적이다.
+ */
+public class RedisSpendingCounter implements SpendingCounter {
+    private static final String KEY_PREFIX = "spending:";
+
+    // ARGV : bucket, amount, limit, bucketCount, ttlMillis
+    private static final String TRY_ADD_SCRIPT =
+            "local bucket = tonumber(ARGV[1]) " +
+            "local oldest = bucket - tonumber(ARGV[4]) + 1 " +
+            "local total = 0 " +
+            "local fields = redis.call('HGETALL', KEYS[1]) " +
+            "for i = 1, #fields, 2 do " +
+            "  local b = tonumber(fields[i]) " +
+            "  if b < oldest then " +
+            "    redis.call('HDEL', KEYS[1], fields[i]) " +
+            "  elseif b <= bucket then " +
+            "    total = total + tonumber(fields[i + 1]) " +
+            "  end " +
+            "end " +
+            "if total + tonumber(ARGV[2]) > tonumber(ARGV[3]) then " +
+            "  return 0 " +
+            "end " +
+            "redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[5]) " +
+            "return 1";
+
+    // ARGV : bucket, amount
+    private static final String SUBTRACT_SCRIPT =
+            "if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then " +
+            "  redis.call('HINCRBY', KEYS[1], ARGV[1], -tonumber(ARGV[2])) " +
+            "end " +
+            "return 1";
+
+    private final RScript script;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final long ttlMillis;
+
+    public RedisSpendingCounter(RedissonClient redissonClient, long windowMillis, long bucketMillis) {
+        this.script = redissonClient.getScript(StringCodec.INSTANCE);
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = (int) Math.max(1, (windowMillis + bucketMillis - 1) / bucketMillis);
+        // 마지막 사용 이후 window 가 지나면 키가 통째로 만료된다.
+        this.ttlMillis = bucketMillis * (bucketCount + 1);
+    }
+
+    @Override
+    public boolean tryAdd(String key, long amount, long limit, long nowMillis) {
+        Long added = script.eval(RScript.Mode.READ_WRITE, TRY_ADD_SCRIPT, RScript.ReturnType.INTEGER,
+                List.of(KEY_PREFIX + key),
+                String.valueOf(nowMillis / bucketMillis), String.valueOf(amount), String.valueOf(limit),
+                String.valueOf(bucketCount), String.valueOf(ttlMillis));
+        return added != null && added == 1L;
+    }
+
+    @Override
+    public void subtract(String key, long amount, long nowMillis) {
+        script.eval(RScript.Mode.READ_WRITE, SUBTRACT_SCRIPT, RScript.ReturnType.INTEGER,
+                List.of(KEY_PREFIX + key),
+                String.valueOf(nowMillis / bucketMillis), String.valueOf(amount));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.accountmission.limit;
+
+/**
+ * 키별 sliding window 사용액 카운터
+ * 같은 nowMillis 로 tryAdd/subtract 를 호출하면 같은 bucket 에 더하고 뺀다.
+ */
+public interface SpendingCounter {
+
+    /**
+     * window 안의 사용액 + amount 가 limit 이하면 더하고 true
+     */
+    boolean tryAdd(String key, long amount, long limit, long nowMillis);
+
+    /**
+     * tryAdd 로 더한 금액을 되돌린다. (bucket 이 이미 밀려났으면 무시)
+     */
+    void subtract(String key, long amount, long nowMillis);
+}
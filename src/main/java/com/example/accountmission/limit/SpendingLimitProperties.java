@@ -0,0 +1,38 @@
+package com.example.accountmission.limit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.limit")
+public class SpendingLimitProperties {
+    private boolean enabled = true;
+    // LOCAL : 노드 메모리, REDIS : 여러 노드가 Redis 카운터를 공유
+    private Store store = Store.LOCAL;
+
+    // 1회 사용 한도
+    private long perTransactionLimit = 1_000_000_000L;
+    // 계좌별 window 동안의 사용 한도 (계좌번호별로 덮어쓸 수 있다)
+    private long dailyLimit = 5_000_000_000L;
+    private Map<String, Long> accountDailyLimits = new HashMap<>();
+    // 사용자의 모든 계좌를 합친 사용 한도 (0 이면 제한 없음, 사용자 ID 별로 덮어쓸 수 있다)
+    private long userDailyLimit = 0L;
+    private Map<Long, Long> userDailyLimits = new HashMap<>();
+
+    // window 를 bucket 단위로 나눠서 밀어낸다. (오래된 bucket 이 통째로 빠진다)
+    private Duration window = Duration.ofHours(24);
+    private Duration bucket = Duration.ofHours(1);
+    // LOCAL 저장소에서 추적할 최대 키 수 (넘으면 window 안의 사용액이 없는 키를 정리)
+    private int maxTrackedKeys = 100_000;
+
+    public enum Store {
+        LOCAL,
+        REDIS
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.accountmission.limit;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 잔액 사용 한도 (1회 / 계좌별 window / 사용자별 window)
+ * 거래 내역을 합산하지 않고 카운터로만 확인하므로 한도 확인에 DB 조회가 없다.
+ * 거래 트랜잭션 안에서 호출되면 롤백될 때 더한 금액을 되돌린다.
+ * 취소된 금액은 한도를 되돌려주지 않는다.
+ * 승인(hold)은 승인할 때 한도를 쓰고, 승인이 취소/만료되어도 되돌려주지 않는다.
+ */
+@Slf4j
+public class SpendingLimiter {
+    private final SpendingCounter counter;
+    private final long perTransactionLimit;
+    private final long dailyLimit;
+    private final Map<String, Long> accountDailyLimits;
+    private final long userDailyLimit;
+    private final Map<Long, Long> userDailyLimits;
+    private final LongSupplier clock;
+
+    public SpendingLimiter(SpendingLimitProperties properties, SpendingCounter counter) {
+        this(properties, counter, System::currentTimeMillis);
+    }
+
+    SpendingLimiter(SpendingLimitProperties properties, SpendingCounter counter, LongSupplier clock) {
+        this.counter = counter;
+        this.perTransactionLimit = properties.getPerTransactionLimit();
+        this.dailyLimit = properties.getDailyLimit();
+        this.accountDailyLimits = Map.copyOf(properties.getAccountDailyLimits());
+        this.userDailyLimit = properties.getUserDailyLimit();
+        this.userDailyLimits = Map.copyOf(properties.getUserDailyLimits());
+        this.clock = clock;
+    }
+
+    private SpendingLimiter() {
+        this.counter = null;
+        this.perTransactionLimit = Long.MAX_VALUE;
+        this.dailyLimit = Long.MAX_VALUE;
+        this.accountDailyLimits = Map.of();
+        this.userDailyLimit = 0L;
+        this.userDailyLimits = Map.of();
+        this.clock = System::currentTimeMillis;
+    }
+
+    public static SpendingLimiter disabled() {
+        return new SpendingLimiter();
+    }
+
+    /**
+     * 한도 안이면 사용액으로 더하고, 넘으면 AccountException
+     * 계좌 락 안에서 호출되므로 같은 계좌의 확인과 증가 사이에 끼어드는 요청은 없다.
+     */
+    public void acquire(Long userId, String accountNumber, long amount) {
+        Runnable release = reserve(userId, accountNumber, amount);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        return;
+                    }
+                    release.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * 트랜잭션 없이 처리하는 경로(저널 모드)용, 거래를 처리하지 못하면 돌려받은 작업으로 더한 금액을 되돌린다.
+     */
+    public Runnable reserve(Long userId, String accountNumber, long amount) {
+        if (counter == null) {
+            return () -> {
+            };
+        }
+        if (amount > perTransactionLimit) {
+            throw AccountException.of(ErrorCode.TRANSACTION_LIMIT_EXCEEDED);
+        }
+        long now = clock.getAsLong();
+        String accountKey = "account:" + accountNumber;
+        if (!counter.tryAdd(accountKey, amount, accountDailyLimits.getOrDefault(accountNumber, dailyLimit), now)) {
+            throw AccountException.of(ErrorCode.DAILY_LIMIT_EXCEEDED);
+        }
+        long userLimit = userDailyLimits.getOrDefault(userId, userDailyLimit);
+        String userKey = "user:" + userId;
+        if (userLimit > 0 && !counter.tryAdd(userKey, amount, userLimit, now)) {
+            counter.subtract(accountKey, amount, now);
+            throw AccountException.of(ErrorCode.DAILY_LIMIT_EXCEEDED);
+        }
+        return () -> release(accountKey, userLimit > 0 ? userKey : null, amount, now);
+    }
+
+    private void release(String accountKey, String userKey, long amount, long now) {
+        try {
+            counter.subtract(accountKey, amount, now);
+            if (userKey != null) {
+                counter.subtract(userKey, amount, now);
+            }
+        } catch (RuntimeException e) {
+            // 되돌리지 못해도 한도가 보수적으로 남을 뿐이다.
+            log.warn("Failed to release spending limit of {} : {}", accountKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.accountmission.lock;
+
+/**
+ * 계좌 락 구현 (account.lock.provider 로 선택)
+ * - LOCAL    : JVM 안의 락, 노드가 하나일 때만 사용 (네트워크 왕복 없음)
+ * - REDIS    : Redisson 분산 락 (LockService)
+ * - DATABASE : 계좌 행 SELECT ... FOR UPDATE, 락을 잡은 트랜잭션에 서비스 트랜잭션이 참여한다.
+ *
+ * 같은 쓰레드에서 lock/unlock 을 짝지어 호출해야 한다.
+ *
+ * 펜싱 토큰은 구현을 바꾸거나 Redis 카운터가 사라져도 계좌에 반영된 토큰보다 작아지지 않아야 한다.
+ * LOCAL/REDIS 는 현재 시각(마이크로초) 이상으로, DATABASE 는 반영된 토큰 + 1 로 발급한다.
+ */
+public interface AccountLockProvider {
+
+    /**
+     * 대기 시간 안에 락을 얻지 못하면 ACCOUNT_TRANSACTION_LOCK
+     *
+     * @return 펜싱 토큰, 같은 계좌에서 반영된 토큰보다 크다. (Account.fence 로 확인)
+     */
+    long lock(String accountNumber);
+
+    /**
+     * 현재 쓰레드가 잡고 있지 않은 락(임대 만료 등)은 해제하지 않는다.
+     */
+    void unlock(String accountNumber);
+}
@@ -0,0 +1,76 @@
+package com.example.accountmission.lock;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 계좌 행을 SELECT ... FOR UPDATE 로 잠근다.
+ * lock 에서 트랜잭션을 시작하고 unlock 에서 커밋하므로, 그 사이의 서비스 트랜잭션(@Transactional)은
+ * 이 트랜잭션에 참여해서 같은 커넥션으로 반영된다. (실패 거래 저장은 REQUIRES_NEW 로 따로 커밋)
+ * 트랜잭션 동안만 잠기므로 임대 만료가 없고, 토큰은 계좌에 반영된 토큰 + 1 이다.
+ * 락 대기 시간은 DB 의 락 대기 설정(H2 LOCK_TIMEOUT)을 따른다.
+ */
+public class DatabaseAccountLockProvider implements AccountLockProvider {
+    private static final String LOCK_SQL =
+            "select fencing_token from account where account_number = ? for update";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionDefinition definition;
+    // 같은 쓰레드에서 여러 계좌를 잠그면 나중에 잡은 것부터 해제된다.
+    private final ThreadLocal<Deque<TransactionStatus>> heldTransactions = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public DatabaseAccountLockProvider(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+        this.definition = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRED);
+    }
+
+    @Override
+    public long lock(String accountNumber) {
+        TransactionStatus status = transactionManager.getTransaction(definition);
+        List<Long> tokens;
+        try {
+            tokens = jdbcTemplate.query(LOCK_SQL, (rs, rowNum) -> rs.getLong(1), accountNumber);
+        } catch (PessimisticLockingFailureException e) {
+            transactionManager.rollback(status);
+            throw AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        } catch (RuntimeException e) {
+            transactionManager.rollback(status);
+            throw e;
+        }
+        heldTransactions.get().push(status);
+        // 없는 계좌는 잠글 행이 없다. (서비스에서 ACCOUNT_NOT_FOUND)
+        return tokens.isEmpty() ? 0L : tokens.get(0) + 1;
+    }
+
+    /**
+     * 서비스에서 예외가 나서 롤백으로 표시된 트랜잭션은 롤백한다.
+     */
+    @Override
+    public void unlock(String accountNumber) {
+        Deque<TransactionStatus> held = heldTransactions.get();
+        TransactionStatus status = held.poll();
+        if (held.isEmpty()) {
+            heldTransactions.remove();
+        }
+        if (status == null || status.isCompleted()) {
+            return;
+        }
+        if (status.isRollbackOnly()) {
+            transactionManager.rollback(status);
+        } else {
+            transactionManager.commit(status);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.accountmission.lock;
+
+/**
+ * 현재 쓰레드가 잡고 있는 계좌 락의 펜싱 토큰
+ * null 이면 락 밖에서의 변경으로 보고 토큰을 확인하지 않는다.
+ */
+public final class FencingTokenHolder {
+    private static final ThreadLocal<Long> CURRENT_TOKEN = new ThreadLocal<>();
+
+    private FencingTokenHolder() {
+    }
+
+    public static Long get() {
+        return CURRENT_TOKEN.get();
+    }
+
+    public static void set(Long token) {
+        CURRENT_TOKEN.set(token);
+    }
+
+    public static void restore(Long previousToken) {
+        if (previousToken == null) {
+            CURRENT_TOKEN.remove();
+        } else {
+            CURRENT_TOKEN.set(previousToken);
+        }
+    }
+}
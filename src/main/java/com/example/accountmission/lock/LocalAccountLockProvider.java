@@ -0,0 +1,91 @@
+package com.example.accountmission.lock;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JVM 안의 계좌 락, 임대 만료가 없으므로 watchdog 이 필요 없다.
+ * 기다리는 쓰레드가 없어지면 계좌의 락을 맵에서 지운다.
+ */
+@Slf4j
+public class LocalAccountLockProvider implements AccountLockProvider {
+    private final long waitMillis;
+    private final boolean fair;
+    private final Map<String, LockEntry> locks = new ConcurrentHashMap<>();
+    private final AtomicLong lastToken = new AtomicLong();
+
+    public LocalAccountLockProvider(long waitMillis) {
+        this(waitMillis, false);
+    }
+
+    /**
+     * @param fair true 이면 기다린 순서대로 락을 준다. (HotKeyDetector 의 single-writer 대기열)
+     */
+    public LocalAccountLockProvider(long waitMillis, boolean fair) {
+        this.waitMillis = waitMillis;
+        this.fair = fair;
+    }
+
+    @Override
+    public long lock(String accountNumber) {
+        LockEntry entry = locks.compute(accountNumber, (key, current) -> {
+            LockEntry lockEntry = current == null ? new LockEntry(fair) : current;
+            lockEntry.users++;
+            return lockEntry;
+        });
+        boolean isLock;
+        try {
+            isLock = entry.lock.tryLock(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isLock = false;
+        }
+        if (!isLock) {
+            release(accountNumber);
+            throw AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        return nextToken();
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+        LockEntry entry = locks.get(accountNumber);
+        if (entry == null || !entry.lock.isHeldByCurrentThread()) {
+            log.warn("Lock of accountNumber {} is not held by current thread", accountNumber);
+            return;
+        }
+        entry.lock.unlock();
+        release(accountNumber);
+    }
+
+    int lockCount() {
+        return locks.size();
+    }
+
+    private void release(String accountNumber) {
+        locks.computeIfPresent(accountNumber, (key, entry) -> --entry.users == 0 ? null : entry);
+    }
+
+    // 재기동 후에도 이전에 반영된 토큰보다 크도록 현재 시각(마이크로초)보다 작지 않게 발급한다.
+    private long nextToken() {
+        long now = System.currentTimeMillis() * 1000L;
+        return lastToken.updateAndGet(previous -> Math.max(previous + 1, now));
+    }
+
+    // users 는 compute 안에서만 바꾼다.
+    private static final class LockEntry {
+        private final ReentrantLock lock;
+        private int users;
+
+        private LockEntry(boolean fair) {
+            this.lock = new ReentrantLock(fair);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.accountmission.lock;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.lock")
+public class LockProperties {
+    // 계좌 락 구현, 토큰은 모두 현재 시각 또는 반영된 토큰 이상으로 발급하므로 바꿔도 account.fencing_token 을 비울 필요가 없다.
+    private Provider provider = Provider.REDIS;
+    // 락을 얻기 위해 기다리는 최대 시간 (DATABASE 는 DB 의 락 대기 설정을 따른다)
+    private Duration waitTime = Duration.ofSeconds(1);
+    // REDIS 락 임대 시간, 잡고 있는 동안은 watchdog 이 leaseTime / 3 마다 연장한다.
+    // (노드가 죽으면 최대 leaseTime 뒤에 풀린다)
+    private Duration leaseTime = Duration.ofSeconds(5);
+
+    public enum Provider {
+        LOCAL,
+        REDIS,
+        DATABASE
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.accountmission.reconciliation;
+
+import com.example.accountmission.archive.ArchivedTransaction;
+import com.example.accountmission.archive.TransactionArchive;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * (계좌 id, 거래 id) 순으로 정렬된 행을 한 줄씩 받아 계좌별 잔액 체인을 검증한다.
+ * 계좌 하나의 상태만 들고 있으므로 범위가 커도 메모리 사용량은 일정하다.
+ *
+ * 기대 잔액 = 개설 잔액 - 성공한 USE + 성공한 CANCEL
+ * 거래마다 balanceSnapshot 과 비교해서 처음 어긋난 거래를 보고하고, 끝까지 맞으면 현재 잔액과 비교한다.
+ * 개설 잔액이 없는(컬럼 추가 전) 계좌는 첫 거래의 balanceSnapshot 에서 시작한다.
+ * 첫 거래부터 어긋나면 보관(archive)된 거래가 있는지 보고, 있으면 보관된 거래로 시작값을 다시 계산한다.
+ * 남은 거래가 없는데(모두 보관됨) 개설 잔액과 현재 잔액이 다르면 보관된 거래를 반영한 뒤 비교한다.
+ */
+class AccountChainScanner implements RowCallbackHandler {
+    private final String shardKey;
+    private final TransactionArchive transactionArchive;
+    private final Consumer<BalanceMismatch> mismatches;
+
+    private long accounts;
+    private long transactions;
+
+    private long accountId = -1L;
+    private String accountNumber;
+    private long balance;
+    private Long expected;
+    private boolean firstTransaction;
+    private boolean diverged;
+
+    AccountChainScanner(String shardKey, TransactionArchive transactionArchive,
+                        Consumer<BalanceMismatch> mismatches) {
+        this.shardKey = shardKey;
+        this.transactionArchive = transactionArchive;
+        this.mismatches = mismatches;
+    }
+
+    /**
+     * 컬럼 : account_id, account_number, initial_balance, balance,
+     *        transaction_id, transaction_type, amount, balance_snapshot (계좌에 거래가 없으면 거래 컬럼은 null)
+     */
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        long rowAccountId = rs.getLong("account_id");
+        if (rowAccountId != accountId) {
+            long initialBalance = rs.getLong("initial_balance");
+            startAccount(rowAccountId, rs.getString("account_number"),
+                    rs.wasNull() ? null : initialBalance, rs.getLong("balance"));
+        }
+        String transactionId = rs.getString("transaction_id");
+        if (transactionId != null) {
+            onTransaction(transactionId, TransactionType.valueOf(rs.getString("transaction_type")),
+                    rs.getLong("amount"), rs.getLong("balance_snapshot"));
+        }
+    }
+
+    void startAccount(long accountId, String accountNumber, Long initialBalance, long balance) {
+        finishAccount();
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.balance = balance;
+        this.expected = initialBalance;
+        this.firstTransaction = true;
+        this.diverged = false;
+        accounts++;
+    }
+
+    void onTransaction(String transactionId, TransactionType type, long amount, long balanceSnapshot) {
+        transactions++;
+        if (diverged) {
+            return;
+        }
+        long delta = type == TransactionType.USE ? -amount : amount;
+        if (expected == null) {
+            expected = balanceSnapshot;
+        } else if (expected + delta == balanceSnapshot) {
+            expected = balanceSnapshot;
+        } else if (firstTransaction && replayArchived(transactionId) && expected + delta == balanceSnapshot) {
+            expected = balanceSnapshot;
+        } else {
+            diverged = true;
+            mismatches.accept(new BalanceMismatch(BalanceMismatch.Type.SNAPSHOT, shardKey, accountId,
+                    accountNumber, transactionId, expected + delta, balanceSnapshot));
+        }
+        firstTransaction = false;
+    }
+
+    /**
+     * 마지막 계좌까지 검증한다. 모든 행을 받은 뒤 한번 호출한다.
+     */
+    void finishAccount() {
+        if (accountId < 0) {
+            return;
+        }
+        if (!diverged && expected != null && expected != balance && firstTransaction) {
+            replayArchived(null);
+        }
+        if (!diverged && expected != null && expected != balance) {
+            mismatches.accept(new BalanceMismatch(BalanceMismatch.Type.BALANCE, shardKey, accountId,
+                    accountNumber, null, expected, balance));
+        }
+        accountId = -1L;
+    }
+
+    long getAccounts() {
+        return accounts;
+    }
+
+    long getTransactions() {
+        return transactions;
+    }
+
+    // 보관된 거래가 있으면 expected 를 보관된 마지막 성공 거래까지 반영한 값으로 바꾼다.
+    private boolean replayArchived(String firstTransactionId) {
+        if (transactionArchive == null || transactionArchive.segmentCount() == 0) {
+            return false;
+        }
+        long number;
+        try {
+            number = Long.parseLong(accountNumber);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        List<ArchivedTransaction> archived = transactionArchive.findByAccount(number, Long.MIN_VALUE, Long.MAX_VALUE)
+                .stream()
+                .filter(tx -> tx.transactionResultType() == TransactionResultType.SUCCESS)
+                .filter(tx -> !tx.transactionId().equals(firstTransactionId))
+                .sorted(Comparator.comparingLong(ArchivedTransaction::id))
+                .toList();
+        if (archived.isEmpty()) {
+            return false;
+        }
+        long replayed = expected;
+        for (ArchivedTransaction tx : archived) {
+            replayed += tx.transactionType() == TransactionType.USE ? -tx.amount() : tx.amount();
+        }
+        expected = replayed;
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.accountmission.reconciliation;
+
+/**
+ * 잔액 대사 불일치 한 건
+ * SNAPSHOT : transactionId 거래의 balanceSnapshot 이 앞선 거래로 계산한 잔액과 다르다. (계좌의 첫 불일치 거래)
+ * BALANCE  : 거래는 모두 맞지만 계좌의 현재 잔액이 계산한 잔액과 다르다.
+ */
+public record BalanceMismatch(
+        Type type,
+        String shardKey,
+        long accountId,
+        String accountNumber,
+        String transactionId,
+        long expected,
+        long actual) {
+
+    public enum Type {
+        SNAPSHOT, BALANCE
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.accountmission.reconciliation;
+
+import com.example.accountmission.archive.TransactionArchive;
+import com.example.accountmission.shard.ShardContextHolder;
+import com.example.accountmission.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 계좌 잔액 대사
+ * 샤드별 계좌 id 범위를 fork-join 으로 rangeSize 이하가 될 때까지 나누고,
+ * 각 범위는 계좌와 성공 거래를 (계좌 id, 거래 id) 순으로 한 쿼리로 스트리밍해서 검증한다.
+ * 한 범위를 한 쿼리(한 스냅샷)로 읽으므로 대사 중 들어온 거래로 잘못된 불일치가 나오지 않는다.
+ */
+@Slf4j
+public class BalanceReconciler {
+    private static final String RANGE_QUERY =
+            "select a.id as account_id, a.account_number, a.initial_balance, a.balance, " +
+                    "t.transaction_id, t.transaction_type, t.amount, t.balance_snapshot " +
+                    "from account a left join transaction t " +
+                    "on t.account_id = a.id and t.transaction_result_type = 'SUCCESS' " +
+                    "where a.id between ? and ? " +
+                    "order by a.id, t.id";
+    private static final String DEFAULT_SHARD = "default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionArchive transactionArchive;
+    private final ForkJoinPool pool;
+    private final int rangeSize;
+    private final int maxReportedMismatches;
+
+    private volatile ReconciliationReport lastReport;
+
+    public BalanceReconciler(JdbcTemplate jdbcTemplate,
+                             ShardRouter shardRouter,
+                             TransactionArchive transactionArchive,
+                             int parallelism,
+                             int rangeSize,
+                             int maxReportedMismatches) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.transactionArchive = transactionArchive;
+        this.pool = new ForkJoinPool(parallelism);
+        this.rangeSize = rangeSize;
+        this.maxReportedMismatches = maxReportedMismatches;
+    }
+
+    @Scheduled(cron = "${account.reconciliation.cron:0 0 3 * * *}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Balance reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public ReconciliationReport reconcile() {
+        long startedAt = System.currentTimeMillis();
+        Collector collector = new Collector(maxReportedMismatches);
+
+        List<String> shardKeys = new ArrayList<>();
+        shardRouter.forEachShard(() -> shardKeys.add(ShardContextHolder.get()));
+        for (String shardKey : shardKeys) {
+            Map<String, Object> bounds = onShard(shardKey, () ->
+                    jdbcTemplate.queryForMap("select min(id) as min_id, max(id) as max_id from account"));
+            if (bounds.get("min_id") == null) {
+                continue;
+            }
+            long minId = ((Number) bounds.get("min_id")).longValue();
+            long maxId = ((Number) bounds.get("max_id")).longValue();
+            pool.invoke(new RangeTask(shardKey, minId, maxId, collector));
+        }
+
+        ReconciliationReport report = collector.toReport(System.currentTimeMillis() - startedAt);
+        lastReport = report;
+        if (report.mismatchCount() > 0) {
+            log.warn("Balance reconciliation found {} mismatches in {} accounts ({} transactions, {} ms)",
+                    report.mismatchCount(), report.accounts(), report.transactions(), report.elapsedMillis());
+        } else {
+            log.info("Balance reconciliation verified {} accounts ({} transactions) in {} ms",
+                    report.accounts(), report.transactions(), report.elapsedMillis());
+        }
+        return report;
+    }
+
+    public ReconciliationReport getLastReport() {
+        return lastReport;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private void scanRange(String shardKey, long fromId, long toId, Collector collector) {
+        AccountChainScanner scanner = new AccountChainScanner(
+                shardKey == null ? DEFAULT_SHARD : shardKey, transactionArchive, collector::add);
+        onShard(shardKey, () -> {
+            jdbcTemplate.query(RANGE_QUERY, scanner, fromId, toId);
+            return null;
+        });
+        scanner.finishAccount();
+        collector.accounts.add(scanner.getAccounts());
+        collector.transactions.add(scanner.getTransactions());
+    }
+
+    // fork-join 작업 쓰레드에는 샤드 컨텍스트가 없으므로 작업마다 설정한다.
+    private static <T> T onShard(String shardKey, Supplier<T> action) {
+        String previous = ShardContextHolder.get();
+        ShardContextHolder.set(shardKey);
+        try {
+            return action.get();
+        } finally {
+            ShardContextHolder.restore(previous);
+        }
+    }
+
+    private class RangeTask extends RecursiveAction {
+        private final String shardKey;
+        private final long fromId;
+        private final long toId;
+        private final Collector collector;
+
+        private RangeTask(String shardKey, long fromId, long toId, Collector collector) {
+            this.shardKey = shardKey;
+            this.fromId = fromId;
+            this.toId = toId;
+            this.collector = collector;
+        }
+
+        @Override
+        protected void compute() {
+            if (toId - fromId < rangeSize) {
+                scanRange(shardKey, fromId, toId, collector);
+                return;
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            invokeAll(new RangeTask(shardKey, fromId, middle, collector),
+                    new RangeTask(shardKey, middle + 1, toId, collector));
+        }
+    }
+
+    private static class Collector {
+        private final int maxReported;
+        private final LongAdder accounts = new LongAdder();
+        private final LongAdder transactions = new LongAdder();
+        private final AtomicLong mismatchCount = new AtomicLong();
+        private final ConcurrentLinkedQueue<BalanceMismatch> mismatches = new ConcurrentLinkedQueue<>();
+
+        private Collector(int maxReported) {
+            this.maxReported = maxReported;
+        }
+
+        void add(BalanceMismatch mismatch) {
+            if (mismatchCount.incrementAndGet() <= maxReported) {
+                mismatches.add(mismatch);
+                log.warn("Balance mismatch : {}", mismatch);
+            }
+        }
+
+        ReconciliationReport toReport(long elapsedMillis) {
+            return new ReconciliationReport(accounts.sum(), transactions.sum(), mismatchCount.get(),
+                    List.copyOf(mismatches), elapsedMillis);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.accountmission.reconciliation;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.reconciliation")
+public class ReconciliationProperties {
+    private boolean enabled = true;
+    private String cron = "0 0 3 * * *";
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    // 한 작업이 읽는 계좌 id 범위 (이보다 크면 반으로 나눈다)
+    private int rangeSize = 10_000;
+    private int fetchSize = 1_000;
+    // 보고서에 담을 최대 불일치 수 (개수는 모두 센다)
+    private int maxReportedMismatches = 1_000;
+}
@@ -0,0 +1,11 @@
+package com.example.accountmission.reconciliation;
+
+import java.util.List;
+
+public record ReconciliationReport(
+        long accounts,
+        long transactions,
+        long mismatchCount,
+        List<BalanceMismatch> mismatches,
+        long elapsedMillis) {
+}
@@ -0,0 +1,5 @@
+package com.example.accountmission.replica;
+
+public enum DataSourceType {
+    PRIMARY, REPLICA
+}
@@ -0,0 +1,49 @@
+package com.example.accountmission.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * 레플리카의 복제 지연을 주기적으로 확인
+ * 지연이 maxLag 를 넘거나 확인에 실패하면 읽기 트랜잭션도 primary 로 보낸다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final long maxLagMillis;
+
+    private volatile boolean replicaAvailable = true;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, long maxLagMillis) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${account.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        boolean available;
+        try {
+            Long lagMillis = replicaJdbcTemplate.queryForObject(lagQuery, Long.class);
+            available = lagMillis != null && lagMillis <= maxLagMillis;
+            if (!available) {
+                log.warn("Replica lag {}ms exceeds {}ms, reading from primary", lagMillis, maxLagMillis);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Replica lag check failed, reading from primary: {}", e.getMessage());
+            available = false;
+        }
+        if (available && !replicaAvailable) {
+            log.info("Replica caught up, reading from replica");
+        }
+        replicaAvailable = available;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.accountmission.replica;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.replica")
+public class ReplicaProperties {
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    // 복제 지연을 밀리초로 반환하는 쿼리, DB 마다 다르다.
+    private String lagQuery = "select 0";
+    private Duration maxLag = Duration.ofSeconds(1);
+    private long lagCheckIntervalMs = 1000;
+}
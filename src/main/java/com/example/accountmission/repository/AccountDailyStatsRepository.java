@@ -0,0 +1,14 @@
+package com.example.accountmission.repository;
+
+import com.example.accountmission.domain.AccountDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AccountDailyStatsRepository extends JpaRepository<AccountDailyStats, Long> {
+    List<AccountDailyStats> findByAccountNumberAndStatDateBetweenOrderByStatDate(
+            String accountNumber, LocalDate from, LocalDate to);
+}
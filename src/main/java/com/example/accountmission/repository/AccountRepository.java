@@ -2,7 +2,12 @@ package com.example.accountmission.repository;
 
 import com.example.accountmission.domain.Account;
 import com.example.accountmission.domain.AccountUser;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,5 +21,19 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    // 조회 전용, 스냅샷을 만들지 않아 dirty checking 비용이 없다.
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     List<Account> findByAccountUser(AccountUser accountUser);
+
+    // 승인 금액은 만료 스위퍼가 락 없이 줄이므로 항상 원자적 증감으로만 바꾼다.
+    // 늘릴 때는 사용 가능 잔액이 부족하면 0 건 (읽은 뒤 다른 사용이 먼저 반영된 경우)
+    // 먼저 flush 해서 엔티티에 기록한 펜싱 토큰과 @Version 확인이 이 UPDATE 보다 앞서게 한다.
+    @Modifying(flushAutomatically = true)
+    @Query("update Account a set a.heldAmount = a.heldAmount + :amount "
+            + "where a.id = :id and a.balance - a.heldAmount >= :amount")
+    int increaseHeldAmount(@Param("id") Long id, @Param("amount") Long amount);
+
+    @Modifying
+    @Query("update Account a set a.heldAmount = a.heldAmount - :amount where a.id = :id")
+    int decreaseHeldAmount(@Param("id") Long id, @Param("amount") Long amount);
 }
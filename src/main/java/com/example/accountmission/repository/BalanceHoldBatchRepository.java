@@ -0,0 +1,73 @@
+package com.example.accountmission.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 만료 승인 일괄 처리용 JDBC 배치
+ * 행마다 엔티티를 읽고 쓰지 않고, 조건부 UPDATE 를 JDBC 배치 한번으로 보낸 뒤 행별 결과로 실제 만료된 건만 해제한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BalanceHoldBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public record ExpiredHold(Long id, Long accountId, Long amount) {
+    }
+
+    public List<ExpiredHold> findExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(
+                "select id, account_id, amount from balance_hold " +
+                        "where hold_status = 'AUTHORIZED' and expires_at <= ? " +
+                        "order by expires_at limit ?",
+                (rs, rowNum) -> new ExpiredHold(
+                        rs.getLong("id"), rs.getLong("account_id"), rs.getLong("amount")),
+                Timestamp.valueOf(now), limit);
+    }
+
+    /**
+     * @return 실제로 EXPIRED 로 바뀐 승인 (그 사이 확정/취소된 건은 제외)
+     */
+    public List<ExpiredHold> markExpired(List<ExpiredHold> holds, LocalDateTime now) {
+        Timestamp completedAt = Timestamp.valueOf(now);
+        int[] counts = jdbcTemplate.batchUpdate(
+                "update balance_hold set hold_status = 'EXPIRED', completed_at = ? " +
+                        "where id = ? and hold_status = 'AUTHORIZED'",
+                holds, holds.size(),
+                (ps, hold) -> {
+                    ps.setTimestamp(1, completedAt);
+                    ps.setLong(2, hold.id());
+                })[0];
+
+        List<ExpiredHold> expired = new ArrayList<>();
+        for (int i = 0; i < holds.size(); i++) {
+            // 행별 결과를 주지 않는 드라이버(SUCCESS_NO_INFO)는 지원하지 않는다.
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                throw new IllegalStateException("JDBC driver must report per-row update counts");
+            }
+            if (counts[i] > 0) {
+                expired.add(holds.get(i));
+            }
+        }
+        return expired;
+    }
+
+    public void releaseHeldAmounts(Map<Long, Long> amountByAccountId) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(amountByAccountId.entrySet());
+        jdbcTemplate.batchUpdate(
+                "update account set held_amount = held_amount - ? where id = ?",
+                entries, entries.size(),
+                (ps, entry) -> {
+                    ps.setLong(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+}
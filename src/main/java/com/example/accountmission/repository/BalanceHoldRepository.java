@@ -0,0 +1,30 @@
+package com.example.accountmission.repository;
+
+import com.example.accountmission.domain.BalanceHold;
+import com.example.accountmission.type.HoldStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BalanceHoldRepository extends JpaRepository<BalanceHold, Long> {
+
+    @Query("select h from BalanceHold h join fetch h.account where h.holdId = :holdId")
+    Optional<BalanceHold> findByHoldId(@Param("holdId") String holdId);
+
+    /**
+     * 만료 전의 AUTHORIZED 승인만 확정/취소 상태로 바꾼다.
+     * 스위퍼와 동시에 실행되어도 둘 중 하나만 1 을 받는다.
+     */
+    @Modifying
+    @Query("update BalanceHold h set h.holdStatus = :status, h.completedAt = :now " +
+            "where h.id = :id " +
+            "and h.holdStatus = com.example.accountmission.type.HoldStatus.AUTHORIZED " +
+            "and h.expiresAt > :now")
+    int complete(@Param("id") Long id, @Param("status") HoldStatus status, @Param("now") LocalDateTime now);
+}
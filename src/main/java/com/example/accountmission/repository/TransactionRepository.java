@@ -1,7 +1,12 @@
 package com.example.accountmission.repository;
 
 import com.example.accountmission.domain.Transaction;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,5 +14,19 @@ import java.util.Optional;
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    // 거래 내역은 변경하지 않으므로 read-only 로 읽는다.
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    /**
+     * 남은 취소 가능 금액 안에서만 누적 취소 금액을 늘린다.
+     * 동시에 취소 요청이 와도 원 거래 금액을 넘는 쪽은 0 건이 된다.
+     */
+    @Modifying
+    @Query("update Transaction t set t.cancelledAmount = t.cancelledAmount + :amount " +
+            "where t.id = :id " +
+            "and t.transactionType = com.example.accountmission.type.TransactionType.USE " +
+            "and t.transactionResultType = com.example.accountmission.type.TransactionResultType.SUCCESS " +
+            "and t.cancelledAmount + :amount <= t.amount")
+    int addCancelledAmount(@Param("id") Long id, @Param("amount") Long amount);
 }
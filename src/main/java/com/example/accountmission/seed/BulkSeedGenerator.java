@@ -0,0 +1,139 @@
+package com.example.accountmission.seed;
+
+import com.example.accountmission.policy.AccountPolicy;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.type.AccountStatus;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 성능 측정용 대량 데이터 생성 (account.seed.enabled=true)
+ * JPA 를 거치지 않고 JDBC 배치로 사용자 -> 계좌 -> 거래 순서로 넣는다.
+ * 키를 직접 지정해서 넣으므로 생성된 키를 다시 읽지 않고, 끝나면 identity 를 이어서 시작하도록 맞춘다.
+ *
+ * 만든 데이터는 잔액 대사를 통과한다. (계좌 잔액 = 개설 잔액 - 사용 거래 합계, 거래마다 잔액 스냅샷)
+ * 샤드 모드에서는 계좌를 샤드별로 나눠 넣어야 하므로 지원하지 않는다.
+ */
+@Slf4j
+public class BulkSeedGenerator implements ApplicationRunner {
+    private static final String INSERT_USER =
+            "insert into account_user (id, name, created_at, updated_at) values (?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT =
+            "insert into account (id, account_user_id, account_number, account_status, balance, initial_balance, " +
+                    "held_amount, version, registered_at, created_at, updated_at) " +
+                    "values (?, ?, ?, ?, ?, ?, 0, 0, ?, ?, ?)";
+    private static final String INSERT_TRANSACTION =
+            "insert into transaction (id, transaction_type, transaction_result_type, account_id, amount, " +
+                    "balance_snapshot, cancelled_amount, transaction_id, transacted_at, created_at, updated_at) " +
+                    "values (?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final SeedProperties properties;
+
+    public BulkSeedGenerator(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ShardRouter shardRouter,
+                             SeedProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (shardRouter.isSharded()) {
+            log.warn("Bulk seed is not supported in shard mode, skipped");
+            return;
+        }
+        seed();
+    }
+
+    public void seed() {
+        long started = System.currentTimeMillis();
+        long userId = nextId("account_user");
+        long accountId = nextId("account");
+        long transactionId = nextId("transaction");
+        long accountNumber = Long.parseLong(AccountPolicy.nextAccountNumber(jdbcTemplate.queryForObject(
+                "select cast(max(cast(account_number as bigint)) as varchar) from account", String.class)));
+
+        SplittableRandom random = new SplittableRandom();
+        long now = System.currentTimeMillis();
+        long historyMillis = properties.getHistory().toMillis();
+        int perAccount = properties.getTransactionsPerAccount();
+        // 모든 거래가 개설 잔액 안에서 끝나도록 1회 금액의 상한을 정한다.
+        long maxAmount = Math.max(10L, properties.getInitialBalance() / Math.max(1, 2L * perAccount));
+
+        for (int from = 0; from < properties.getUsers(); from += properties.getBatchSize()) {
+            int count = Math.min(properties.getBatchSize(), properties.getUsers() - from);
+            List<Object[]> users = new ArrayList<>(count);
+            List<Object[]> accounts = new ArrayList<>(count * properties.getAccountsPerUser());
+            List<Object[]> transactions = new ArrayList<>(count * properties.getAccountsPerUser() * perAccount);
+
+            for (int i = 0; i < count; i++, userId++) {
+                Timestamp userCreatedAt = new Timestamp(now - historyMillis);
+                users.add(new Object[]{userId, "seed-" + userId, userCreatedAt, userCreatedAt});
+
+                for (int j = 0; j < properties.getAccountsPerUser(); j++, accountId++, accountNumber++) {
+                    long balance = properties.getInitialBalance();
+                    long openedAt = now - historyMillis + random.nextLong(Math.max(1L, historyMillis / 10));
+                    long step = Math.max(1L, (now - openedAt) / (perAccount + 1L));
+                    for (int k = 0; k < perAccount; k++, transactionId++) {
+                        long amount = 10L + random.nextLong(maxAmount);
+                        balance -= amount;
+                        Timestamp transactedAt = new Timestamp(openedAt + step * (k + 1L));
+                        transactions.add(new Object[]{transactionId, TransactionType.USE.name(),
+                                TransactionResultType.SUCCESS.name(), accountId, amount, balance,
+                                randomTransactionId(random), transactedAt, transactedAt, transactedAt});
+                    }
+                    Timestamp registeredAt = new Timestamp(openedAt);
+                    accounts.add(new Object[]{accountId, userId, String.valueOf(accountNumber),
+                            AccountStatus.IN_USE.name(), balance, properties.getInitialBalance(),
+                            registeredAt, registeredAt, registeredAt});
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER, users);
+                jdbcTemplate.batchUpdate(INSERT_ACCOUNT, accounts);
+                jdbcTemplate.batchUpdate(INSERT_TRANSACTION, transactions);
+            });
+            log.info("Seeded {} / {} users ({} accounts, {} transactions in this batch)",
+                    from + count, properties.getUsers(), accounts.size(), transactions.size());
+        }
+
+        restartIdentity("account_user", userId);
+        restartIdentity("account", accountId);
+        restartIdentity("transaction", transactionId);
+        log.info("Bulk seed finished in {} ms", System.currentTimeMillis() - started);
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return max == null ? 1L : max + 1L;
+    }
+
+    // 키를 직접 넣었으므로 이후 JPA 저장이 같은 키를 받지 않도록 다음 값을 옮긴다.
+    private void restartIdentity(String table, long next) {
+        jdbcTemplate.execute("alter table " + table + " alter column id restart with " + next);
+    }
+
+    private static String randomTransactionId(SplittableRandom random) {
+        // 맨 앞 비트를 켜서 항상 16자리씩, 합쳐서 UUID 와 같은 32자리
+        return Long.toHexString(random.nextLong() | Long.MIN_VALUE)
+                + Long.toHexString(random.nextLong() | Long.MIN_VALUE);
+    }
+}
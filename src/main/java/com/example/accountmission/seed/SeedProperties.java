@@ -0,0 +1,22 @@
+package com.example.accountmission.seed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.seed")
+public class SeedProperties {
+    // true 이면 시작할 때 아래 수만큼 사용자/계좌/거래를 추가한다. (실행할 때마다 추가되므로 한번만 켠다)
+    private boolean enabled = false;
+    private int users = 100_000;
+    private int accountsPerUser = 3;
+    private int transactionsPerAccount = 10;
+    private long initialBalance = 1_000_000L;
+    private Duration history = Duration.ofDays(400);
+    // 한 트랜잭션으로 넣을 사용자 수 (계좌/거래는 그 배수만큼 묶인다)
+    private int batchSize = 5_000;
+}
@@ -0,0 +1,72 @@
+package com.example.accountmission.service;
+
+import com.example.accountmission.hotkey.HotKeyDetector;
+import com.example.accountmission.lock.AccountLockProvider;
+import com.example.accountmission.lock.FencingTokenHolder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계좌 락을 잡고 작업을 실행한다. (@AccountLock 의 LockAopAspect 와 gRPC 엔드포인트가 같이 사용)
+ * 작업하는 동안 펜싱 토큰을 FencingTokenHolder 에 둔다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountLockTemplate {
+    private final AccountLockProvider lockProvider;
+    private final HotKeyDetector hotKeyDetector;
+
+    public <T, E extends Throwable> T execute(String lockKey, LockedAction<T, E> action) throws E {
+        // 승격 여부는 감쇠 주기마다 바뀌므로 잡을 때 한 번만 보고 해제할 때 같은 값을 쓴다.
+        boolean singleWriter = hotKeyDetector.isPromoted(lockKey);
+        long fencingToken = lock(lockKey, singleWriter);
+        Long previousToken = FencingTokenHolder.get();
+        FencingTokenHolder.set(fencingToken);
+        try {
+            return action.run();
+        } finally {
+            FencingTokenHolder.restore(previousToken);
+            unlock(lockKey, singleWriter);
+        }
+    }
+
+    /**
+     * 락 획득 시도, 승격된 계좌는 노드 안의 대기열을 먼저 거친다.
+     * 대기 시간은 실패한 경우도 포함해서 HotKeyDetector 에 넣는다.
+     */
+    private long lock(String lockKey, boolean singleWriter) {
+        long startNanos = System.nanoTime();
+        boolean locked = false;
+        try {
+            if (singleWriter) {
+                hotKeyDetector.enterSingleWriter(lockKey);
+            }
+            try {
+                long fencingToken = lockProvider.lock(lockKey);
+                locked = true;
+                return fencingToken;
+            } finally {
+                if (!locked && singleWriter) {
+                    hotKeyDetector.exitSingleWriter(lockKey);
+                }
+            }
+        } finally {
+            hotKeyDetector.record(lockKey, System.nanoTime() - startNanos);
+        }
+    }
+
+    private void unlock(String lockKey, boolean singleWriter) {
+        try {
+            lockProvider.unlock(lockKey);
+        } finally {
+            if (singleWriter) {
+                hotKeyDetector.exitSingleWriter(lockKey);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface LockedAction<T, E extends Throwable> {
+        T run() throws E;
+    }
+}
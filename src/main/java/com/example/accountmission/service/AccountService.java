@@ -3,17 +3,21 @@ package com.example.accountmission.service;
 import com.example.accountmission.domain.Account;
 import com.example.accountmission.domain.AccountUser;
 import com.example.accountmission.dto.AccountDto;
+import com.example.accountmission.engine.BalanceEngine;
 import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.policy.AccountPolicy;
 import com.example.accountmission.repository.AccountRepository;
 import com.example.accountmission.repository.AccountUserRepository;
-import jakarta.transaction.Transactional;
+import com.example.accountmission.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 
 import static com.example.accountmission.type.AccountStatus.*;
 import static com.example.accountmission.type.ErrorCode.*;
@@ -25,6 +29,10 @@ import static com.example.accountmission.type.ErrorCode.*;
 public class AccountService {
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final ShardRouter shardRouter;
+    private final ResourceVersionCache resourceVersionCache;
+    private final BalanceEngine balanceEngine;
+    private final SingleFlight<Long, List<AccountDto>> accountListQueries = new SingleFlight<>();
 
     /**
      * 사용자가 있는지 조회
@@ -37,30 +45,43 @@ public class AccountService {
 
         validateCountOfAccountPerUser(accountUser);
 
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-                .map(account -> (Integer.parseInt(account.getAccountNumber())) + 1 + "")
-                .orElse("1234567890");
+        // 샤드별 마지막 계좌번호 중 가장 큰 값 + 1
+        String newAccountNumber = shardRouter.fanOut(() -> accountRepository.findFirstByOrderByIdDesc()
+                        .map(Account::getAccountNumber)
+                        .stream().toList())
+                .stream()
+                .max(Comparator.comparingLong(Long::parseLong))
+                .map(AccountPolicy::nextAccountNumber)
+                .orElse(AccountPolicy.nextAccountNumber(null));
 
+        resourceVersionCache.evictAccountList(accountUser.getId());
         return AccountDto.fromEntity(
-                accountRepository.save(Account.builder()
-                        .accountUser(accountUser)
-                        .accountNumber(newAccountNumber)
-                        .accountStatus(IN_USE)
-                        .balance(initialBalance)
-                        .registeredAt(LocalDateTime.now())
-                        .build()));
+                shardRouter.executeOn(newAccountNumber, () ->
+                        accountRepository.save(Account.builder()
+                                .accountUser(accountUser)
+                                .accountNumber(newAccountNumber)
+                                .accountStatus(IN_USE)
+                                .balance(initialBalance)
+                                .initialBalance(initialBalance)
+                                .registeredAt(LocalDateTime.now())
+                                .build())));
     }
 
     private void validateCountOfAccountPerUser(AccountUser accountUser) {
-        if (accountRepository.countByAccountUser(accountUser) >= 10) {
-            throw new AccountException(MAX_ACCOUNT_PER_USER_10);
-        }
+        int countOfAccount = shardRouter.fanOut(() -> List.of(accountRepository.countByAccountUser(accountUser)))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        AccountPolicy.validateCountOfAccountPerUser(countOfAccount);
     }
 
-    @Transactional
+    // 계좌 id 는 샤드마다 겹치지 않게 발급하므로(ShardingConfig) 찾은 계좌는 하나뿐이다.
+    @Transactional(readOnly = true)
     public Account getAccount(Long id) {
-        return accountRepository.findById(id).orElseThrow(() ->
-                new AccountException(USER_NOT_FOUND));
+        return shardRouter.fanOut(() -> accountRepository.findById(id).stream().toList())
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> AccountException.of(USER_NOT_FOUND));
     }
 
     /**
@@ -72,44 +93,42 @@ public class AccountService {
     public AccountDto deleteAccount(Long userId, String accountNumber) {
         AccountUser accountUser = getAccountUser(userId);
         Account findedAccount = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND)
+                .orElseThrow(() -> AccountException.of(ACCOUNT_NOT_FOUND)
         );
         validateDeleteAccount(accountUser, findedAccount);
         findedAccount.setUnRegisteredAt(LocalDateTime.now());
         findedAccount.setAccountStatus(UNREGISTERED);
+        resourceVersionCache.evictAccountList(accountUser.getId());
+        balanceEngine.evict(accountNumber);
         return AccountDto.fromEntity(findedAccount);
     }
 
-    /**
-     * 사용자 아이디와 계좌 소유주가 다른 경우
-     * 계좌가 이미 해지 상태인 경우
-     * 잔액이 있는 경우 계좌 삭제 불가능
-     */
     private void validateDeleteAccount(AccountUser accountUser, Account findedAccount) {
-        if (!Objects.equals(accountUser.getId(), findedAccount.getAccountUser().getId())) {
-            log.info("사용자 아이디 = {}, 계좌 사용자 = {}",
-                    accountUser.getId(), findedAccount.getAccountUser().getId());
-            throw new AccountException(USER_ACCOUNT_UN_MATCH);
-        }
-        if (findedAccount.getAccountStatus() != IN_USE) {
-            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
-        }
-        if (findedAccount.getBalance() > 0) {
-            throw new AccountException(BALANCE_NOT_EMPTY);
-        }
-
+        AccountPolicy.validateDeleteAccount(
+                accountUser.getId(),
+                findedAccount.getAccountUser().getId(),
+                findedAccount.getAccountStatus(),
+                findedAccount.getBalance());
     }
-    @Transactional
+
+    /**
+     * 같은 사용자의 동시 조회는 한번의 조회로 묶는다. (결과 목록은 변경할 수 없는 리스트로 같이 받는다)
+     * SUPPORTS 라서 기다리는 요청은 커넥션을 잡지 않는다.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AccountDto> getAccountsByUserId(Long userId) {
-        AccountUser accountUser = getAccountUser(userId);
-        List<Account> accounts = accountRepository.findByAccountUser(accountUser);
-        return accounts.stream()
-                .map(AccountDto::fromEntity)
-                .toList();
+        return accountListQueries.execute(userId, () -> {
+            AccountUser accountUser = getAccountUser(userId);
+            // 샤드 모드에서는 모든 샤드를 병렬로 조회해서 합친다.
+            return List.copyOf(shardRouter.fanOut(() -> accountRepository.findByAccountUser(accountUser)
+                    .stream()
+                    .map(AccountDto::fromEntity)
+                    .toList()));
+        });
     }
 
     private AccountUser getAccountUser(Long userId) {
         return accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+                .orElseThrow(() -> AccountException.of(USER_NOT_FOUND));
     }
 }
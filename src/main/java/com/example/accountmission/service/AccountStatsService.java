@@ -0,0 +1,60 @@
+package com.example.accountmission.service;
+
+import com.example.accountmission.domain.AccountDailyStats;
+import com.example.accountmission.dto.AccountDailyStatsDto;
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.repository.AccountDailyStatsRepository;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.stats.TransactionStatsAccumulator;
+import com.example.accountmission.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 계좌별 일별 거래 집계 조회
+ * 거래 내역을 읽지 않고 날짜당 집계 행 하나와 아직 반영되지 않은 메모리 값만 더한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountStatsService {
+    static final int MAX_DAYS = 92;
+
+    private final AccountDailyStatsRepository accountDailyStatsRepository;
+    private final TransactionStatsAccumulator transactionStatsAccumulator;
+    private final ShardRouter shardRouter;
+
+    @Transactional(readOnly = true)
+    public List<AccountDailyStatsDto> getStats(String accountNumber, LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw AccountException.of(ErrorCode.INVALID_REQUEST);
+        }
+        Map<LocalDate, AccountDailyStats> stored = shardRouter.executeOn(accountNumber, () ->
+                        accountDailyStatsRepository.findByAccountNumberAndStatDateBetweenOrderByStatDate(
+                                accountNumber, from, to))
+                .stream()
+                .collect(Collectors.toMap(AccountDailyStats::getStatDate, Function.identity()));
+
+        List<AccountDailyStatsDto> result = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            AccountDailyStats stats = stored.get(date);
+            long[] pending = transactionStatsAccumulator.pendingOf(accountNumber, date);
+            if (stats == null && pending == null) {
+                continue;
+            }
+            AccountDailyStatsDto dto = stats == null
+                    ? AccountDailyStatsDto.builder().date(date).build()
+                    : AccountDailyStatsDto.fromEntity(stats);
+            result.add(pending == null ? dto : dto.plus(pending));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.accountmission.service;
+
+import com.example.accountmission.domain.Account;
+import com.example.accountmission.domain.AccountUser;
+import com.example.accountmission.domain.BalanceHold;
+import com.example.accountmission.domain.Transaction;
+import com.example.accountmission.dto.BalanceHoldDto;
+import com.example.accountmission.dto.TransactionDto;
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.limit.SpendingLimiter;
+import com.example.accountmission.lock.FencingTokenHolder;
+import com.example.accountmission.policy.AccountPolicy;
+import com.example.accountmission.repository.AccountRepository;
+import com.example.accountmission.repository.AccountUserRepository;
+import com.example.accountmission.repository.BalanceHoldBatchRepository;
+import com.example.accountmission.repository.BalanceHoldBatchRepository.ExpiredHold;
+import com.example.accountmission.repository.BalanceHoldRepository;
+import com.example.accountmission.repository.TransactionRepository;
+import com.example.accountmission.stats.TransactionStatsAccumulator;
+import com.example.accountmission.type.ErrorCode;
+import com.example.accountmission.type.HoldStatus;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 2단계 출금 (승인 -> 확정/취소)
+ * 1. 승인 : 사용 한도를 쓰고 사용 가능 잔액에서 금액을 묶어둔다. (heldAmount 증가)
+ * 2. 확정 : 묶어둔 금액 이하로 실제 출금하고 거래 내역을 남긴다.
+ * 3. 취소 : 묶어둔 금액을 해제한다.
+ * 4. 만료 : 기한이 지난 승인은 스위퍼가 일괄 해제한다.
+ *
+ * 계좌 락은 각 단계의 상태 변경 동안만 잡으며, 결제 외부 단계 동안에는 잡지 않는다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "account.hold", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BalanceHoldService {
+    private final BalanceHoldRepository balanceHoldRepository;
+    private final BalanceHoldBatchRepository balanceHoldBatchRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ResourceVersionCache resourceVersionCache;
+    private final TransactionStatsAccumulator transactionStatsAccumulator;
+    private final SpendingLimiter spendingLimiter;
+    private final Duration holdTtl;
+
+    public BalanceHoldService(BalanceHoldRepository balanceHoldRepository,
+                              BalanceHoldBatchRepository balanceHoldBatchRepository,
+                              AccountUserRepository accountUserRepository,
+                              AccountRepository accountRepository,
+                              TransactionRepository transactionRepository,
+                              ResourceVersionCache resourceVersionCache,
+                              TransactionStatsAccumulator transactionStatsAccumulator,
+                              SpendingLimiter spendingLimiter,
+                              @Value("${account.hold.ttl:15m}") Duration holdTtl) {
+        this.balanceHoldRepository = balanceHoldRepository;
+        this.balanceHoldBatchRepository = balanceHoldBatchRepository;
+        this.accountUserRepository = accountUserRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.resourceVersionCache = resourceVersionCache;
+        this.transactionStatsAccumulator = transactionStatsAccumulator;
+        this.spendingLimiter = spendingLimiter;
+        this.holdTtl = holdTtl;
+    }
+
+    @Transactional
+    public BalanceHoldDto authorize(Long userId, String accountNumber, Long amount) {
+        AccountUser user = accountUserRepository.findById(userId)
+                .orElseThrow(() -> AccountException.of(ErrorCode.USER_NOT_FOUND));
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        AccountPolicy.validateUseBalance(
+                user.getId(), account.getAccountUser().getId(), account.getAccountStatus());
+        AccountPolicy.validateSufficientBalance(account.getAvailableBalance(), amount);
+        // 확정 금액은 승인 금액 이하이므로 승인할 때 한도를 확인한다.
+        spendingLimiter.acquire(user.getId(), accountNumber, amount);
+        account.fence(FencingTokenHolder.get());
+        if (accountRepository.increaseHeldAmount(account.getId(), amount) == 0) {
+            throw AccountException.of(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BalanceHold hold = balanceHoldRepository.save(BalanceHold.builder()
+                .holdId(UUID.randomUUID().toString().replace("-", ""))
+                .account(account)
+                .amount(amount)
+                .holdStatus(HoldStatus.AUTHORIZED)
+                .authorizedAt(now)
+                .expiresAt(now.plus(holdTtl))
+                .build());
+        return BalanceHoldDto.fromEntity(hold, accountNumber);
+    }
+
+    @Transactional
+    public TransactionDto capture(String holdId, String accountNumber, Long amount) {
+        BalanceHold hold = getHold(holdId, accountNumber);
+        AccountPolicy.validateCaptureAmount(hold.getAmount(), amount);
+        complete(hold, HoldStatus.CAPTURED);
+
+        Account account = hold.getAccount();
+        account.fence(FencingTokenHolder.get());
+        account.captureBalance(amount);
+        accountRepository.decreaseHeldAmount(account.getId(), hold.getAmount());
+        resourceVersionCache.evictAccountList(account.getAccountUser().getId());
+
+        LocalDateTime transactedAt = LocalDateTime.now();
+        Transaction transaction = transactionRepository.save(
+                Transaction.builder()
+                        .transactionType(TransactionType.USE)
+                        .transactionResultType(TransactionResultType.SUCCESS)
+                        .account(account)
+                        .amount(amount)
+                        .balanceSnapshot(account.getBalance())
+                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
+                        .transactedAt(transactedAt)
+                        .build());
+        transactionStatsAccumulator.record(
+                account.getAccountNumber(), TransactionType.USE, TransactionResultType.SUCCESS, amount, transactedAt);
+        return TransactionDto.fromEntity(transaction);
+    }
+
+    @Transactional
+    public BalanceHoldDto voidHold(String holdId, String accountNumber) {
+        BalanceHold hold = getHold(holdId, accountNumber);
+        complete(hold, HoldStatus.VOIDED);
+        accountRepository.decreaseHeldAmount(hold.getAccount().getId(), hold.getAmount());
+
+        return BalanceHoldDto.builder()
+                .accountNumber(accountNumber)
+                .holdId(holdId)
+                .holdStatus(HoldStatus.VOIDED)
+                .amount(hold.getAmount())
+                .authorizedAt(hold.getAuthorizedAt())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+
+    /**
+     * 기한이 지난 승인을 batchSize 만큼 만료시키고 묶인 금액을 계좌별로 합쳐 한번에 해제한다.
+     * @return 조회된 만료 대상 수 (batchSize 와 같으면 남은 대상이 더 있을 수 있다)
+     */
+    @Transactional
+    public int expireBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ExpiredHold> candidates = balanceHoldBatchRepository.findExpired(now, batchSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Long> releaseByAccountId = new HashMap<>();
+        for (ExpiredHold hold : balanceHoldBatchRepository.markExpired(candidates, now)) {
+            releaseByAccountId.merge(hold.accountId(), hold.amount(), Long::sum);
+        }
+        if (!releaseByAccountId.isEmpty()) {
+            balanceHoldBatchRepository.releaseHeldAmounts(releaseByAccountId);
+        }
+        log.debug("Expired {} holds on {} accounts", candidates.size(), releaseByAccountId.size());
+        return candidates.size();
+    }
+
+    private BalanceHold getHold(String holdId, String accountNumber) {
+        BalanceHold hold = balanceHoldRepository.findByHoldId(holdId)
+                .orElseThrow(() -> AccountException.of(ErrorCode.HOLD_NOT_FOUND));
+        if (!hold.getAccount().getAccountNumber().equals(accountNumber)) {
+            throw AccountException.of(ErrorCode.HOLD_ACCOUNT_UN_MATCH);
+        }
+        return hold;
+    }
+
+    // 스위퍼가 먼저 만료시켰거나 이미 확정/취소된 승인이면 0 건
+    private void complete(BalanceHold hold, HoldStatus status) {
+        if (balanceHoldRepository.complete(hold.getId(), status, LocalDateTime.now()) == 0) {
+            throw AccountException.of(ErrorCode.HOLD_NOT_ACTIVE);
+        }
+    }
+}
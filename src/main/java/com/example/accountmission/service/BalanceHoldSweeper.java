@@ -0,0 +1,42 @@
+package com.example.accountmission.service;
+
+import com.example.accountmission.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기한이 지난 승인을 주기적으로 만료시킨다.
+ * 한 배치가 한 트랜잭션이며, 배치가 가득 차면 남은 대상이 없을 때까지 이어서 처리한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "account.hold", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BalanceHoldSweeper {
+    private final BalanceHoldService balanceHoldService;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+
+    public BalanceHoldSweeper(BalanceHoldService balanceHoldService,
+                              ShardRouter shardRouter,
+                              @Value("${account.hold.sweep-batch-size:500}") int batchSize) {
+        this.balanceHoldService = balanceHoldService;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${account.hold.sweep-interval-ms:1000}")
+    public void sweep() {
+        shardRouter.forEachShard(() -> {
+            try {
+                while (balanceHoldService.expireBatch(batchSize) == batchSize) {
+                    // 남은 만료 대상이 있으면 계속 처리
+                }
+            } catch (RuntimeException e) {
+                log.warn("Balance hold sweep failed: {}", e.getMessage());
+            }
+        });
+    }
+}
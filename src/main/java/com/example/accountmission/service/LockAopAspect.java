@@ -1,6 +1,7 @@
 package com.example.accountmission.service;
 
-import com.example.accountmission.aop.AccountLockIdInterface;
+import com.example.accountmission.aop.AccountLock;
+import com.example.accountmission.aop.AccountLockKeyResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -13,17 +14,12 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @RequiredArgsConstructor
 public class LockAopAspect {
-    private final LockService lockService;
+    private final AccountLockTemplate accountLockTemplate;
+    private final AccountLockKeyResolver lockKeyResolver;
 
-    @Around("@annotation(com.example.accountmission.aop.AccountLock) && args(request)")
-    public Object aroundMethod(ProceedingJoinPoint pjp, AccountLockIdInterface request)
+    @Around("@annotation(accountLock)")
+    public Object aroundMethod(ProceedingJoinPoint pjp, AccountLock accountLock)
             throws Throwable {
-        lockService.lock(request.getAccountNumber());
-        try {
-            // 락 획득 시도
-            return pjp.proceed();
-        } finally {
-            lockService.unlock(request.getAccountNumber());
-        }
+        return accountLockTemplate.execute(lockKeyResolver.resolve(pjp, accountLock), pjp::proceed);
     }
 }
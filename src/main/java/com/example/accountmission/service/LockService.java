@@ -1,42 +1,103 @@
 package com.example.accountmission.service;
 
 import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.lock.AccountLockProvider;
+import com.example.accountmission.lock.LockProperties;
 import com.example.accountmission.type.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
-import org.springframework.stereotype.Service;
+import org.redisson.client.codec.LongCodec;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
-@Service
+/**
+ * Redisson 계좌 락 (account.lock.provider=redis)
+ * 임대 시간은 watchdog 이 연장하므로 오래 걸리는 요청도 락을 잃지 않고, 노드가 죽으면 lease-time 뒤에 풀린다.
+ * GC 멈춤이나 Redis 장애로 임대가 만료될 수 있으므로 락을 잡을 때마다 계좌별로 증가하는 펜싱 토큰을 받아서
+ * 잔액 변경 시 Account.fence 로 마지막 토큰보다 작은 토큰의 반영을 거절한다.
+ *
+ * 토큰은 Redis 서버 시각(마이크로초)보다 작지 않게 발급한다. (LocalAccountLockProvider 와 같은 방식)
+ * 카운터가 Redis 초기화/장애 조치로 사라지거나 다른 구현에서 바꿔도 이미 계좌에 반영된 토큰보다 작아지지 않는다.
+ * (장애 조치 후 서버 시각이 뒤로 간 만큼만 STALE_LOCK_TOKEN 이 날 수 있다)
+ */
 @RequiredArgsConstructor
 @Slf4j
-public class LockService {
+public class LockService implements AccountLockProvider {
+    // 락을 잡은 상태에서 임대 시간을 넘기지 않도록 -1 로 잡으면 watchdog 이 연장한다.
+    private static final long WATCHDOG_LEASE = -1L;
+    // max(카운터 + 1, 서버 시각 마이크로초), 숫자는 2^53 보다 작으므로 Lua 에서도 정확하다.
+    private static final String NEXT_TOKEN_SCRIPT = """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local token = redis.call('INCR', KEYS[1])
+            if token < now then
+                redis.call('SET', KEYS[1], string.format('%.0f', now))
+                token = now
+            end
+            return token
+            """;
+
     private final RedissonClient redissonClient;
+    private final LockProperties lockProperties;
 
-    // accountNumber가 락의 Key값이 된다.
-    public void lock(String accountNumber) {
+    /**
+     * accountNumber가 락의 Key값이 된다.
+     *
+     * @return 펜싱 토큰 (같은 계좌에서 락을 잡을 때마다 증가)
+     */
+    @Override
+    public long lock(String accountNumber) {
         RLock lock = redissonClient.getLock(getLockKey(accountNumber));
         log.debug("Trying to lock accountNumber {}", accountNumber);
         try {
-            boolean isLock = lock.tryLock(1, 5, TimeUnit.SECONDS);
+            boolean isLock = lock.tryLock(
+                    lockProperties.getWaitTime().toMillis(), WATCHDOG_LEASE, TimeUnit.MILLISECONDS);
             if (!isLock) {
                 log.error("===Lock acquisition failed===");
-                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                throw AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
             }
         } catch (InterruptedException e) {
             log.error("===Redis Lock acquisition failed===");
+            Thread.currentThread().interrupt();
+            throw AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        try {
+            return nextToken(accountNumber);
+        } catch (RuntimeException e) {
+            unlock(accountNumber);
+            throw e;
         }
     }
 
+    /**
+     * 임대가 만료되어 이미 다른 요청이 락을 가져간 경우 해제하지 않는다.
+     * (그 사이의 변경은 펜싱 토큰으로 걸러졌으므로 요청은 실패시키지 않는다)
+     */
+    @Override
     public void unlock(String accountNumber) {
         log.debug("Trying to unlock accountNumber {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        try {
+            redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        } catch (IllegalMonitorStateException e) {
+            log.warn("Lock of accountNumber {} was not held anymore (lease expired)", accountNumber);
+        }
+    }
+
+    private long nextToken(String accountNumber) {
+        Long token = redissonClient.getScript(LongCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                NEXT_TOKEN_SCRIPT, RScript.ReturnType.INTEGER, List.of(getFencingTokenKey(accountNumber)));
+        return token;
     }
 
     private static String getLockKey(String accountNumber) {
         return "ACLK : " + accountNumber;
     }
+
+    private static String getFencingTokenKey(String accountNumber) {
+        return "ACFT : " + accountNumber;
+    }
 }
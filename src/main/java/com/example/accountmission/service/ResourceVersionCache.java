@@ -0,0 +1,147 @@
+package com.example.accountmission.service;
+
+import com.example.accountmission.dto.TransactionDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 조건부 GET(If-None-Match) 을 DB 조회 없이 처리하기 위한 ETag 캐시
+ * - 거래 : 거래번호 -> 강한 ETag
+ * - 계좌 목록 : 사용자 아이디 -> 약한 ETag (계좌 version 기반)
+ * 계좌가 바뀌면 커밋 이후에 해당 사용자의 ETag 를 지운다.
+ * 노드마다 따로 가지고 있으므로 계좌 목록 ETag 와 아직 취소될 수 있는 거래의 ETag 는 TTL 을 둔다.
+ * (다른 노드의 취소나, 지운 뒤에 들어온 이전 값은 TTL 뒤에 사라진다)
+ *
+ * 거래 조회 결과도 짧은 TTL 로 캐시한다. (사용/취소 직후 같은 거래를 반복 조회하는 클라이언트용)
+ * 취소로 바뀌면 ETag 와 같이 지우고, 커밋 직전에 읽은 값이 다시 들어와도 TTL 뒤에는 사라진다.
+ * 꺼낸 쪽에서 바꿔도 캐시에 영향이 없도록 복사본을 넣고 복사본을 돌려준다.
+ */
+@Component
+public class ResourceVersionCache {
+    private final Map<String, CachedEtag> transactionEtags;
+    private final Map<Long, CachedEtag> accountListEtags;
+    private final Map<String, CachedTransaction> transactions;
+    private final long accountListTtlMillis;
+    private final long transactionTtlMillis;
+
+    public ResourceVersionCache(
+            @Value("${account.etag.max-entries:100000}") int maxEntries,
+            @Value("${account.etag.account-list-ttl:5s}") Duration accountListTtl,
+            @Value("${account.etag.transaction-ttl:1s}") Duration transactionTtl) {
+        this.transactionEtags = lru(maxEntries);
+        this.accountListEtags = lru(maxEntries);
+        this.transactions = lru(maxEntries);
+        this.accountListTtlMillis = accountListTtl.toMillis();
+        this.transactionTtlMillis = transactionTtl.toMillis();
+    }
+
+    public String getTransactionEtag(String transactionId) {
+        CachedEtag cached = transactionEtags.get(transactionId);
+        if (cached == null || cached.expiresAt() < System.currentTimeMillis()) {
+            return null;
+        }
+        return cached.etag();
+    }
+
+    /**
+     * @param isFinal 더 이상 바뀌지 않는 거래이면 만료 없이, 아니면 거래 조회 결과와 같은 TTL 로 캐시한다.
+     */
+    public void putTransactionEtag(String transactionId, String etag, boolean isFinal) {
+        if (isFinal) {
+            transactionEtags.put(transactionId, new CachedEtag(etag, Long.MAX_VALUE));
+            return;
+        }
+        if (transactionTtlMillis <= 0) {
+            return;
+        }
+        transactionEtags.put(transactionId, new CachedEtag(etag, System.currentTimeMillis() + transactionTtlMillis));
+    }
+
+    public void evictTransaction(String transactionId) {
+        afterCommit(() -> {
+            transactionEtags.remove(transactionId);
+            transactions.remove(transactionId);
+        });
+    }
+
+    public TransactionDto getTransaction(String transactionId) {
+        CachedTransaction cached = transactions.get(transactionId);
+        if (cached == null || cached.expiresAt() < System.currentTimeMillis()) {
+            return null;
+        }
+        return copyOf(cached.transaction());
+    }
+
+    public void putTransaction(TransactionDto transaction) {
+        if (transactionTtlMillis <= 0) {
+            return;
+        }
+        transactions.put(transaction.getTransactionId(),
+                new CachedTransaction(copyOf(transaction), System.currentTimeMillis() + transactionTtlMillis));
+    }
+
+    public String getAccountListEtag(Long userId) {
+        CachedEtag cached = accountListEtags.get(userId);
+        if (cached == null || cached.expiresAt() < System.currentTimeMillis()) {
+            return null;
+        }
+        return cached.etag();
+    }
+
+    public void putAccountListEtag(Long userId, String etag) {
+        accountListEtags.put(userId, new CachedEtag(etag, System.currentTimeMillis() + accountListTtlMillis));
+    }
+
+    public void evictAccountList(Long userId) {
+        afterCommit(() -> accountListEtags.remove(userId));
+    }
+
+    // 커밋 전에 지우면 그 사이 조회가 이전 값으로 다시 캐시를 채울 수 있다.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static <K, V> Map<K, V> lru(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private static TransactionDto copyOf(TransactionDto transaction) {
+        return TransactionDto.builder()
+                .accountNumber(transaction.getAccountNumber())
+                .transactionId(transaction.getTransactionId())
+                .transactionType(transaction.getTransactionType())
+                .transactionResultType(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapshot(transaction.getBalanceSnapshot())
+                .cancelledAmount(transaction.getCancelledAmount())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+
+    private record CachedEtag(String etag, long expiresAt) {
+    }
+
+    private record CachedTransaction(TransactionDto transaction, long expiresAt) {
+    }
+}
@@ -1,15 +1,20 @@
 package com.example.accountmission.service;
 
 import com.example.accountmission.aop.AccountLock;
+import com.example.accountmission.archive.TransactionArchive;
 import com.example.accountmission.domain.Account;
 import com.example.accountmission.domain.AccountUser;
 import com.example.accountmission.domain.Transaction;
 import com.example.accountmission.dto.TransactionDto;
 import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.limit.SpendingLimiter;
+import com.example.accountmission.lock.FencingTokenHolder;
+import com.example.accountmission.policy.AccountPolicy;
 import com.example.accountmission.repository.AccountRepository;
 import com.example.accountmission.repository.AccountUserRepository;
 import com.example.accountmission.repository.TransactionRepository;
-import com.example.accountmission.type.AccountStatus;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.stats.TransactionStatsAccumulator;
 import com.example.accountmission.type.ErrorCode;
 import com.example.accountmission.type.TransactionResultType;
 import com.example.accountmission.type.TransactionType;
@@ -18,10 +23,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Objects;
 import java.util.UUID;
 
 import static com.example.accountmission.type.TransactionResultType.*;
@@ -33,16 +38,25 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final ResourceVersionCache resourceVersionCache;
+    private final TransactionArchive transactionArchive;
+    private final TransactionStatsAccumulator transactionStatsAccumulator;
+    private final SpendingLimiter spendingLimiter;
+    private final SingleFlight<String, TransactionDto> transactionQueries = new SingleFlight<>();
 
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
         AccountUser user = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+                .orElseThrow(() -> AccountException.of(ErrorCode.USER_NOT_FOUND));
         Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+                .orElseThrow(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
 
         validateUseBalance(user, account);
+        spendingLimiter.acquire(user.getId(), accountNumber, amount);
+        account.fence(FencingTokenHolder.get());
         account.useBalance(amount);
+        resourceVersionCache.evictAccountList(user.getId());
 
         return TransactionDto.fromEntity(
                 saveTransactionStatus(TransactionType.USE, SUCCESS, amount, account)
@@ -50,25 +64,23 @@ public class TransactionService {
     }
 
     private void validateUseBalance(AccountUser user, Account account) {
-        if (!Objects.equals(user.getId(), account.getAccountUser().getId())) {
-            throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
-        }
-        if (account.getAccountStatus() != AccountStatus.IN_USE) {
-            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
-        }
+        AccountPolicy.validateUseBalance(
+                user.getId(), account.getAccountUser().getId(), account.getAccountStatus());
     }
 
-    @Transactional
+    // DB 행 락(account.lock.provider=database)이면 락 트랜잭션이 롤백되므로 실패 거래는 따로 커밋한다.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void saveFailedUseTransaction(String accountNumber, Long amount) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+                .orElseThrow(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
 
         saveTransactionStatus(TransactionType.USE, FAIL, amount, account);
     }
 
     private Transaction saveTransactionStatus(
             TransactionType transactionType, TransactionResultType resultType, Long amount, Account account) {
-        return transactionRepository.save(
+        LocalDateTime transactedAt = LocalDateTime.now();
+        Transaction transaction = transactionRepository.save(
                 Transaction.builder()
                         .transactionType(transactionType)
                         .transactionResultType(resultType)
@@ -76,20 +88,30 @@ public class TransactionService {
                         .amount(amount)
                         .balanceSnapshot(account.getBalance())
                         .transactionId(UUID.randomUUID().toString().replace("-", ""))
-                        .transactedAt(LocalDateTime.now())
+                        .transactedAt(transactedAt)
                         .build()
         );
+        transactionStatsAccumulator.record(
+                account.getAccountNumber(), transactionType, resultType, amount, transactedAt);
+        return transaction;
     }
 
     @Transactional
     public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+                .orElseThrow(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+                .orElseThrow(() -> AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND));
 
         validateCancelBalance(account, transaction, amount);
+        if (transactionRepository.addCancelledAmount(transaction.getId(), amount) == 0) {
+            // 조회 이후 다른 취소가 먼저 반영된 경우
+            throw AccountException.of(ErrorCode.CANCEL_EXCEED_REMAINING);
+        }
+        account.fence(FencingTokenHolder.get());
         account.cancelBalance(amount);
+        resourceVersionCache.evictAccountList(account.getAccountUser().getId());
+        resourceVersionCache.evictTransaction(transactionId);
 
         return TransactionDto.fromEntity(
                 saveTransactionStatus(TransactionType.CANCEL, SUCCESS, amount, account)
@@ -97,24 +119,47 @@ public class TransactionService {
     }
 
     private void validateCancelBalance(Account account, Transaction transaction, Long amount) {
-        if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
-            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
-        }
-        if (!Objects.equals(transaction.getAmount(), amount)) {
-            throw new AccountException(ErrorCode.CANCEL_MUST_FULLY);
-        }
+        AccountPolicy.validateCancelBalance(
+                transaction.getAccount().getId(), account.getId(),
+                transaction.getTransactionType(), transaction.getTransactionResultType(),
+                transaction.getAmount(), transaction.getCancelledAmount(), amount);
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void saveFailedCancelTransaction(String accountNumber, Long amount) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+                .orElseThrow(() -> AccountException.of(ErrorCode.ACCOUNT_NOT_FOUND));
 
         saveTransactionStatus(TransactionType.CANCEL, FAIL, amount, account);
     }
 
-    @Transactional
+    /**
+     * 짧게 캐시된 결과가 있으면 그대로 돌려주고, 없으면 같은 거래의 동시 조회를 한번의 조회로 묶는다.
+     * SUPPORTS 라서 트랜잭션(커넥션)은 리포지토리 조회 때만 잡히므로 기다리는 요청은 커넥션을 쓰지 않는다.
+     * (read-only 표시는 유지되어 복제본으로 라우팅된다)
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public TransactionDto queryTransaction(String transactionId) {
-        return TransactionDto.fromEntity(transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND)));
+        TransactionDto cached = resourceVersionCache.getTransaction(transactionId);
+        if (cached != null) {
+            return cached;
+        }
+        return transactionQueries.execute(transactionId, () -> {
+            TransactionDto found = findTransaction(transactionId);
+            resourceVersionCache.putTransaction(found);
+            return found;
+        });
+    }
+
+    private TransactionDto findTransaction(String transactionId) {
+        // 거래번호만으로는 샤드를 알 수 없으므로 모든 샤드에서 찾는다.
+        return shardRouter.fanOut(() -> transactionRepository.findByTransactionId(transactionId)
+                        .map(TransactionDto::fromEntity)
+                        .stream().toList())
+                .stream()
+                .findFirst()
+                // 원본 테이블에 없으면 보관된 세그먼트에서 찾는다.
+                .or(() -> transactionArchive.findByTransactionId(transactionId).map(TransactionDto::fromArchived))
+                .orElseThrow(() -> AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND));
     }
 }
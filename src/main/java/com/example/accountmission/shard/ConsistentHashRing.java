@@ -0,0 +1,52 @@
+package com.example.accountmission.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 계좌번호 -> 샤드 키 매핑을 위한 Consistent Hash Ring
+ * 샤드마다 virtualNodes 개의 가상 노드를 링에 배치해서
+ * 샤드가 추가/제거 되어도 일부 계좌만 이동하도록 한다.
+ */
+public class ConsistentHashRing {
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final List<String> shardKeys;
+
+    public ConsistentHashRing(List<String> shardKeys, int virtualNodes) {
+        if (shardKeys.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shardKeys = List.copyOf(shardKeys);
+        for (String shardKey : shardKeys) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shardKey + "#" + i), shardKey);
+            }
+        }
+    }
+
+    public String route(String accountNumber) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(accountNumber));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<String> getShardKeys() {
+        return shardKeys;
+    }
+
+    // FNV-1a 64bit + murmur3 finalizer, JVM 간에 항상 같은 값이 나와야 한다.
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.accountmission.shard;
+
+/**
+ * 현재 쓰레드가 사용할 샤드 키
+ * null 이면 기본 샤드로 라우팅 된다.
+ */
+public final class ShardContextHolder {
+    private static final ThreadLocal<String> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContextHolder() {
+    }
+
+    public static String get() {
+        return CURRENT_SHARD.get();
+    }
+
+    public static void set(String shardKey) {
+        CURRENT_SHARD.set(shardKey);
+    }
+
+    public static void restore(String previousShardKey) {
+        if (previousShardKey == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(previousShardKey);
+        }
+    }
+}
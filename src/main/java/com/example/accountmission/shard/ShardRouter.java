@@ -0,0 +1,126 @@
+package com.example.accountmission.shard;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * 서비스 계층에서 샤드를 다루기 위한 진입점
+ * 단일 DataSource 모드에서는 모든 작업을 호출한 쓰레드/트랜잭션에서 그대로 실행한다.
+ */
+public class ShardRouter {
+    private final ConsistentHashRing ring;
+    private final TransactionTemplate writeTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final ExecutorService fanOutExecutor;
+
+    public ShardRouter(ConsistentHashRing ring,
+                       PlatformTransactionManager transactionManager,
+                       ExecutorService fanOutExecutor) {
+        this.ring = ring;
+        this.fanOutExecutor = fanOutExecutor;
+        if (transactionManager != null) {
+            this.writeTemplate = new TransactionTemplate(transactionManager);
+            this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+            this.readOnlyTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            this.readOnlyTemplate.setReadOnly(true);
+        } else {
+            this.writeTemplate = null;
+            this.readOnlyTemplate = null;
+        }
+    }
+
+    public static ShardRouter single() {
+        return new ShardRouter(null, null, null);
+    }
+
+    public boolean isSharded() {
+        return ring != null;
+    }
+
+    public String shardOf(String accountNumber) {
+        return isSharded() ? ring.route(accountNumber) : null;
+    }
+
+    /**
+     * 계좌번호를 소유한 샤드에서 새 트랜잭션으로 action 을 실행
+     */
+    public <T> T executeOn(String accountNumber, Supplier<T> action) {
+        if (!isSharded()) {
+            return action.get();
+        }
+        return callOnShard(ring.route(accountNumber), writeTemplate, action);
+    }
+
+    /**
+     * 모든 샤드에서 query 를 병렬로 실행하고 결과를 합친다.
+     * 각 샤드는 별도 쓰레드의 read-only 트랜잭션에서 조회된다.
+     */
+    public <T> List<T> fanOut(Supplier<? extends Collection<T>> query) {
+        if (!isSharded()) {
+            return new ArrayList<>(query.get());
+        }
+        List<CompletableFuture<Collection<T>>> futures = new ArrayList<>();
+        for (String shardKey : ring.getShardKeys()) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> callOnShard(shardKey, readOnlyTemplate, query), fanOutExecutor));
+        }
+        List<T> merged = new ArrayList<>();
+        try {
+            for (CompletableFuture<Collection<T>> future : futures) {
+                merged.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return merged;
+    }
+
+    /**
+     * 각 샤드를 현재 샤드로 지정한 채 action 을 차례로 실행 (배치 작업용)
+     * 트랜잭션은 열지 않으므로 action 안의 @Transactional 이 샤드마다 새로 시작된다.
+     */
+    public void forEachShard(Runnable action) {
+        if (!isSharded()) {
+            action.run();
+            return;
+        }
+        for (String shardKey : ring.getShardKeys()) {
+            String previous = ShardContextHolder.get();
+            ShardContextHolder.set(shardKey);
+            try {
+                action.run();
+            } finally {
+                ShardContextHolder.restore(previous);
+            }
+        }
+    }
+
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdown();
+        }
+    }
+
+    private <T> T callOnShard(String shardKey, TransactionTemplate template, Supplier<? extends T> action) {
+        String previous = ShardContextHolder.get();
+        ShardContextHolder.set(shardKey);
+        try {
+            return template.execute(status -> action.get());
+        } finally {
+            ShardContextHolder.restore(previous);
+        }
+    }
+}
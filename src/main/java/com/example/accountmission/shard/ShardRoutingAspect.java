@@ -0,0 +1,32 @@
+package com.example.accountmission.shard;
+
+import com.example.accountmission.aop.AccountLockIdInterface;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 계좌번호를 가진 요청이 들어오면 해당 계좌를 소유한 샤드로 라우팅
+ * 서비스의 트랜잭션이 시작되기 전에 샤드가 정해져야 하므로 컨트롤러에 건다.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+    private final ShardRouter shardRouter;
+
+    @Around("within(com.example.accountmission.controller..*) && args(request,..)")
+    public Object routeToShard(ProceedingJoinPoint pjp, AccountLockIdInterface request)
+            throws Throwable {
+        String previous = ShardContextHolder.get();
+        ShardContextHolder.set(shardRouter.shardOf(request.getAccountNumber()));
+        try {
+            return pjp.proceed();
+        } finally {
+            ShardContextHolder.restore(previous);
+        }
+    }
+}
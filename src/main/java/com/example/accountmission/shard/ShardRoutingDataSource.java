@@ -0,0 +1,15 @@
+package com.example.accountmission.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * ShardContextHolder 에 지정된 샤드의 DataSource 로 커넥션을 넘긴다.
+ * 트랜잭션 시작 시점이 아니라 첫 쿼리 시점에 샤드가 결정되도록
+ * LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContextHolder.get();
+    }
+}
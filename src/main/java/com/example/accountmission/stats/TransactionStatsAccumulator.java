@@ -0,0 +1,212 @@
+package com.example.accountmission.stats;
+
+import com.example.accountmission.shard.ShardContextHolder;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 계좌별 일별 거래 집계를 메모리에 모았다가 주기적으로 MERGE 로 더한다.
+ * 거래마다 집계 행을 UPDATE 하면 같은 계좌의 거래가 집계 행 락을 두고 경쟁하므로, 커밋된 거래만 모아서 한번에 반영한다.
+ * 반영 전 값은 pendingOf 로 조회 시 더해준다. (반영 중인 값은 잠깐 빠져 보일 수 있다)
+ * 샤드별 MERGE 는 한 트랜잭션으로 반영해서, 실패하면 전부 되돌리고 다음 주기에 다시 반영한다.
+ * 종료할 때 남은 값을 한번 더 반영한다.
+ */
+@Slf4j
+@Component
+public class TransactionStatsAccumulator {
+    static final int USE_COUNT = 0;
+    static final int USE_AMOUNT = 1;
+    static final int USE_FAIL_COUNT = 2;
+    static final int CANCEL_COUNT = 3;
+    static final int CANCEL_AMOUNT = 4;
+    static final int CANCEL_FAIL_COUNT = 5;
+    static final int FIELDS = 6;
+
+    private static final String MERGE_SQL =
+            "merge into account_daily_stats s " +
+                    "using (select cast(? as varchar(10)) as account_number, cast(? as date) as stat_date) v " +
+                    "on s.account_number = v.account_number and s.stat_date = v.stat_date " +
+                    "when matched then update set " +
+                    "use_count = s.use_count + ?, use_amount = s.use_amount + ?, use_fail_count = s.use_fail_count + ?, " +
+                    "cancel_count = s.cancel_count + ?, cancel_amount = s.cancel_amount + ?, " +
+                    "cancel_fail_count = s.cancel_fail_count + ? " +
+                    "when not matched then insert (account_number, stat_date, use_count, use_amount, use_fail_count, " +
+                    "cancel_count, cancel_amount, cancel_fail_count) " +
+                    "values (v.account_number, v.stat_date, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<StatsKey, AtomicLongArray> pending = new ConcurrentHashMap<>();
+
+    public TransactionStatsAccumulator(JdbcTemplate jdbcTemplate, ShardRouter shardRouter,
+                                       PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 거래 저장 트랜잭션이 커밋된 뒤에 집계한다. (롤백된 거래는 집계하지 않는다)
+     */
+    public void record(String accountNumber, TransactionType transactionType,
+                       TransactionResultType resultType, long amount, LocalDateTime transactedAt) {
+        StatsKey key = new StatsKey(accountNumber, transactedAt.toLocalDate());
+        Runnable action = () -> add(key, transactionType, resultType, amount);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * @return 아직 반영되지 않은 값 (FIELDS 순서), 없으면 null
+     */
+    public long[] pendingOf(String accountNumber, LocalDate date) {
+        AtomicLongArray counters = pending.get(new StatsKey(accountNumber, date));
+        if (counters == null) {
+            return null;
+        }
+        long[] values = new long[FIELDS];
+        for (int i = 0; i < FIELDS; i++) {
+            values[i] = counters.get(i);
+        }
+        return values;
+    }
+
+    @Scheduled(fixedDelayString = "${account.stats.flush-interval-ms:1000}")
+    public void flush() {
+        Map<String, List<Object[]>> argsByShard = new HashMap<>();
+        Map<StatsKey, long[]> drained = new HashMap<>();
+        LocalDate today = LocalDate.now();
+        for (Map.Entry<StatsKey, AtomicLongArray> entry : pending.entrySet()) {
+            long[] values = drain(entry.getValue());
+            if (values == null) {
+                // 지난 날짜는 더 이상 쌓이지 않으므로 비어 있으면 정리한다.
+                if (entry.getKey().date().isBefore(today)) {
+                    pending.remove(entry.getKey(), entry.getValue());
+                }
+                continue;
+            }
+            StatsKey key = entry.getKey();
+            drained.put(key, values);
+            argsByShard.computeIfAbsent(String.valueOf(shardRouter.shardOf(key.accountNumber())),
+                    shard -> new ArrayList<>()).add(mergeArgs(key, values));
+        }
+
+        for (Map.Entry<String, List<Object[]>> entry : argsByShard.entrySet()) {
+            List<Object[]> args = entry.getValue();
+            String shardKey = shardRouter.shardOf((String) args.get(0)[0]);
+            String previous = ShardContextHolder.get();
+            ShardContextHolder.set(shardKey);
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(MERGE_SQL, args));
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush {} transaction stats rows, retrying next time: {}", args.size(), e.getMessage());
+                // 반영하지 못한 값은 되돌려서 다음 주기에 다시 반영한다.
+                for (Object[] arg : args) {
+                    StatsKey key = new StatsKey((String) arg[0], ((Date) arg[1]).toLocalDate());
+                    restore(key, drained.get(key));
+                }
+            } finally {
+                ShardContextHolder.restore(previous);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        long unflushed = pending.values().stream().filter(TransactionStatsAccumulator::hasValues).count();
+        if (unflushed > 0) {
+            log.warn("Transaction stats of {} keys were not flushed before shutdown", unflushed);
+        }
+    }
+
+    private void add(StatsKey key, TransactionType transactionType, TransactionResultType resultType, long amount) {
+        AtomicLongArray counters = pending.computeIfAbsent(key, k -> new AtomicLongArray(FIELDS));
+        boolean success = resultType == TransactionResultType.SUCCESS;
+        if (transactionType == TransactionType.USE) {
+            if (success) {
+                counters.incrementAndGet(USE_COUNT);
+                counters.addAndGet(USE_AMOUNT, amount);
+            } else {
+                counters.incrementAndGet(USE_FAIL_COUNT);
+            }
+        } else {
+            if (success) {
+                counters.incrementAndGet(CANCEL_COUNT);
+                counters.addAndGet(CANCEL_AMOUNT, amount);
+            } else {
+                counters.incrementAndGet(CANCEL_FAIL_COUNT);
+            }
+        }
+    }
+
+    // 각 값을 0 으로 바꾸면서 가져온다. (그 사이 더해진 값은 다음 주기로 넘어간다)
+    private static long[] drain(AtomicLongArray counters) {
+        long[] values = new long[FIELDS];
+        boolean empty = true;
+        for (int i = 0; i < FIELDS; i++) {
+            values[i] = counters.getAndSet(i, 0L);
+            empty &= values[i] == 0L;
+        }
+        return empty ? null : values;
+    }
+
+    private static boolean hasValues(AtomicLongArray counters) {
+        for (int i = 0; i < FIELDS; i++) {
+            if (counters.get(i) != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void restore(StatsKey key, long[] values) {
+        AtomicLongArray counters = pending.computeIfAbsent(key, k -> new AtomicLongArray(FIELDS));
+        for (int i = 0; i < FIELDS; i++) {
+            counters.addAndGet(i, values[i]);
+        }
+    }
+
+    private static Object[] mergeArgs(StatsKey key, long[] values) {
+        Object[] args = new Object[2 + FIELDS * 2];
+        args[0] = key.accountNumber();
+        args[1] = Date.valueOf(key.date());
+        for (int i = 0; i < FIELDS; i++) {
+            args[2 + i] = values[i];
+            args[2 + FIELDS + i] = values[i];
+        }
+        return args;
+    }
+
+    private record StatsKey(String accountNumber, LocalDate date) {
+    }
+}
@@ -0,0 +1,82 @@
+-- 계좌 API 스키마 (엔티티 매핑과 같은 컬럼, file 프로필에서 Flyway 로 생성)
+
+create table account_user
+(
+    id         bigint generated by default as identity primary key,
+    name       varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
+
+create table account
+(
+    id               bigint generated by default as identity primary key,
+    account_user_id  bigint,
+    account_number   varchar(10),
+    account_status   varchar(20),
+    balance          bigint,
+    initial_balance  bigint,
+    held_amount      bigint default 0 not null,
+    version          bigint,
+    registered_at    timestamp(6),
+    un_registered_at timestamp(6),
+    created_at       timestamp(6),
+    updated_at       timestamp(6),
+    constraint fk_account_account_user foreign key (account_user_id) references account_user (id)
+);
+
+create unique index ux_account_account_number on account (account_number);
+create index ix_account_account_user_id on account (account_user_id);
+
+create table transaction
+(
+    id                      bigint generated by default as identity primary key,
+    transaction_type        varchar(20),
+    transaction_result_type varchar(20),
+    account_id              bigint,
+    amount                  bigint,
+    balance_snapshot        bigint,
+    cancelled_amount        bigint default 0 not null,
+    transaction_id          varchar(32),
+    transacted_at           timestamp(6),
+    created_at              timestamp(6),
+    updated_at              timestamp(6),
+    constraint fk_transaction_account foreign key (account_id) references account (id)
+);
+
+create unique index ux_transaction_transaction_id on transaction (transaction_id);
+-- 계좌별 거래 순서대로 읽는 잔액 대사, 오래된 거래 보관
+create index ix_transaction_account_id_id on transaction (account_id, id);
+create index ix_transaction_transacted_at on transaction (transacted_at);
+
+create table balance_hold
+(
+    id            bigint generated by default as identity primary key,
+    hold_id       varchar(32),
+    account_id    bigint,
+    amount        bigint,
+    hold_status   varchar(20),
+    authorized_at timestamp(6),
+    expires_at    timestamp(6),
+    completed_at  timestamp(6),
+    created_at    timestamp(6),
+    updated_at    timestamp(6),
+    constraint fk_balance_hold_account foreign key (account_id) references account (id)
+);
+
+create unique index ux_balance_hold_hold_id on balance_hold (hold_id);
+create index ix_balance_hold_status_expires_at on balance_hold (hold_status, expires_at);
+
+create table account_daily_stats
+(
+    id                bigint generated by default as identity primary key,
+    account_number    varchar(10),
+    stat_date         date,
+    use_count         bigint default 0 not null,
+    use_amount        bigint default 0 not null,
+    use_fail_count    bigint default 0 not null,
+    cancel_count      bigint default 0 not null,
+    cancel_amount     bigint default 0 not null,
+    cancel_fail_count bigint default 0 not null,
+    constraint ux_account_daily_stats_account_date unique (account_number, stat_date)
+);
@@ -0,0 +1,9 @@
+-- data.sql 과 같은 기본 사용자 (file 프로필은 data.sql 을 실행하지 않는다)
+insert into account_user(name, created_at, updated_at)
+values ('Pororo', now(), now());
+
+insert into account_user(name, created_at, updated_at)
+values ('Luffy', now(), now());
+
+insert into account_user(name, created_at, updated_at)
+values ('Fire', now(), now());
@@ -0,0 +1,2 @@
+-- 계좌 락 펜싱 토큰 (기존 계좌는 null, 첫 거래에서 기록된다)
+alter table account add column fencing_token bigint;
@@ -0,0 +1,129 @@
+package com.example.accountmission;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import redis.embedded.RedisServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * native 바이너리 스모크 테스트 (./gradlew -Paot nativeSmokeTest 로만 실행)
+ * 기본 프로필(H2 메모리)에 임베디드 Redis 를 붙여 띄운 뒤 계좌 생성 -> 잔액 사용 -> 거래 확인까지 호출한다.
+ */
+@Tag("native-smoke")
+@EnabledIfSystemProperty(named = "native.binary", matches = ".+")
+class NativeImageSmokeTest {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RedisServer redisServer;
+    private Process application;
+    private int port;
+
+    @BeforeEach
+    void setup() throws IOException {
+        int redisPort = freePort();
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+
+        port = freePort();
+        File log = File.createTempFile("account-mission-native", ".log");
+        application = new ProcessBuilder(List.of(
+                System.getProperty("native.binary"),
+                "--server.port=" + port,
+                "--grpc.server.port=0",
+                "--spring.data.redis.host=localhost",
+                "--spring.data.redis.port=" + redisPort))
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("native 바이너리 - 계좌 생성, 잔액 사용, 거래 확인")
+    void useBalanceOnNativeBinary() throws Exception {
+        //given
+        JsonNode account = awaitStartup();
+        String accountNumber = account.get("accountNumber").asText();
+
+        //when
+        HttpResponse<String> use = post("/transaction/use",
+                "{\"userId\":1,\"accountNumber\":\"" + accountNumber + "\",\"amount\":1000}");
+        JsonNode used = objectMapper.readTree(use.body());
+        HttpResponse<String> query = httpClient.send(HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:" + port + "/transaction/" + used.get("transactionId").asText()))
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        //then
+        assertEquals(200, use.statusCode());
+        assertEquals("SUCCESS", used.get("transactionResultType").asText());
+        assertEquals(200, query.statusCode());
+        assertEquals(1000L, objectMapper.readTree(query.body()).get("amount").asLong());
+    }
+
+    // 계좌 생성이 성공할 때까지 기다린다. (기동 시간 포함)
+    private JsonNode awaitStartup() throws InterruptedException, IOException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertTrue(application.isAlive(), "native 바이너리가 기동 중에 종료되었습니다.");
+            try {
+                HttpResponse<String> response = post("/account", "{\"userId\":1,\"initialBalance\":100000}");
+                if (response.statusCode() == 200) {
+                    return objectMapper.readTree(response.body());
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않았다.
+            }
+            Thread.sleep(20);
+        }
+        return fail("native 바이너리가 " + STARTUP_TIMEOUT + " 안에 요청을 처리하지 못했습니다.");
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:" + port + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
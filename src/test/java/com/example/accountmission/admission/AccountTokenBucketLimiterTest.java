@@ -0,0 +1,49 @@
+package com.example.accountmission.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountTokenBucketLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("계좌별 버킷 - 순간 허용량을 넘으면 거절하고 시간이 지나면 다시 허용")
+    void burstThenRefill() {
+        //given
+        AccountTokenBucketLimiter limiter = new AccountTokenBucketLimiter(10, 3, 100, clock::get);
+
+        //when
+        //then
+        assertTrue(limiter.tryAcquire("1000000000"));
+        assertTrue(limiter.tryAcquire("1000000000"));
+        assertTrue(limiter.tryAcquire("1000000000"));
+        assertFalse(limiter.tryAcquire("1000000000"));
+        // 다른 계좌는 영향 없음
+        assertTrue(limiter.tryAcquire("1000000001"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(limiter.tryAcquire("1000000000"));
+        assertFalse(limiter.tryAcquire("1000000000"));
+    }
+
+    @Test
+    @DisplayName("계좌별 버킷 - 추적 계좌 수를 넘으면 쉬고 있는 계좌부터 정리")
+    void evictIdleBuckets() {
+        //given
+        AccountTokenBucketLimiter limiter = new AccountTokenBucketLimiter(10, 3, 2, clock::get);
+        limiter.tryAcquire("1000000000");
+        limiter.tryAcquire("1000000001");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        //when
+        limiter.tryAcquire("1000000002");
+
+        //then
+        assertEquals(1, limiter.trackedAccounts());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.accountmission.admission;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionGateTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("전체 한도로 거절된 요청은 계좌 토큰을 쓰지 않는다")
+    void overloadedKeepsAccountToken() {
+        //given
+        GradientConcurrencyLimiter concurrencyLimiter = new GradientConcurrencyLimiter(1, 1, 1, 2.0, 0.2, 100);
+        AccountTokenBucketLimiter accountLimiter = new AccountTokenBucketLimiter(10, 1, 100, clock::get);
+        AdmissionGate admissionGate = new AdmissionGate(concurrencyLimiter, accountLimiter);
+        AdmissionGate.Permit permit = admissionGate.acquire("1000000000");
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> admissionGate.acquire("1000000001"));
+        permit.release(null);
+
+        //then
+        assertEquals(ErrorCode.SERVICE_OVERLOADED, exception.getErrorCode());
+        assertNotNull(admissionGate.acquire("1000000001"));
+    }
+
+    @Test
+    @DisplayName("계좌별 한도로 거절된 요청은 동시 처리 자리를 돌려준다")
+    void rateLimitedReturnsConcurrencySlot() {
+        //given
+        GradientConcurrencyLimiter concurrencyLimiter = new GradientConcurrencyLimiter(2, 2, 2, 2.0, 0.2, 100);
+        AccountTokenBucketLimiter accountLimiter = new AccountTokenBucketLimiter(10, 1, 100, clock::get);
+        AdmissionGate admissionGate = new AdmissionGate(concurrencyLimiter, accountLimiter);
+        admissionGate.acquire("1000000000");
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> admissionGate.acquire("1000000000"));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_RATE_LIMITED, exception.getErrorCode());
+        assertEquals(1, concurrencyLimiter.getInflight());
+        assertEquals(2, concurrencyLimiter.getLimit());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.accountmission.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientConcurrencyLimiterTest {
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    @DisplayName("동시 처리 한도 - 한도를 넘는 요청은 바로 거절")
+    void rejectOverLimit() {
+        //given
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 1, 10, 1.5, 0.2, 100);
+
+        //when
+        //then
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.onComplete(RTT);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("동시 처리 한도 - 지연이 평소보다 크게 늘어나면 한도를 줄인다")
+    void decreaseOnLatency() {
+        //given
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 200, 1.5, 0.2, 100);
+        saturate(limiter, RTT, 50);
+        int before = limiter.getLimit();
+
+        //when
+        saturate(limiter, RTT * 10, 1);
+
+        //then
+        assertTrue(limiter.getLimit() < before);
+        assertTrue(limiter.getLimit() >= 4);
+    }
+
+    @Test
+    @DisplayName("동시 처리 한도 - 지연이 평소와 같으면 한도를 늘린다")
+    void increaseOnStableLatency() {
+        //given
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 200, 1.5, 0.2, 100);
+
+        //when
+        saturate(limiter, RTT, 20);
+
+        //then
+        assertTrue(limiter.getLimit() > 20);
+    }
+
+    @Test
+    @DisplayName("동시 처리 한도 - 락 대기 실패로 버려진 요청은 한도를 바로 줄인다")
+    void decreaseOnDrop() {
+        //given
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 200, 1.5, 0.2, 100);
+        limiter.tryAcquire();
+
+        //when
+        limiter.onDropped();
+
+        //then
+        assertEquals(18, limiter.getLimit());
+        assertEquals(0, limiter.getInflight());
+    }
+
+    // 한도만큼 요청을 채운 뒤 모두 같은 지연으로 완료시키는 것을 rounds 번 반복
+    private static void saturate(GradientConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onComplete(rttNanos);
+            }
+        }
+    }
+}
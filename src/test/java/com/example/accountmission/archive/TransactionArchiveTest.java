@@ -0,0 +1,98 @@
+package com.example.accountmission.archive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.accountmission.type.TransactionResultType.FAIL;
+import static com.example.accountmission.type.TransactionResultType.SUCCESS;
+import static com.example.accountmission.type.TransactionType.CANCEL;
+import static com.example.accountmission.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionArchiveTest {
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("보관한 거래를 거래번호로 조회")
+    void findByTransactionId() {
+        //given
+        TransactionArchive archive = new TransactionArchive(directory);
+        archive.append("default", 1, 3000, transactions(1, 3000));
+
+        //when
+        Optional<ArchivedTransaction> found = archive.findByTransactionId("tx-2500");
+
+        //then
+        assertTrue(found.isPresent());
+        assertEquals(transaction(2500), found.get());
+        assertTrue(archive.findByTransactionId("tx-9999").isEmpty());
+    }
+
+    @Test
+    @DisplayName("보관한 거래를 계좌와 기간으로 조회 - 여러 블록, 여러 세그먼트")
+    void findByAccount() {
+        //given
+        TransactionArchive archive = new TransactionArchive(directory);
+        archive.append("default", 1, 3000, transactions(1, 3000));
+        archive.append("default", 3001, 5000, transactions(3001, 5000));
+
+        //when
+        List<ArchivedTransaction> all = archive.findByAccount(1000000003L, Long.MIN_VALUE, Long.MAX_VALUE);
+        List<ArchivedTransaction> ranged = archive.findByAccount(1000000003L, BASE_TIME + 1000, BASE_TIME + 4000);
+
+        //then
+        // 계좌번호 = 1000000000 + id % 7
+        assertEquals(5000 / 7, all.size());
+        assertTrue(all.stream().allMatch(tx -> tx.accountNumber() == 1000000003L));
+        assertEquals(ranged.size(), all.stream()
+                .filter(tx -> tx.transactedAtMillis() >= BASE_TIME + 1000 && tx.transactedAtMillis() <= BASE_TIME + 4000)
+                .count());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).transactedAtMillis() <= all.get(i).transactedAtMillis());
+        }
+    }
+
+    @Test
+    @DisplayName("다시 시작하면 디렉토리의 세그먼트를 읽어온다")
+    void loadExisting() {
+        //given
+        new TransactionArchive(directory).append("shard1", 1, 1500, transactions(1, 1500));
+
+        //when
+        TransactionArchive reopened = new TransactionArchive(directory);
+
+        //then
+        assertEquals(1, reopened.segmentCount());
+        assertEquals(transaction(1), reopened.findByTransactionId("tx-1").orElseThrow());
+    }
+
+    private static List<ArchivedTransaction> transactions(long fromId, long toId) {
+        List<ArchivedTransaction> transactions = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            transactions.add(transaction(id));
+        }
+        return transactions;
+    }
+
+    private static ArchivedTransaction transaction(long id) {
+        return new ArchivedTransaction(
+                id,
+                1000000000L + id % 7,
+                "tx-" + id,
+                id % 3 == 0 ? CANCEL : USE,
+                id % 5 == 0 ? FAIL : SUCCESS,
+                id * 10,
+                1_000_000 - id * 10,
+                id % 4 == 0 ? id : 0,
+                BASE_TIME + id);
+    }
+}
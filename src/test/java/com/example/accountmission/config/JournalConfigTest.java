@@ -0,0 +1,40 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.journal.JournalProperties;
+import com.example.accountmission.shard.ShardRouter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 승인 API 와 같이 켤 수 없는 저널 설정은 기동을 실패시킨다.
+ */
+class JournalConfigTest {
+    private final JournalConfig journalConfig = new JournalConfig();
+
+    @Test
+    @DisplayName("잔액 엔진은 승인 API 가 켜져 있으면 만들지 않는다")
+    void balanceEngineRequiresHoldsDisabled() {
+        //given
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setBalanceEngine(true);
+        //when
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> journalConfig.balanceEngine(properties, null, ShardRouter.single(), true));
+        //then
+        assertTrue(exception.getMessage().contains("account.hold.enabled=false"));
+    }
+
+    @Test
+    @DisplayName("저널이 꺼져 있으면 승인 API 가 켜져 있어도 잔액 엔진을 만들지 않고 기동한다")
+    void journalDisabled() {
+        //given
+        JournalProperties properties = new JournalProperties();
+        properties.setBalanceEngine(true);
+        //when
+        //then
+        assertFalse(journalConfig.balanceEngine(properties, null, ShardRouter.single(), true).isEnabled());
+    }
+}
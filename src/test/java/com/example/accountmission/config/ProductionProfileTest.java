@@ -0,0 +1,70 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.admission.AdmissionProperties;
+import com.example.accountmission.reconciliation.ReconciliationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 운영 프로필(application.yml + application-prod.yml)의 커넥션 풀 크기 확인
+ */
+class ProductionProfileTest {
+    private final StandardEnvironment environment = new StandardEnvironment();
+
+    @BeforeEach
+    void setup() throws IOException {
+        YamlPropertySourceLoader loader = new YamlPropertySourceLoader();
+        // 프로필 설정이 기본 설정보다 우선한다.
+        for (PropertySource<?> source : loader.load("prod", new ClassPathResource("application-prod.yml"))) {
+            environment.getPropertySources().addLast(source);
+        }
+        for (PropertySource<?> source : loader.load("default", new ClassPathResource("application.yml"))) {
+            environment.getPropertySources().addLast(source);
+        }
+    }
+
+    @Test
+    @DisplayName("커넥션 풀은 거래 API 동시 처리 한도와 정합성 검증 병렬도를 합친 것보다 작으면 안된다")
+    void poolCoversTransactionConcurrency() {
+        //given
+        Binder binder = Binder.get(environment);
+        int maximumPoolSize = binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class)
+                .orElseThrow(() -> new AssertionError("maximum-pool-size 가 지정되지 않았습니다."));
+        AdmissionProperties admission = binder.bind("account.admission", AdmissionProperties.class)
+                .orElseGet(AdmissionProperties::new);
+        ReconciliationProperties reconciliation = binder.bind("account.reconciliation", ReconciliationProperties.class)
+                .orElseGet(ReconciliationProperties::new);
+
+        //when
+        int required = admission.getMaxLimit()
+                + (reconciliation.isEnabled() ? reconciliation.getParallelism() : 0);
+
+        //then
+        // 입장 제어를 끄면 동시 처리 수에 상한이 없으므로 풀 크기를 맞출 수 없다.
+        assertTrue(admission.isEnabled(), "운영 프로필에서는 account.admission 을 꺼서는 안됩니다.");
+        assertTrue(maximumPoolSize >= required,
+                "maximum-pool-size " + maximumPoolSize + " < admission.max-limit + reconciliation.parallelism "
+                        + required);
+    }
+
+    @Test
+    @DisplayName("운영 프로필은 SQL 로그를 끄고 JDBC 배치를 켠다")
+    void disablesSqlLogging() {
+        //when
+        //then
+        assertEquals("false", environment.getProperty("spring.jpa.properties.hibernate.show_sql"));
+        assertEquals("false", environment.getProperty("spring.jpa.properties.hibernate.format_sql"));
+        assertEquals("true", environment.getProperty("spring.jpa.properties.hibernate.order_updates"));
+        assertNotNull(environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size"));
+    }
+}
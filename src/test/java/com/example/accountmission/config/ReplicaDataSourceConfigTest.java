@@ -0,0 +1,26 @@
+package com.example.accountmission.config;
+
+import com.example.accountmission.replica.ReplicaProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 샤드 모드와 같이 켠 레플리카 설정은 기동을 실패시킨다.
+ */
+class ReplicaDataSourceConfigTest {
+    private final ReplicaDataSourceConfig replicaDataSourceConfig = new ReplicaDataSourceConfig();
+
+    @Test
+    @DisplayName("샤드 모드가 켜져 있으면 레플리카 DataSource 를 만들지 않는다")
+    void replicaRequiresShardDisabled() {
+        //given
+        ReplicaProperties properties = new ReplicaProperties();
+        //when
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> replicaDataSourceConfig.replicaDataSource(properties, null, true));
+        //then
+        assertTrue(exception.getMessage().contains("account.shard.enabled=false"));
+    }
+}
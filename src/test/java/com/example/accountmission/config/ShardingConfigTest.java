@@ -0,0 +1,86 @@
+package com.example.accountmission.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 인메모리 H2 2개에 실제 마이그레이션(db/migration)을 적용
+ */
+class ShardingConfigTest {
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        shards.forEach(jdbcTemplate -> jdbcTemplate.execute("drop all objects"));
+    }
+
+    @Test
+    @DisplayName("샤드마다 스키마와 사용자를 만든다")
+    void initializeShardMigratesEachShard() {
+        //given
+        //when
+        initializeShards(2);
+
+        //then
+        for (JdbcTemplate shard : shards) {
+            assertEquals(3, shard.queryForObject("select count(*) from account_user", Integer.class));
+        }
+    }
+
+    @Test
+    @DisplayName("계좌 id 는 샤드끼리 겹치지 않는다")
+    void accountIdsAreUniqueAcrossShards() {
+        //given
+        initializeShards(2);
+
+        //when
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            for (JdbcTemplate shard : shards) {
+                ids.add(insertAccount(shard, "10000000" + shards.indexOf(shard) + i));
+            }
+        }
+
+        //then
+        assertEquals(List.of(1L, 2L, 1L + ShardingConfig.MAX_SHARDS, 2L + ShardingConfig.MAX_SHARDS), ids);
+    }
+
+    @Test
+    @DisplayName("다시 기동해도 이미 발급한 계좌 id 뒤에서 이어서 발급한다")
+    void initializeShardAgainKeepsIds() {
+        //given
+        initializeShards(2);
+        JdbcTemplate shard = shards.get(1);
+        insertAccount(shard, "1000000000");
+
+        //when
+        ShardingConfig.initializeShard(shard.getDataSource(), 1);
+
+        //then
+        assertEquals(2L + ShardingConfig.MAX_SHARDS, insertAccount(shard, "1000000001"));
+    }
+
+    private void initializeShards(int count) {
+        for (int i = 0; i < count; i++) {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:sharding-config" + i + ";DB_CLOSE_DELAY=-1", "sa", "");
+            ShardingConfig.initializeShard(dataSource, i);
+            shards.add(new JdbcTemplate(dataSource));
+        }
+    }
+
+    private static long insertAccount(JdbcTemplate shard, String accountNumber) {
+        shard.update("insert into account (account_user_id, account_number, balance) values (1, ?, 0)",
+                accountNumber);
+        return shard.queryForObject("select id from account where account_number = ?", Long.class, accountNumber);
+    }
+}
@@ -4,6 +4,7 @@ import com.example.accountmission.domain.Account;
 import com.example.accountmission.dto.AccountDto;
 import com.example.accountmission.dto.CreateAccount;
 import com.example.accountmission.dto.DeleteAccount;
+import com.example.accountmission.service.ResourceVersionCache;
 import com.example.accountmission.service.AccountService;
 import com.example.accountmission.type.AccountStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -23,12 +25,16 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AccountController.class)
+@Import(ResourceVersionCache.class)
 class AccountControllerTest {
     @MockBean
     private AccountService accountService;
@@ -140,4 +146,27 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$[0].balance").value(1000))
                 .andExpect(jsonPath("$[0].accountNumber").value("1234567890"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("계좌 조회 - ETag 가 같으면 DB 조회 없이 304")
+    void getAccountsByUserIdNotModified() throws Exception {
+        //given
+        given(accountService.getAccountsByUserId(anyLong()))
+                .willReturn(List.of(AccountDto.builder()
+                        .userId(2L)
+                        .accountNumber("1234567890")
+                        .balance(1000L)
+                        .version(3L)
+                        .build()));
+        String etag = mockMvc.perform(get("/account?user_id=2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        //when
+        ResultActions perform = mockMvc.perform(get("/account?user_id=2")
+                .header("If-None-Match", etag));
+        //then
+        perform.andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(accountService, times(1)).getAccountsByUserId(2L);
+    }
+}
@@ -4,13 +4,19 @@ import com.example.accountmission.dto.CancelBalance;
 import com.example.accountmission.dto.QueryTransactionResponse;
 import com.example.accountmission.dto.TransactionDto;
 import com.example.accountmission.dto.UseBalance;
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.journal.TransactionJournal;
+import com.example.accountmission.service.ResourceVersionCache;
 import com.example.accountmission.service.TransactionService;
+import com.example.accountmission.type.ErrorCode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -20,18 +26,26 @@ import java.time.LocalDateTime;
 import static com.example.accountmission.type.TransactionResultType.*;
 import static com.example.accountmission.type.TransactionType.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
+@Import(ResourceVersionCache.class)
 class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionJournal transactionJournal;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -131,4 +145,90 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.transactionType").value("USE"))
                 .andExpect(jsonPath("$.amount").value(1000L));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("QueryTransaction - ETag 가 같으면 DB 조회 없이 304")
+    void queryTransactionNotModified() throws Exception {
+        //given
+        given(transactionService.queryTransaction(anyString()))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1234567890")
+                        .transactionResultType(SUCCESS)
+                        .transactionType(USE)
+                        .transactedAt(LocalDateTime.now())
+                        .amount(1000L)
+                        .transactionId("cachedTransactionId")
+                        .build());
+        String etag = mockMvc.perform(get("/transaction/cachedTransactionId"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                .andReturn().getResponse().getHeader("ETag");
+        //when
+        ResultActions perform = mockMvc.perform(get("/transaction/cachedTransactionId")
+                .header("If-None-Match", etag));
+        //then
+        perform.andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(transactionService, times(1)).queryTransaction("cachedTransactionId");
+    }
+
+    @Test
+    @DisplayName("거래 취소 실패 - 취소 가능 금액 초과는 422")
+    void cancelBalanceRejected() throws Exception {
+        //given
+        given(transactionService.cancelBalance(anyString(), anyString(), anyLong()))
+                .willThrow(AccountException.of(ErrorCode.CANCEL_EXCEED_REMAINING));
+        //when
+        ResultActions perform = mockMvc.perform(post("/transaction/cancel")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new CancelBalance.Request("transactionId", "1234567890",
+                                1000L)
+                ))).andDo(print());
+        //then
+        perform.andExpect(status().isUnprocessableEntity())
+                .andExpect(header().doesNotExist("Retry-After"))
+                .andExpect(jsonPath("$.errorCode").value("CANCEL_EXCEED_REMAINING"))
+                .andExpect(jsonPath("$.errorMessage")
+                        .value(ErrorCode.CANCEL_EXCEED_REMAINING.getDescription()));
+        verify(transactionService).saveFailedCancelTransaction("1234567890", 1000L);
+    }
+
+    @Test
+    @DisplayName("거래 취소 실패 - 계좌 락은 423 과 Retry-After")
+    void cancelBalanceLocked() throws Exception {
+        //given
+        given(transactionService.cancelBalance(anyString(), anyString(), anyLong()))
+                .willThrow(AccountException.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        //when
+        ResultActions perform = mockMvc.perform(post("/transaction/cancel")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new CancelBalance.Request("transactionId", "1234567890",
+                                1000L)
+                ))).andDo(print());
+        //then
+        perform.andExpect(status().isLocked())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errorCode").value("ACCOUNT_TRANSACTION_LOCK"));
+    }
+
+    @Test
+    @DisplayName("거래 취소 실패 - 계좌 버전 충돌은 409 STALE_LOCK_TOKEN 과 Retry-After")
+    void cancelBalanceVersionConflict() throws Exception {
+        //given
+        given(transactionService.cancelBalance(anyString(), anyString(), anyLong()))
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+        //when
+        ResultActions perform = mockMvc.perform(post("/transaction/cancel")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new CancelBalance.Request("transactionId", "1234567890",
+                                1000L)
+                ))).andDo(print());
+        //then
+        perform.andExpect(status().isConflict())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errorCode").value("STALE_LOCK_TOKEN"));
+    }
+}
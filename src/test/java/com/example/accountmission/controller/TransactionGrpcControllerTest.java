@@ -0,0 +1,240 @@
+package com.example.accountmission.controller;
+
+import com.example.accountmission.admission.AdmissionGate;
+import com.example.accountmission.dto.TransactionDto;
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.grpc.BalanceReply;
+import com.example.accountmission.grpc.TransactionResult;
+import com.example.accountmission.grpc.UseBalanceRequest;
+import com.example.accountmission.hotkey.HotKeyDetector;
+import com.example.accountmission.journal.TransactionJournal;
+import com.example.accountmission.lock.AccountLockProvider;
+import com.example.accountmission.service.AccountLockTemplate;
+import com.example.accountmission.service.TransactionService;
+import com.example.accountmission.shard.ShardContextHolder;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.type.ErrorCode;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.accountmission.type.TransactionResultType.SUCCESS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionGrpcControllerTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountLockProvider lockService;
+
+    @Mock
+    private HotKeyDetector hotKeyDetector;
+
+    private TransactionGrpcController transactionGrpcController;
+
+    @BeforeEach
+    void setup() {
+        transactionGrpcController = new TransactionGrpcController(
+                transactionService, new AccountLockTemplate(lockService, hotKeyDetector), ShardRouter.single(),
+                AdmissionGate.unlimited(), TransactionJournal.disabled());
+    }
+
+    @Test
+    @DisplayName("gRPC 잔액 사용 성공 - 락을 잡고 해제한다")
+    void useBalanceSuccess() {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactionResultType(SUCCESS)
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+        CollectingObserver<BalanceReply> observer = new CollectingObserver<>();
+
+        //when
+        transactionGrpcController.useBalance(useRequest("r1", 1000L), observer);
+
+        //then
+        assertTrue(observer.completed);
+        BalanceReply reply = observer.values.get(0);
+        assertEquals("r1", reply.getRequestId());
+        assertEquals(TransactionResult.SUCCESS, reply.getTransactionResult());
+        assertEquals("transactionId", reply.getTransactionId());
+        verify(lockService).lock("1000000000");
+        verify(lockService).unlock("1000000000");
+    }
+
+    @Test
+    @DisplayName("gRPC 잔액 사용 - 락 대기를 기록하고 승격된 계좌는 노드 안의 대기열을 거친다")
+    void useBalancePromotedAccount() {
+        //given
+        given(hotKeyDetector.isPromoted("1000000000")).willReturn(true);
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactionResultType(SUCCESS)
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+        CollectingObserver<BalanceReply> observer = new CollectingObserver<>();
+
+        //when
+        transactionGrpcController.useBalance(useRequest("r1", 1000L), observer);
+
+        //then
+        assertEquals(TransactionResult.SUCCESS, observer.values.get(0).getTransactionResult());
+        InOrder inOrder = inOrder(hotKeyDetector, lockService);
+        inOrder.verify(hotKeyDetector).enterSingleWriter("1000000000");
+        inOrder.verify(lockService).lock("1000000000");
+        inOrder.verify(lockService).unlock("1000000000");
+        inOrder.verify(hotKeyDetector).exitSingleWriter("1000000000");
+        verify(hotKeyDetector).record(eq("1000000000"), anyLong());
+    }
+
+    @Test
+    @DisplayName("gRPC 잔액 사용 - 샤드 모드에서는 락을 잡기 전에 계좌의 샤드를 정한다")
+    void useBalanceShardBeforeLock() {
+        //given
+        ShardRouter shardRouter = mock(ShardRouter.class);
+        given(shardRouter.isSharded()).willReturn(true);
+        given(shardRouter.shardOf("1000000000")).willReturn("shard1");
+        TransactionGrpcController shardedController = new TransactionGrpcController(
+                transactionService, new AccountLockTemplate(lockService, hotKeyDetector), shardRouter,
+                AdmissionGate.unlimited(), TransactionJournal.disabled());
+        List<String> lockShards = new ArrayList<>();
+        given(lockService.lock("1000000000")).willAnswer(invocation -> {
+            lockShards.add(ShardContextHolder.get());
+            return 1L;
+        });
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactionResultType(SUCCESS)
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+        CollectingObserver<BalanceReply> observer = new CollectingObserver<>();
+
+        //when
+        shardedController.useBalance(useRequest("r1", 1000L), observer);
+
+        //then
+        assertEquals(TransactionResult.SUCCESS, observer.values.get(0).getTransactionResult());
+        assertEquals(List.of("shard1"), lockShards);
+        assertNull(ShardContextHolder.get());
+    }
+
+    @Test
+    @DisplayName("gRPC 잔액 사용 실패 - 실패 거래를 저장하고 오류 코드를 내려준다")
+    void useBalanceFailed() {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+        CollectingObserver<BalanceReply> observer = new CollectingObserver<>();
+
+        //when
+        transactionGrpcController.useBalance(useRequest("r1", 1000L), observer);
+
+        //then
+        BalanceReply reply = observer.values.get(0);
+        assertEquals(TransactionResult.FAIL, reply.getTransactionResult());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE.name(), reply.getErrorCode());
+        verify(transactionService).saveFailedUseTransaction("1000000000", 1000L);
+        verify(lockService).unlock("1000000000");
+    }
+
+    @Test
+    @DisplayName("gRPC 잔액 사용 - 잘못된 요청은 서비스를 호출하지 않는다")
+    void useBalanceInvalidRequest() {
+        //given
+        CollectingObserver<BalanceReply> observer = new CollectingObserver<>();
+
+        //when
+        transactionGrpcController.useBalance(useRequest("r1", 5L), observer);
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST.name(), observer.values.get(0).getErrorCode());
+        verifyNoInteractions(transactionService, lockService);
+    }
+
+    @Test
+    @DisplayName("gRPC 잔액 사용 스트림 - 요청 순서대로 결과를 내려주고 실패가 스트림을 끊지 않는다")
+    void useBalanceStream() {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactionResultType(SUCCESS)
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+        CollectingObserver<BalanceReply> observer = new CollectingObserver<>();
+
+        //when
+        StreamObserver<UseBalanceRequest> requests =
+                transactionGrpcController.useBalanceStream(observer);
+        requests.onNext(useRequest("r1", 1000L));
+        requests.onNext(useRequest("r2", 1000L));
+        requests.onCompleted();
+
+        //then
+        assertTrue(observer.completed);
+        assertEquals(2, observer.values.size());
+        assertEquals("r1", observer.values.get(0).getRequestId());
+        assertEquals(TransactionResult.FAIL, observer.values.get(0).getTransactionResult());
+        assertEquals("r2", observer.values.get(1).getRequestId());
+        assertEquals(TransactionResult.SUCCESS, observer.values.get(1).getTransactionResult());
+        verify(lockService, times(2)).unlock("1000000000");
+    }
+
+    private static UseBalanceRequest useRequest(String requestId, long amount) {
+        return UseBalanceRequest.newBuilder()
+                .setRequestId(requestId)
+                .setUserId(1L)
+                .setAccountNumber("1000000000")
+                .setAmount(amount)
+                .build();
+    }
+
+    private static class CollectingObserver<T> implements StreamObserver<T> {
+        private final List<T> values = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void onNext(T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            fail(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.accountmission.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapLongLongMapTest {
+
+    @Test
+    @DisplayName("확장되어도 모든 키를 찾는다")
+    void putAndGetWithResize() {
+        //given
+        OffHeapLongLongMap map = new OffHeapLongLongMap(16);
+
+        //when
+        for (long accountNumber = 1000000000L; accountNumber < 1000100000L; accountNumber++) {
+            map.put(accountNumber, accountNumber % 1000);
+        }
+
+        //then
+        assertEquals(100_000, map.size());
+        for (long accountNumber = 1000000000L; accountNumber < 1000100000L; accountNumber++) {
+            assertEquals(accountNumber % 1000, map.get(accountNumber, -1L));
+        }
+        assertEquals(-1L, map.get(999L, -1L));
+    }
+
+    @Test
+    @DisplayName("삭제 후에도 같은 탐사 체인의 다른 키를 찾는다")
+    void removeKeepsProbeChain() {
+        //given
+        OffHeapLongLongMap map = new OffHeapLongLongMap(1024);
+        for (long key = 1; key <= 700; key++) {
+            map.put(key, key * 10);
+        }
+
+        //when
+        for (long key = 1; key <= 700; key += 2) {
+            assertTrue(map.remove(key));
+        }
+
+        //then
+        assertEquals(350, map.size());
+        for (long key = 1; key <= 700; key++) {
+            assertEquals(key % 2 == 0 ? key * 10 : -1L, map.get(key, -1L));
+        }
+        assertFalse(map.remove(1L));
+    }
+
+    @Test
+    @DisplayName("잔액이 부족하면 차감하지 않는다")
+    void subtractIfAtLeast() {
+        //given
+        OffHeapLongLongMap map = new OffHeapLongLongMap(16);
+        map.put(1000000012L, 1000L);
+
+        //when
+        long first = map.subtractIfAtLeast(1000000012L, 700L);
+        long second = map.subtractIfAtLeast(1000000012L, 700L);
+
+        //then
+        assertEquals(300L, first);
+        assertEquals(-1L, second);
+        assertEquals(300L, map.get(1000000012L, -1L));
+        assertEquals(-1L, map.subtractIfAtLeast(1000000013L, 1L));
+    }
+
+    @Test
+    @DisplayName("동시에 차감해도 잔액을 넘겨서 차감되지 않는다")
+    void concurrentSubtract() throws Exception {
+        //given
+        OffHeapLongLongMap map = new OffHeapLongLongMap(16);
+        map.put(1000000012L, 10_000L);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 2000; j++) {
+                    if (map.subtractIfAtLeast(1000000012L, 10L) >= 0) {
+                        succeeded.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+
+        //then
+        assertEquals(1000, succeeded.get());
+        assertEquals(0L, map.get(1000000012L, -1L));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.accountmission.hotkey;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyDetectorTest {
+
+    @Test
+    @DisplayName("min-wait 보다 짧은 대기는 기록하지 않는다")
+    void ignoreShortWait() {
+        //given
+        HotKeyDetector detector = new HotKeyDetector(properties(false));
+        //when
+        detector.record("1000000001", TimeUnit.MILLISECONDS.toNanos(1));
+        detector.record("1000000002", TimeUnit.MILLISECONDS.toNanos(20));
+        //then
+        assertEquals(1, detector.top(10).size());
+        assertEquals(new HotKey("1000000002", 20_000L, 0L), detector.top(10).get(0));
+    }
+
+    @Test
+    @DisplayName("감쇠 주기에 대기 합계가 promote-wait 이상인 계좌를 승격하고, 대기가 없어지면 해제")
+    void promoteAndDemote() {
+        //given
+        HotKeyDetector detector = new HotKeyDetector(properties(true));
+        detector.record("1000000001", TimeUnit.MILLISECONDS.toNanos(150));
+        detector.record("1000000002", TimeUnit.MILLISECONDS.toNanos(50));
+        //when
+        detector.decay();
+        Set<String> promoted = detector.promoted();
+        detector.decay();
+        //then
+        assertEquals(Set.of("1000000001"), promoted);
+        assertTrue(detector.promoted().isEmpty());
+    }
+
+    @Test
+    @DisplayName("승격을 끄면 대기가 길어도 승격하지 않는다")
+    void promotionDisabled() {
+        //given
+        HotKeyDetector detector = new HotKeyDetector(properties(false));
+        detector.record("1000000001", TimeUnit.SECONDS.toNanos(1));
+        //when
+        detector.decay();
+        //then
+        assertFalse(detector.isPromoted("1000000001"));
+        assertEquals(1, detector.top(10).size());
+    }
+
+    @Test
+    @DisplayName("single-writer 대기열은 한 쓰레드씩 들어가고, single-writer-wait 을 넘기면 실패")
+    void singleWriter() {
+        //given
+        HotKeyDetector detector = new HotKeyDetector(properties(true));
+        detector.enterSingleWriter("1000000001");
+        //when
+        CompletableFuture<Void> other = CompletableFuture.runAsync(
+                () -> detector.enterSingleWriter("1000000001"));
+        //then
+        AccountException exception = assertThrows(AccountException.class, () -> {
+            try {
+                other.join();
+            } catch (RuntimeException e) {
+                throw e.getCause();
+            }
+        });
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        detector.exitSingleWriter("1000000001");
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 아무것도 기록하지 않는다")
+    void disabled() {
+        //given
+        HotKeyDetector detector = HotKeyDetector.disabled();
+        //when
+        detector.record("1000000001", TimeUnit.SECONDS.toNanos(1));
+        detector.decay();
+        //then
+        assertFalse(detector.isEnabled());
+        assertTrue(detector.top(10).isEmpty());
+        assertFalse(detector.isPromoted("1000000001"));
+    }
+
+    private static HotKeyProperties properties(boolean promotionEnabled) {
+        HotKeyProperties properties = new HotKeyProperties();
+        properties.setCapacity(16);
+        properties.setMinWait(Duration.ofMillis(5));
+        properties.setPromotionEnabled(promotionEnabled);
+        properties.setPromoteWait(Duration.ofMillis(100));
+        properties.setSingleWriterWait(Duration.ofMillis(100));
+        return properties;
+    }
+}
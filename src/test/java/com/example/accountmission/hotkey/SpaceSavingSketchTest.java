@@ -0,0 +1,86 @@
+package com.example.accountmission.hotkey;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    @DisplayName("대기 합계가 큰 순서로 정렬")
+    void top() {
+        //given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+        sketch.add("1000000001", 100L);
+        sketch.add("1000000002", 300L);
+        sketch.add("1000000001", 50L);
+        sketch.add("1000000003", 10L);
+        //when
+        List<HotKey> top = sketch.top(2);
+        //then
+        assertEquals(List.of(
+                new HotKey("1000000002", 300L, 0L),
+                new HotKey("1000000001", 150L, 0L)), top);
+    }
+
+    @Test
+    @DisplayName("limit 가 음수이면 빈 목록, capacity 보다 크면 추적 중인 키 전부")
+    void topClampsLimit() {
+        //given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.add("1000000001", 100L);
+        sketch.add("1000000002", 300L);
+        //when
+        //then
+        assertEquals(List.of(), sketch.top(-1));
+        assertEquals(2, sketch.top(Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    @DisplayName("꽉 차면 가장 작은 키를 내보내고 그 값을 오차로 물려받는다")
+    void evictMinimum() {
+        //given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.add("1000000001", 500L);
+        sketch.add("1000000002", 20L);
+        //when
+        sketch.add("1000000003", 30L);
+        //then
+        assertEquals(2, sketch.size());
+        assertEquals(List.of(
+                new HotKey("1000000001", 500L, 0L),
+                new HotKey("1000000003", 50L, 20L)), sketch.top(10));
+    }
+
+    @Test
+    @DisplayName("몇몇 계좌에 대기가 몰리면 추적 수보다 많은 계좌가 섞여도 찾아낸다")
+    void heavyHitterSurvivesNoise() {
+        //given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(8);
+        //when
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("HOT", 10L);
+            sketch.add(String.valueOf(2000000000L + i), 1L);
+        }
+        //then
+        HotKey hottest = sketch.top(1).get(0);
+        assertEquals("HOT", hottest.key());
+        assertEquals(10_000L, hottest.waitMicros() - hottest.error());
+    }
+
+    @Test
+    @DisplayName("감쇠하면 절반이 되고 0 이 된 키는 지운다")
+    void decay() {
+        //given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+        sketch.add("1000000001", 100L);
+        sketch.add("1000000002", 1L);
+        //when
+        sketch.decay();
+        //then
+        assertEquals(List.of(new HotKey("1000000001", 50L, 0L)), sketch.top(10));
+    }
+}
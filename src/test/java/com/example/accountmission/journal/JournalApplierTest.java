@@ -0,0 +1,83 @@
+package com.example.accountmission.journal;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.repository.AccountRepository;
+import com.example.accountmission.repository.TransactionRepository;
+import com.example.accountmission.service.ResourceVersionCache;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.stats.TransactionStatsAccumulator;
+import com.example.accountmission.type.ErrorCode;
+import com.example.accountmission.type.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class JournalApplierTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ResourceVersionCache resourceVersionCache;
+
+    @Mock
+    private TransactionStatsAccumulator transactionStatsAccumulator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("같은 묶음이 계속 실패하면 반영을 멈추고 저널을 fail-stop 시킨다")
+    void failStopAfterMaxAttempts() throws InterruptedException {
+        //given
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willThrow(new IllegalStateException("broken record"));
+        List<JournalRecord> applied = new CopyOnWriteArrayList<>();
+        JournalApplier applier = new JournalApplier(accountRepository, transactionRepository,
+                resourceVersionCache, transactionStatsAccumulator, ShardRouter.single(), transactionManager,
+                10, 2, applied::addAll);
+        WriteAheadLog wal = new WriteAheadLog(directory, 4096, applier::submit, cause -> {
+        });
+        wal.recover();
+        applier.start(wal);
+        wal.start();
+
+        //when
+        wal.append(new JournalRecord(0L, TransactionType.USE, "1000000012", "tx-1", "",
+                100L, 9_900L, 1_700_000_000_000L)).join();
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (!wal.isFailed() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+        }
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> wal.append(new JournalRecord(0L, TransactionType.USE, "1000000012", "tx-2", "",
+                        100L, 9_800L, 1_700_000_000_000L)).join());
+        wal.close();
+        applier.close();
+
+        //then
+        assertTrue(wal.isFailed());
+        assertTrue(applied.isEmpty());
+        assertEquals(ErrorCode.JOURNAL_UNAVAILABLE, ((AccountException) exception.getCause()).getErrorCode());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.accountmission.journal;
+
+import com.example.accountmission.type.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingBalancesTest {
+    private static final String ACCOUNT_NUMBER = "1000000012";
+
+    @Test
+    @DisplayName("미반영 기록이 있으면 마지막 기록 잔액, 모두 반영되면 DB 잔액을 쓴다")
+    void lastBalance() {
+        //given
+        PendingBalances pendingBalances = new PendingBalances();
+        JournalRecord first = use("tx-1", 100L, 9_900L);
+        JournalRecord second = use("tx-2", 200L, 9_700L);
+        pendingBalances.reserve(first);
+        pendingBalances.reserve(second);
+
+        //when
+        // 반영 커밋 후 해제 전에는 DB 잔액(9_900)에 첫 기록이 이미 들어있어도 마지막 기록 잔액을 쓴다.
+        Long beforeRelease = pendingBalances.lastBalanceOf(ACCOUNT_NUMBER);
+        pendingBalances.releaseAll(List.of(first));
+        Long afterFirst = pendingBalances.lastBalanceOf(ACCOUNT_NUMBER);
+        pendingBalances.releaseAll(List.of(second));
+
+        //then
+        assertEquals(9_700L, beforeRelease);
+        assertEquals(9_700L, afterFirst);
+        assertNull(pendingBalances.lastBalanceOf(ACCOUNT_NUMBER));
+        assertNull(pendingBalances.useOf("tx-2"));
+    }
+
+    @Test
+    @DisplayName("저널에 기록하지 못한 기록을 해제하면 그 전 기록 잔액으로 돌아간다")
+    void releaseFailedRecord() {
+        //given
+        PendingBalances pendingBalances = new PendingBalances();
+        pendingBalances.reserve(use("tx-1", 100L, 9_900L));
+        JournalRecord failed = use("tx-2", 200L, 9_700L);
+        pendingBalances.reserve(failed);
+
+        //when
+        pendingBalances.release(failed);
+
+        //then
+        assertEquals(9_900L, pendingBalances.lastBalanceOf(ACCOUNT_NUMBER));
+        assertNull(pendingBalances.useOf("tx-2"));
+    }
+
+    private static JournalRecord use(String transactionId, long amount, long balanceSnapshot) {
+        return new JournalRecord(0L, TransactionType.USE, ACCOUNT_NUMBER, transactionId, "",
+                amount, balanceSnapshot, 1_700_000_000_000L);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.accountmission.journal;
+
+import com.example.accountmission.domain.Account;
+import com.example.accountmission.domain.AccountUser;
+import com.example.accountmission.domain.Transaction;
+import com.example.accountmission.dto.TransactionDto;
+import com.example.accountmission.engine.BalanceEngine;
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.limit.SpendingLimiter;
+import com.example.accountmission.repository.AccountRepository;
+import com.example.accountmission.repository.AccountUserRepository;
+import com.example.accountmission.repository.TransactionRepository;
+import com.example.accountmission.type.AccountStatus;
+import com.example.accountmission.type.ErrorCode;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionJournalTest {
+    private static final String ACCOUNT_NUMBER = "1000000012";
+
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @TempDir
+    Path directory;
+
+    private WriteAheadLog writeAheadLog;
+    private TransactionJournal transactionJournal;
+
+    // 반영 쓰레드 없이 fsync 만 하므로 기록은 계속 미반영으로 남는다.
+    @BeforeEach
+    void setUp() {
+        writeAheadLog = new WriteAheadLog(directory, 4096, records -> {
+        }, cause -> {
+        });
+        writeAheadLog.recover();
+        writeAheadLog.start();
+        transactionJournal = new TransactionJournal(writeAheadLog, null, new PendingBalances(),
+                BalanceEngine.disabled(), SpendingLimiter.disabled(),
+                accountUserRepository, accountRepository, transactionRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeAheadLog.close();
+    }
+
+    @Test
+    @DisplayName("저널에 기록한 직후 조회하면 DB 에 반영되지 않았어도 거래와 취소 금액을 돌려준다")
+    void queryPendingTransaction() {
+        //given
+        AccountUser user = AccountUser.builder().id(1L).name("Test USER").build();
+        Account account = Account.builder()
+                .id(1L)
+                .accountUser(user)
+                .accountNumber(ACCOUNT_NUMBER)
+                .balance(10_000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+        given(accountUserRepository.findById(1L)).willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(ACCOUNT_NUMBER)).willReturn(Optional.of(account));
+        given(transactionRepository.findByTransactionId(anyString())).willReturn(Optional.empty());
+
+        //when
+        TransactionDto used = transactionJournal.useBalance(1L, ACCOUNT_NUMBER, 1_000L);
+        TransactionDto cancelled = transactionJournal.cancelBalance(used.getTransactionId(), ACCOUNT_NUMBER, 300L);
+        TransactionDto queriedUse = transactionJournal.queryTransaction(used.getTransactionId(), id -> {
+            throw AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND);
+        });
+        TransactionDto queriedCancel = transactionJournal.queryTransaction(cancelled.getTransactionId(), id -> {
+            throw AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND);
+        });
+
+        //then
+        assertEquals(TransactionType.USE, queriedUse.getTransactionType());
+        assertEquals(TransactionResultType.SUCCESS, queriedUse.getTransactionResultType());
+        assertEquals(ACCOUNT_NUMBER, queriedUse.getAccountNumber());
+        assertEquals(1_000L, queriedUse.getAmount());
+        assertEquals(9_000L, queriedUse.getBalanceSnapshot());
+        assertEquals(300L, queriedUse.getCancelledAmount());
+        assertEquals(TransactionType.CANCEL, queriedCancel.getTransactionType());
+        assertEquals(300L, queriedCancel.getAmount());
+        assertEquals(9_300L, queriedCancel.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("DB 에 반영된 거래는 미반영 취소 금액을 더해서 돌려준다")
+    void queryAppliedTransactionWithPendingCancel() {
+        //given
+        TransactionDto applied = TransactionDto.builder()
+                .accountNumber(ACCOUNT_NUMBER)
+                .transactionId("tx-1")
+                .transactionType(TransactionType.USE)
+                .transactionResultType(TransactionResultType.SUCCESS)
+                .amount(1_000L)
+                .balanceSnapshot(9_000L)
+                .cancelledAmount(100L)
+                .build();
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber(ACCOUNT_NUMBER)
+                .balance(9_100L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+        given(accountRepository.findByAccountNumber(ACCOUNT_NUMBER)).willReturn(Optional.of(account));
+        given(transactionRepository.findByTransactionId("tx-1")).willReturn(Optional.of(
+                Transaction.builder()
+                        .account(account)
+                        .transactionType(TransactionType.USE)
+                        .transactionResultType(TransactionResultType.SUCCESS)
+                        .transactionId("tx-1")
+                        .amount(1_000L)
+                        .cancelledAmount(100L)
+                        .build()));
+
+        //when
+        transactionJournal.cancelBalance("tx-1", ACCOUNT_NUMBER, 200L);
+        TransactionDto queried = transactionJournal.queryTransaction("tx-1", id -> applied);
+
+        //then
+        assertEquals(300L, queried.getCancelledAmount());
+        assertEquals(100L, applied.getCancelledAmount());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.accountmission.journal;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import com.example.accountmission.type.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+    private static final int FILE_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("fsync 된 기록은 sequence 순서대로 반영 대기열로 전달된다")
+    void appendDeliversDurableRecordsInOrder() {
+        //given
+        List<JournalRecord> durable = new CopyOnWriteArrayList<>();
+        WriteAheadLog wal = new WriteAheadLog(directory, FILE_SIZE, durable::addAll,
+                WriteAheadLogTest::unexpectedFailure);
+        wal.recover();
+        wal.start();
+
+        //when
+        List<CompletableFuture<JournalRecord>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(wal.append(use("tx-" + i, 100L)));
+        }
+        futures.forEach(CompletableFuture::join);
+        wal.close();
+
+        //then
+        assertEquals(200, durable.size());
+        for (int i = 0; i < durable.size(); i++) {
+            assertEquals(i + 1, durable.get(i).sequence());
+            assertEquals("tx-" + i, durable.get(i).transactionId());
+        }
+    }
+
+    @Test
+    @DisplayName("재시작하면 체크포인트 이후의 기록만 복구하고 반영이 끝난 파일은 지운다")
+    void recoverAfterCheckpoint() throws IOException {
+        //given
+        WriteAheadLog wal = new WriteAheadLog(directory, FILE_SIZE, records -> {
+        }, WriteAheadLogTest::unexpectedFailure);
+        wal.recover();
+        wal.start();
+        for (int i = 0; i < 200; i++) {
+            wal.append(use("tx-" + i, 100L)).join();
+        }
+        wal.checkpoint(150);
+        wal.close();
+
+        //when
+        List<JournalRecord> recovered = new WriteAheadLog(directory, FILE_SIZE, records -> {
+        }, WriteAheadLogTest::unexpectedFailure).recover();
+
+        //then
+        assertEquals(50, recovered.size());
+        assertEquals(151, recovered.get(0).sequence());
+        assertEquals("tx-199", recovered.get(49).transactionId());
+        // 파일 하나에 약 60건이 들어가므로 앞쪽 파일은 지워졌어야 한다.
+        assertTrue(journalFiles().size() < 4);
+    }
+
+    @Test
+    @DisplayName("쓰다 중단된 마지막 기록은 CRC 검사로 버린다")
+    void recoverIgnoresTornTail() throws IOException {
+        //given
+        WriteAheadLog wal = new WriteAheadLog(directory, FILE_SIZE, records -> {
+        }, WriteAheadLogTest::unexpectedFailure);
+        wal.recover();
+        wal.start();
+        wal.append(use("tx-1", 100L)).join();
+        wal.append(new JournalRecord(0L, TransactionType.CANCEL, "1000000012", "tx-2", "tx-1",
+                40L, 9960L, 1_700_000_000_000L)).join();
+        wal.close();
+
+        Path file = journalFiles().get(0);
+        int secondFrame = 8 + use("tx-1", 100L).encodedLength();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), secondFrame + 20);
+        }
+
+        //when
+        List<JournalRecord> recovered = new WriteAheadLog(directory, FILE_SIZE, records -> {
+        }, WriteAheadLogTest::unexpectedFailure).recover();
+
+        //then
+        assertEquals(1, recovered.size());
+        assertEquals("tx-1", recovered.get(0).transactionId());
+        assertEquals(TransactionType.USE, recovered.get(0).transactionType());
+    }
+
+    @Test
+    @DisplayName("fail-stop 이후의 기록은 쓰지 않고 JOURNAL_UNAVAILABLE 로 거절한다")
+    void failStopRejectsAppends() {
+        //given
+        List<JournalRecord> durable = new CopyOnWriteArrayList<>();
+        WriteAheadLog wal = new WriteAheadLog(directory, FILE_SIZE, durable::addAll,
+                WriteAheadLogTest::unexpectedFailure);
+        wal.recover();
+        wal.start();
+        wal.append(use("tx-1", 100L)).join();
+
+        //when
+        wal.failStop(new IOException("fsync failed"));
+        CompletableFuture<JournalRecord> rejected = wal.append(use("tx-2", 100L));
+        wal.close();
+
+        //then
+        assertTrue(wal.isFailed());
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertEquals(ErrorCode.JOURNAL_UNAVAILABLE, ((AccountException) exception.getCause()).getErrorCode());
+        List<JournalRecord> recovered = new WriteAheadLog(directory, FILE_SIZE, records -> {
+        }, WriteAheadLogTest::unexpectedFailure).recover();
+        assertEquals(List.of("tx-1"), recovered.stream().map(JournalRecord::transactionId).toList());
+        assertEquals(1, durable.size());
+    }
+
+    private static void unexpectedFailure(Throwable cause) {
+        throw new AssertionError("Unexpected journal fsync failure", cause);
+    }
+
+    private List<Path> journalFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> journalFiles = new ArrayList<>(files
+                    .filter(path -> path.getFileName().toString().endsWith(".wal"))
+                    .toList());
+            Collections.sort(journalFiles);
+            return journalFiles;
+        }
+    }
+
+    private static JournalRecord use(String transactionId, long amount) {
+        return new JournalRecord(0L, TransactionType.USE, "1000000012", transactionId, "",
+                amount, 10_000L - amount, 1_700_000_000_000L);
+    }
+}
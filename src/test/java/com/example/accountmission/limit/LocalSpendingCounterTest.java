@@ -0,0 +1,103 @@
+package com.example.accountmission.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalSpendingCounterTest {
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @Test
+    @DisplayName("window 안의 사용액 합계가 한도를 넘으면 거절")
+    void rejectOverLimit() {
+        //given
+        LocalSpendingCounter counter = new LocalSpendingCounter(DAY, HOUR, 100);
+
+        //when
+        //then
+        assertTrue(counter.tryAdd("account:1000000000", 6000L, 10000L, 0L));
+        assertTrue(counter.tryAdd("account:1000000000", 4000L, 10000L, 3 * HOUR));
+        assertFalse(counter.tryAdd("account:1000000000", 1L, 10000L, 5 * HOUR));
+        // 다른 키는 영향 없음
+        assertTrue(counter.tryAdd("account:1000000001", 10000L, 10000L, 5 * HOUR));
+    }
+
+    @Test
+    @DisplayName("window 를 벗어난 bucket 의 사용액은 빠진다")
+    void slideWindow() {
+        //given
+        LocalSpendingCounter counter = new LocalSpendingCounter(DAY, HOUR, 100);
+        counter.tryAdd("account:1000000000", 6000L, 10000L, 0L);
+        counter.tryAdd("account:1000000000", 4000L, 10000L, 3 * HOUR);
+
+        //when
+        //then
+        assertFalse(counter.tryAdd("account:1000000000", 6000L, 10000L, DAY - 1));
+        // 첫 bucket 만 빠지므로 6000 까지 허용
+        assertTrue(counter.tryAdd("account:1000000000", 6000L, 10000L, DAY));
+        assertFalse(counter.tryAdd("account:1000000000", 1L, 10000L, DAY));
+    }
+
+    @Test
+    @DisplayName("되돌린 사용액은 한도에서 빠지고, 추적 키가 넘치면 사용액이 없는 키만 정리")
+    void subtractAndEvict() {
+        //given
+        LocalSpendingCounter counter = new LocalSpendingCounter(DAY, HOUR, 2);
+        counter.tryAdd("account:1000000000", 10000L, 10000L, 0L);
+        counter.tryAdd("account:1000000001", 10000L, 10000L, 0L);
+
+        //when
+        counter.subtract("account:1000000001", 10000L, 0L);
+        counter.tryAdd("account:1000000002", 1000L, 10000L, HOUR);
+
+        //then
+        assertEquals(2, counter.trackedKeys());
+        assertFalse(counter.tryAdd("account:1000000000", 1L, 10000L, HOUR));
+    }
+
+    @Test
+    @DisplayName("정리와 더하기가 동시에 일어나도 한 키의 사용액이 한도를 넘지 않는다")
+    void evictConcurrently() throws Exception {
+        //given
+        // 추적 키가 1개뿐이라 두 키가 번갈아 서로의 빈 window 를 정리한다.
+        LocalSpendingCounter counter = new LocalSpendingCounter(DAY, HOUR, 1);
+        List<String> keys = List.of("account:1000000000", "account:1000000001");
+        Map<String, AtomicInteger> holders = Map.of(
+                keys.get(0), new AtomicInteger(), keys.get(1), new AtomicInteger());
+        AtomicInteger maxHolders = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String key = keys.get(t % keys.size());
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    if (counter.tryAdd(key, 1L, 1L, 0L)) {
+                        maxHolders.accumulateAndGet(holders.get(key).incrementAndGet(), Math::max);
+                        holders.get(key).decrementAndGet();
+                        counter.subtract(key, 1L, 0L);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //then
+        assertEquals(1, maxHolders.get());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.accountmission.lock;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 모든 AccountLockProvider 구현이 지켜야 하는 동작
+ * 락은 쓰레드 단위이므로 경쟁하는 요청은 다른 쓰레드에서 실행한다.
+ */
+abstract class AccountLockProviderContractTest {
+    protected static final long WAIT_MILLIS = 200L;
+    protected static final String ACCOUNT_NUMBER = "1000000000";
+    protected static final String OTHER_ACCOUNT_NUMBER = "1000000001";
+
+    private final ExecutorService otherThread = Executors.newSingleThreadExecutor();
+    protected AccountLockProvider provider;
+
+    // 대기 시간은 WAIT_MILLIS 로 만든다.
+    protected abstract AccountLockProvider createProvider();
+
+    // 락 안에서 계좌에 토큰을 반영한다. (Account.fence 에 해당, 토큰을 계좌에서 읽는 구현만 필요)
+    protected void applyToken(String accountNumber, long token) {
+    }
+
+    @BeforeEach
+    void setupProvider() {
+        provider = createProvider();
+    }
+
+    @AfterEach
+    void shutdownOtherThread() {
+        otherThread.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("락을 잡고 있으면 다른 쓰레드는 대기 시간 후 실패")
+    void lockedByOtherThread() throws Exception {
+        //given
+        provider.lock(ACCOUNT_NUMBER);
+
+        //when
+        AccountException exception;
+        try {
+            exception = onOtherThread(() ->
+                    assertThrows(AccountException.class, () -> provider.lock(ACCOUNT_NUMBER)));
+        } finally {
+            provider.unlock(ACCOUNT_NUMBER);
+        }
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("해제한 락은 다른 쓰레드가 잡을 수 있다")
+    void lockAfterUnlock() throws Exception {
+        //given
+        provider.lock(ACCOUNT_NUMBER);
+        provider.unlock(ACCOUNT_NUMBER);
+
+        //when
+        //then
+        assertTrue(onOtherThread(() -> {
+            provider.lock(ACCOUNT_NUMBER);
+            provider.unlock(ACCOUNT_NUMBER);
+            return true;
+        }));
+    }
+
+    @Test
+    @DisplayName("다른 계좌의 락은 서로 막지 않는다")
+    void otherAccountNotBlocked() throws Exception {
+        //given
+        provider.lock(ACCOUNT_NUMBER);
+
+        //when
+        //then
+        try {
+            assertTrue(onOtherThread(() -> {
+                provider.lock(OTHER_ACCOUNT_NUMBER);
+                provider.unlock(OTHER_ACCOUNT_NUMBER);
+                return true;
+            }));
+        } finally {
+            provider.unlock(ACCOUNT_NUMBER);
+        }
+    }
+
+    @Test
+    @DisplayName("다음 락의 펜싱 토큰은 반영된 토큰보다 크다")
+    void fencingTokenIncreases() throws Exception {
+        //given
+        long first = provider.lock(ACCOUNT_NUMBER);
+        applyToken(ACCOUNT_NUMBER, first);
+        provider.unlock(ACCOUNT_NUMBER);
+
+        //when
+        long second = onOtherThread(() -> {
+            long token = provider.lock(ACCOUNT_NUMBER);
+            provider.unlock(ACCOUNT_NUMBER);
+            return token;
+        });
+
+        //then
+        assertTrue(second > first, () -> second + " <= " + first);
+    }
+
+    @Test
+    @DisplayName("다른 구현에서 바꿔도 토큰은 이전 구현이 계좌에 반영한 토큰보다 작지 않다")
+    void fencingTokenAfterProviderSwitch() {
+        //given
+        LocalAccountLockProvider previous = new LocalAccountLockProvider(WAIT_MILLIS);
+        long previousToken = previous.lock(ACCOUNT_NUMBER);
+        previous.unlock(ACCOUNT_NUMBER);
+        applyToken(ACCOUNT_NUMBER, previousToken);
+
+        //when
+        long token = provider.lock(ACCOUNT_NUMBER);
+        provider.unlock(ACCOUNT_NUMBER);
+
+        //then
+        assertTrue(token >= previousToken, () -> token + " < " + previousToken);
+    }
+
+    @Test
+    @DisplayName("잡지 않은 락 해제는 무시")
+    void unlockNotHeld() {
+        //given
+        //when
+        //then
+        assertDoesNotThrow(() -> provider.unlock(OTHER_ACCOUNT_NUMBER));
+    }
+
+    private <T> T onOtherThread(Callable<T> action) throws Exception {
+        return otherThread.submit(action).get(5, TimeUnit.SECONDS);
+    }
+}
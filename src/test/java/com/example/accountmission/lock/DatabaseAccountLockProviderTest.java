@@ -0,0 +1,30 @@
+package com.example.accountmission.lock;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * H2 메모리 DB 의 계좌 행 락, 락 대기 시간은 H2 LOCK_TIMEOUT 으로 맞춘다.
+ */
+class DatabaseAccountLockProviderTest extends AccountLockProviderContractTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected AccountLockProvider createProvider() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:account-lock;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=" + WAIT_MILLIS, "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists account " +
+                "(account_number varchar(10) primary key, fencing_token bigint)");
+        jdbcTemplate.update("delete from account");
+        jdbcTemplate.update("insert into account (account_number) values (?), (?)",
+                ACCOUNT_NUMBER, OTHER_ACCOUNT_NUMBER);
+        return new DatabaseAccountLockProvider(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @Override
+    protected void applyToken(String accountNumber, long token) {
+        jdbcTemplate.update("update account set fencing_token = ? where account_number = ?", token, accountNumber);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.accountmission.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalAccountLockProviderTest extends AccountLockProviderContractTest {
+
+    @Override
+    protected AccountLockProvider createProvider() {
+        return new LocalAccountLockProvider(WAIT_MILLIS);
+    }
+
+    @Test
+    @DisplayName("기다리는 쓰레드가 없으면 계좌 락을 지운다")
+    void removeUnusedLock() {
+        //given
+        LocalAccountLockProvider local = (LocalAccountLockProvider) provider;
+        local.lock(ACCOUNT_NUMBER);
+        local.lock(ACCOUNT_NUMBER);
+
+        //when
+        local.unlock(ACCOUNT_NUMBER);
+        int lockedOnce = local.lockCount();
+        local.unlock(ACCOUNT_NUMBER);
+
+        //then
+        assertEquals(1, lockedOnce);
+        assertEquals(0, local.lockCount());
+    }
+}
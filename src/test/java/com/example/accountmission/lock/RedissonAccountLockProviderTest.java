@@ -0,0 +1,72 @@
+package com.example.accountmission.lock;
+
+import com.example.accountmission.service.LockService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 임베디드 Redis 에 붙은 LockService
+ */
+class RedissonAccountLockProviderTest extends AccountLockProviderContractTest {
+    private static RedisServer redisServer;
+    private static RedissonClient redissonClient;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redissonClient != null) {
+            redissonClient.shutdown();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Override
+    protected AccountLockProvider createProvider() {
+        LockProperties properties = new LockProperties();
+        properties.setWaitTime(Duration.ofMillis(WAIT_MILLIS));
+        return new LockService(redissonClient, properties);
+    }
+
+    @Test
+    @DisplayName("Redis 가 초기화되어 토큰 카운터가 사라져도 토큰은 작아지지 않는다")
+    void fencingTokenAfterRedisReset() {
+        //given
+        long before = provider.lock(ACCOUNT_NUMBER);
+        provider.unlock(ACCOUNT_NUMBER);
+
+        //when
+        redissonClient.getKeys().flushall();
+        long after = provider.lock(ACCOUNT_NUMBER);
+        provider.unlock(ACCOUNT_NUMBER);
+
+        //then
+        assertTrue(after > before, () -> after + " <= " + before);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.accountmission.reconciliation;
+
+import com.example.accountmission.archive.ArchivedTransaction;
+import com.example.accountmission.archive.TransactionArchive;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.accountmission.type.TransactionResultType.SUCCESS;
+import static com.example.accountmission.type.TransactionType.CANCEL;
+import static com.example.accountmission.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountChainScannerTest {
+    private final List<BalanceMismatch> mismatches = new ArrayList<>();
+
+    @TempDir
+    Path archiveDirectory;
+
+    @Test
+    @DisplayName("개설 잔액 - 사용 + 취소 가 잔액과 같으면 불일치 없음")
+    void consistentChain() {
+        //given
+        AccountChainScanner scanner = new AccountChainScanner("default", null, mismatches::add);
+
+        //when
+        scanner.startAccount(1L, "1000000000", 10_000L, 8_500L);
+        scanner.onTransaction("tx-1", USE, 2_000L, 8_000L);
+        scanner.onTransaction("tx-2", CANCEL, 500L, 8_500L);
+        scanner.startAccount(2L, "1000000001", 3_000L, 3_000L);
+        scanner.finishAccount();
+
+        //then
+        assertTrue(mismatches.isEmpty());
+        assertEquals(2, scanner.getAccounts());
+        assertEquals(2, scanner.getTransactions());
+    }
+
+    @Test
+    @DisplayName("balanceSnapshot 이 처음 어긋난 거래만 보고한다")
+    void firstDivergentTransaction() {
+        //given
+        AccountChainScanner scanner = new AccountChainScanner("default", null, mismatches::add);
+
+        //when
+        scanner.startAccount(1L, "1000000000", 10_000L, 6_000L);
+        scanner.onTransaction("tx-1", USE, 2_000L, 8_000L);
+        scanner.onTransaction("tx-2", USE, 1_000L, 6_000L);
+        scanner.onTransaction("tx-3", USE, 1_000L, 5_000L);
+        scanner.finishAccount();
+
+        //then
+        assertEquals(1, mismatches.size());
+        BalanceMismatch mismatch = mismatches.get(0);
+        assertEquals(BalanceMismatch.Type.SNAPSHOT, mismatch.type());
+        assertEquals("tx-2", mismatch.transactionId());
+        assertEquals(7_000L, mismatch.expected());
+        assertEquals(6_000L, mismatch.actual());
+    }
+
+    @Test
+    @DisplayName("거래는 맞지만 계좌 잔액이 다르면 잔액 불일치")
+    void balanceMismatch() {
+        //given
+        AccountChainScanner scanner = new AccountChainScanner("default", null, mismatches::add);
+
+        //when
+        scanner.startAccount(1L, "1000000000", null, 7_000L);
+        scanner.onTransaction("tx-1", USE, 2_000L, 8_000L);
+        scanner.onTransaction("tx-2", USE, 500L, 7_500L);
+        scanner.finishAccount();
+
+        //then
+        assertEquals(1, mismatches.size());
+        assertEquals(BalanceMismatch.Type.BALANCE, mismatches.get(0).type());
+        assertEquals(7_500L, mismatches.get(0).expected());
+        assertEquals(7_000L, mismatches.get(0).actual());
+    }
+
+    @Test
+    @DisplayName("앞선 거래가 보관되었으면 보관된 거래로 시작값을 계산한다")
+    void replayArchivedTransactions() {
+        //given
+        TransactionArchive archive = new TransactionArchive(archiveDirectory);
+        archive.append("default", 1, 2, List.of(
+                new ArchivedTransaction(1, 1000000000L, "tx-1", USE, SUCCESS, 2_000L, 8_000L, 0L, 1L),
+                new ArchivedTransaction(2, 1000000000L, "tx-2", CANCEL, SUCCESS, 1_000L, 9_000L, 0L, 2L)));
+        AccountChainScanner scanner = new AccountChainScanner("default", archive, mismatches::add);
+
+        //when
+        scanner.startAccount(1L, "1000000000", 10_000L, 8_000L);
+        scanner.onTransaction("tx-3", USE, 1_000L, 8_000L);
+        scanner.finishAccount();
+
+        //then
+        assertTrue(mismatches.isEmpty());
+    }
+
+    @Test
+    @DisplayName("거래가 모두 보관된 계좌는 보관된 거래를 반영해서 현재 잔액과 비교한다")
+    void fullyArchivedAccount() {
+        //given
+        TransactionArchive archive = new TransactionArchive(archiveDirectory);
+        archive.append("default", 1, 2, List.of(
+                new ArchivedTransaction(1, 1000000000L, "tx-1", USE, SUCCESS, 2_000L, 8_000L, 0L, 1L),
+                new ArchivedTransaction(2, 1000000000L, "tx-2", CANCEL, SUCCESS, 1_000L, 9_000L, 0L, 2L)));
+        AccountChainScanner scanner = new AccountChainScanner("default", archive, mismatches::add);
+
+        //when
+        scanner.startAccount(1L, "1000000000", 10_000L, 9_000L);
+        scanner.startAccount(2L, "1000000001", 10_000L, 9_000L);
+        scanner.finishAccount();
+
+        //then
+        // 보관된 거래가 없는 계좌의 잔액 차이는 그대로 보고한다.
+        assertEquals(1, mismatches.size());
+        assertEquals("1000000001", mismatches.get(0).accountNumber());
+        assertEquals(BalanceMismatch.Type.BALANCE, mismatches.get(0).type());
+    }
+}
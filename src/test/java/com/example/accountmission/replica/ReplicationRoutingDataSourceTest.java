@@ -0,0 +1,102 @@
+package com.example.accountmission.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicationRoutingDataSourceTest {
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTemplate;
+    private TransactionTemplate writeTemplate;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("primary");
+        replica = node("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primary).execute("drop table node");
+        new JdbcTemplate(replica).execute("drop table node");
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 레플리카에서 읽는다")
+    void readOnlyGoesToReplica() {
+        //given
+        init(new ReplicaLagMonitor(replica, "select 0", 1000));
+        //when
+        String readNode = readOnlyTemplate.execute(status -> currentNode());
+        String writeNode = writeTemplate.execute(status -> currentNode());
+        //then
+        assertEquals("replica", readNode);
+        assertEquals("primary", writeNode);
+    }
+
+    @Test
+    @DisplayName("복제 지연이 크면 primary 에서 읽는다")
+    void laggingReplicaFallsBackToPrimary() {
+        //given
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica, "select 5000", 1000);
+        init(lagMonitor);
+        //when
+        lagMonitor.checkLag();
+        //then
+        assertEquals("primary", readOnlyTemplate.execute(status -> currentNode()));
+    }
+
+    @Test
+    @DisplayName("지연 확인에 실패하면 primary 에서 읽는다")
+    void failedLagCheckFallsBackToPrimary() {
+        //given
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica, "select lag from no_such_table", 1000);
+        init(lagMonitor);
+        //when
+        lagMonitor.checkLag();
+        //then
+        assertEquals("primary", readOnlyTemplate.execute(status -> currentNode()));
+    }
+
+    private void init(ReplicaLagMonitor lagMonitor) {
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(lagMonitor);
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceType.PRIMARY, primary,
+                DataSourceType.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(10))");
+        jdbcTemplate.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
@@ -3,9 +3,11 @@ package com.example.accountmission.service;
 import com.example.accountmission.domain.Account;
 import com.example.accountmission.domain.AccountUser;
 import com.example.accountmission.dto.AccountDto;
+import com.example.accountmission.engine.BalanceEngine;
 import com.example.accountmission.exception.AccountException;
 import com.example.accountmission.repository.AccountRepository;
 import com.example.accountmission.repository.AccountUserRepository;
+import com.example.accountmission.shard.ShardRouter;
 import com.example.accountmission.type.AccountStatus;
 import com.example.accountmission.type.ErrorCode;
 import org.junit.jupiter.api.Assertions;
@@ -17,6 +19,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -39,7 +42,8 @@ class AccountServiceTest {
 
     @BeforeEach
     void setUp() {
-        accountService = new AccountService(accountRepository, accountUserRepository);
+        accountService = new AccountService(accountRepository, accountUserRepository, ShardRouter.single(),
+                new ResourceVersionCache(1000, Duration.ofSeconds(5), Duration.ofSeconds(1)), BalanceEngine.disabled());
     }
 
     @Test
@@ -0,0 +1,84 @@
+package com.example.accountmission.service;
+
+import com.example.accountmission.domain.AccountDailyStats;
+import com.example.accountmission.dto.AccountDailyStatsDto;
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.repository.AccountDailyStatsRepository;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.stats.TransactionStatsAccumulator;
+import com.example.accountmission.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class AccountStatsServiceTest {
+    private static final LocalDate DAY1 = LocalDate.of(2024, 5, 1);
+    private static final LocalDate DAY2 = LocalDate.of(2024, 5, 2);
+
+    @Mock
+    private AccountDailyStatsRepository accountDailyStatsRepository;
+    @Mock
+    private TransactionStatsAccumulator transactionStatsAccumulator;
+
+    private AccountStatsService accountStatsService;
+
+    @BeforeEach
+    void setup() {
+        accountStatsService = new AccountStatsService(
+                accountDailyStatsRepository, transactionStatsAccumulator, ShardRouter.single());
+    }
+
+    @Test
+    @DisplayName("저장된 집계와 아직 반영되지 않은 집계를 합쳐서 조회")
+    void getStats_MergesPending() {
+        //given
+        given(accountDailyStatsRepository.findByAccountNumberAndStatDateBetweenOrderByStatDate(
+                "1000000012", DAY1, DAY2))
+                .willReturn(List.of(AccountDailyStats.builder()
+                        .accountNumber("1000000012")
+                        .statDate(DAY1)
+                        .useCount(3L)
+                        .useAmount(3000L)
+                        .useFailCount(1L)
+                        .build()));
+        given(transactionStatsAccumulator.pendingOf("1000000012", DAY1))
+                .willReturn(new long[]{1L, 500L, 0L, 0L, 0L, 0L});
+        given(transactionStatsAccumulator.pendingOf("1000000012", DAY2))
+                .willReturn(new long[]{0L, 0L, 0L, 1L, 200L, 0L});
+
+        //when
+        List<AccountDailyStatsDto> stats = accountStatsService.getStats("1000000012", DAY1, DAY2);
+
+        //then
+        assertEquals(2, stats.size());
+        assertEquals(DAY1, stats.get(0).getDate());
+        assertEquals(4L, stats.get(0).getUseCount());
+        assertEquals(3500L, stats.get(0).getUseAmount());
+        assertEquals(0.2, stats.get(0).getFailureRate());
+        assertEquals(DAY2, stats.get(1).getDate());
+        assertEquals(1L, stats.get(1).getCancelCount());
+        assertEquals(200L, stats.get(1).getCancelAmount());
+    }
+
+    @Test
+    @DisplayName("조회 기간이 잘못되면 실패")
+    void getStats_InvalidRange() {
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountStatsService.getStats("1000000012", DAY2, DAY1));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.accountmission.service;
+
+import com.example.accountmission.domain.Account;
+import com.example.accountmission.domain.AccountUser;
+import com.example.accountmission.domain.BalanceHold;
+import com.example.accountmission.domain.Transaction;
+import com.example.accountmission.dto.BalanceHoldDto;
+import com.example.accountmission.dto.TransactionDto;
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.limit.SpendingLimiter;
+import com.example.accountmission.lock.FencingTokenHolder;
+import com.example.accountmission.repository.AccountRepository;
+import com.example.accountmission.repository.AccountUserRepository;
+import com.example.accountmission.repository.BalanceHoldBatchRepository;
+import com.example.accountmission.repository.BalanceHoldBatchRepository.ExpiredHold;
+import com.example.accountmission.repository.BalanceHoldRepository;
+import com.example.accountmission.repository.TransactionRepository;
+import com.example.accountmission.stats.TransactionStatsAccumulator;
+import com.example.accountmission.type.AccountStatus;
+import com.example.accountmission.type.ErrorCode;
+import com.example.accountmission.type.HoldStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.example.accountmission.type.TransactionResultType.SUCCESS;
+import static com.example.accountmission.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceHoldServiceTest {
+    @Mock
+    private BalanceHoldRepository balanceHoldRepository;
+    @Mock
+    private BalanceHoldBatchRepository balanceHoldBatchRepository;
+    @Mock
+    private AccountUserRepository accountUserRepository;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private TransactionStatsAccumulator transactionStatsAccumulator;
+    @Mock
+    private SpendingLimiter spendingLimiter;
+
+    private BalanceHoldService balanceHoldService;
+
+    private final AccountUser user = AccountUser.builder().id(1L).name("Test USER").build();
+
+    @BeforeEach
+    void setup() {
+        balanceHoldService = new BalanceHoldService(balanceHoldRepository, balanceHoldBatchRepository,
+                accountUserRepository, accountRepository, transactionRepository,
+                new ResourceVersionCache(1000, Duration.ofSeconds(5), Duration.ofSeconds(1)), transactionStatsAccumulator,
+                spendingLimiter, Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("잔액 승인 성공 - 금액을 묶어두고 만료 시각을 정한다")
+    void successAuthorize() {
+        //given
+        Account account = Account.builder()
+                .id(1L).accountUser(user).accountNumber("1000000000")
+                .balance(10000L).accountStatus(AccountStatus.IN_USE)
+                .build();
+        given(accountUserRepository.findById(anyLong())).willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(account));
+        given(accountRepository.increaseHeldAmount(1L, 3000L)).willReturn(1);
+        given(balanceHoldRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        BalanceHoldDto hold = balanceHoldService.authorize(1L, "1000000000", 3000L);
+
+        //then
+        verify(accountRepository).increaseHeldAmount(1L, 3000L);
+        assertAll(
+                () -> assertEquals(HoldStatus.AUTHORIZED, hold.getHoldStatus()),
+                () -> assertEquals(3000L, hold.getAmount()),
+                () -> assertNotNull(hold.getHoldId()),
+                () -> assertEquals(Duration.ofMinutes(15),
+                        Duration.between(hold.getAuthorizedAt(), hold.getExpiresAt()))
+        );
+    }
+
+    @Test
+    @DisplayName("잔액 승인 실패 - 이미 묶인 금액을 빼면 잔액 부족")
+    void authorize_AmountExceedAvailableBalance() {
+        //given
+        Account account = Account.builder()
+                .id(1L).accountUser(user).accountNumber("1000000000")
+                .balance(10000L).heldAmount(8000L).accountStatus(AccountStatus.IN_USE)
+                .build();
+        given(accountUserRepository.findById(anyLong())).willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(account));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> balanceHoldService.authorize(1L, "1000000000", 3000L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(accountRepository, never()).increaseHeldAmount(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("잔액 승인 실패 - 확인 뒤 다른 사용이 먼저 반영되어 조건부 UPDATE 가 0 건")
+    void authorize_ConcurrentUse() {
+        //given
+        Account account = Account.builder()
+                .id(1L).accountUser(user).accountNumber("1000000000")
+                .balance(10000L).accountStatus(AccountStatus.IN_USE)
+                .build();
+        given(accountUserRepository.findById(anyLong())).willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(account));
+        given(accountRepository.increaseHeldAmount(1L, 3000L)).willReturn(0);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> balanceHoldService.authorize(1L, "1000000000", 3000L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(balanceHoldRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("잔액 승인 실패 - 락 임대 만료 후 오래된 토큰")
+    void authorize_StaleFencingToken() {
+        //given
+        Account account = Account.builder()
+                .id(1L).accountUser(user).accountNumber("1000000000")
+                .balance(10000L).accountStatus(AccountStatus.IN_USE).fencingToken(8L)
+                .build();
+        given(accountUserRepository.findById(anyLong())).willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(account));
+        FencingTokenHolder.set(7L);
+
+        //when
+        AccountException exception;
+        try {
+            exception = assertThrows(AccountException.class,
+                    () -> balanceHoldService.authorize(1L, "1000000000", 3000L));
+        } finally {
+            FencingTokenHolder.restore(null);
+        }
+
+        //then
+        assertEquals(ErrorCode.STALE_LOCK_TOKEN, exception.getErrorCode());
+        verify(accountRepository, never()).increaseHeldAmount(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("잔액 승인 실패 - 사용 한도 초과")
+    void authorize_DailyLimitExceeded() {
+        //given
+        Account account = Account.builder()
+                .id(1L).accountUser(user).accountNumber("1000000000")
+                .balance(10000L).accountStatus(AccountStatus.IN_USE)
+                .build();
+        given(accountUserRepository.findById(anyLong())).willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString())).willReturn(Optional.of(account));
+        willThrow(AccountException.of(ErrorCode.DAILY_LIMIT_EXCEEDED))
+                .given(spendingLimiter).acquire(1L, "1000000000", 3000L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> balanceHoldService.authorize(1L, "1000000000", 3000L));
+
+        //then
+        assertEquals(ErrorCode.DAILY_LIMIT_EXCEEDED, exception.getErrorCode());
+        verify(accountRepository, never()).increaseHeldAmount(anyLong(), anyLong());
+        verify(balanceHoldRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("승인 확정 성공 - 확정 금액만 출금하고 묶인 금액은 전부 해제")
+    void successCapture() {
+        //given
+        Account account = Account.builder()
+                .id(1L).accountUser(user).accountNumber("1000000000")
+                .balance(10000L).heldAmount(3000L).accountStatus(AccountStatus.IN_USE)
+                .build();
+        given(balanceHoldRepository.findByHoldId(anyString()))
+                .willReturn(Optional.of(hold(account, 3000L)));
+        given(balanceHoldRepository.complete(anyLong(), eq(HoldStatus.CAPTURED), any()))
+                .willReturn(1);
+        given(transactionRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        TransactionDto transactionDto = balanceHoldService.capture("holdId", "1000000000", 2500L);
+
+        //then
+        verify(accountRepository).decreaseHeldAmount(1L, 3000L);
+        verify(transactionRepository).save(captor.capture());
+        assertAll(
+                () -> assertEquals(7500L, account.getBalance()),
+                () -> assertEquals(2500L, captor.getValue().getAmount()),
+                () -> assertEquals(7500L, captor.getValue().getBalanceSnapshot()),
+                () -> assertEquals(USE, transactionDto.getTransactionType()),
+                () -> assertEquals(SUCCESS, transactionDto.getTransactionResultType())
+        );
+    }
+
+    @Test
+    @DisplayName("승인 확정 실패 - 승인 금액보다 큰 금액")
+    void capture_ExceedHold() {
+        //given
+        Account account = Account.builder()
+                .id(1L).accountUser(user).accountNumber("1000000000")
+                .balance(10000L).heldAmount(3000L).accountStatus(AccountStatus.IN_USE)
+                .build();
+        given(balanceHoldRepository.findByHoldId(anyString()))
+                .willReturn(Optional.of(hold(account, 3000L)));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> balanceHoldService.capture("holdId", "1000000000", 5000L));
+
+        //then
+        assertEquals(ErrorCode.CAPTURE_EXCEED_HOLD, exception.getErrorCode());
+        verify(balanceHoldRepository, never()).complete(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("승인 확정 실패 - 이미 만료된 승인")
+    void capture_HoldNotActive() {
+        //given
+        Account account = Account.builder()
+                .id(1L).accountUser(user).accountNumber("1000000000")
+                .balance(10000L).heldAmount(3000L).accountStatus(AccountStatus.IN_USE)
+                .build();
+        given(balanceHoldRepository.findByHoldId(anyString()))
+                .willReturn(Optional.of(hold(account, 3000L)));
+        given(balanceHoldRepository.complete(anyLong(), eq(HoldStatus.CAPTURED), any()))
+                .willReturn(0);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> balanceHoldService.capture("holdId", "1000000000", 3000L));
+
+        //then
+        assertEquals(ErrorCode.HOLD_NOT_ACTIVE, exception.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        verify(accountRepository, never()).decreaseHeldAmount(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("승인 만료 - 실제 만료된 건만 계좌별로 합쳐서 해제")
+    void expireBatch() {
+        //given
+        List<ExpiredHold> candidates = List.of(
+                new ExpiredHold(1L, 10L, 1000L),
+                new ExpiredHold(2L, 10L, 2000L),
+                new ExpiredHold(3L, 20L, 500L));
+        given(balanceHoldBatchRepository.findExpired(any(), eq(3))).willReturn(candidates);
+        // 2번은 그 사이 확정되어 만료되지 않음
+        given(balanceHoldBatchRepository.markExpired(eq(candidates), any()))
+                .willReturn(List.of(candidates.get(0), candidates.get(2)));
+
+        //when
+        int processed = balanceHoldService.expireBatch(3);
+
+        //then
+        assertEquals(3, processed);
+        verify(balanceHoldBatchRepository).releaseHeldAmounts(Map.of(10L, 1000L, 20L, 500L));
+    }
+
+    private static BalanceHold hold(Account account, Long amount) {
+        return BalanceHold.builder()
+                .id(1L)
+                .holdId("holdId")
+                .account(account)
+                .amount(amount)
+                .holdStatus(HoldStatus.AUTHORIZED)
+                .authorizedAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .build();
+    }
+}
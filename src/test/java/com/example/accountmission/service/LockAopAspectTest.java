@@ -2,20 +2,30 @@ package com.example.accountmission.service;
 
 import com.example.accountmission.aop.AccountLock;
 import com.example.accountmission.aop.AccountLockIdInterface;
+import com.example.accountmission.aop.AccountLockKeyResolver;
 import com.example.accountmission.dto.UseBalance;
 import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.hotkey.HotKeyDetector;
 import com.example.accountmission.type.ErrorCode;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.lang.reflect.Method;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -25,15 +35,21 @@ class LockAopAspectTest {
     @Mock
     private LockService lockService;
 
+    @Mock
+    private HotKeyDetector hotKeyDetector;
+
     @Mock
     private ProceedingJoinPoint pjp;
 
+    @Mock
+    private MethodSignature signature;
 
     LockAopAspect lockAopAspect;
 
     @BeforeEach
     void setup () {
-        this.lockAopAspect = new LockAopAspect(lockService);
+        this.lockAopAspect = new LockAopAspect(
+                new AccountLockTemplate(lockService, hotKeyDetector), new AccountLockKeyResolver());
     }
 
     @Test
@@ -47,7 +63,7 @@ class LockAopAspectTest {
         AccountLockIdInterface request
                 = new UseBalance.Request(1L,accountNumber,1000L);
         //when
-        lockAopAspect.aroundMethod(pjp, request);
+        lockAopAspect.aroundMethod(pjp, lockedMethod(request));
         //then
         verify(lockService, times(1)).lock(lockArgs.capture());
         verify(lockService, times(1)).unlock(unlockArgs.capture());
@@ -66,11 +82,113 @@ class LockAopAspectTest {
                 = new UseBalance.Request(1L,accountNumber,1000L);
         given(pjp.proceed()).willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
         //when
-        assertThrows(AccountException.class, () -> lockAopAspect.aroundMethod(pjp, request));
+        AccountLock accountLock = lockedMethod(request);
+        assertThrows(AccountException.class, () -> lockAopAspect.aroundMethod(pjp, accountLock));
         //then
         verify(lockService, times(1)).lock(lockArgs.capture());
         verify(lockService, times(1)).unlock(unlockArgs.capture());
         assertEquals("1234567890", lockArgs.getValue());
         assertEquals("1234567890", unlockArgs.getValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("락 대기 시간을 HotKeyDetector 에 기록")
+    void recordLockWait() throws Throwable {
+        //given
+        AccountLockIdInterface request
+                = new UseBalance.Request(1L, "1234567890", 1000L);
+        //when
+        lockAopAspect.aroundMethod(pjp, lockedMethod(request));
+        //then
+        verify(hotKeyDetector).record(eq("1234567890"), anyLong());
+        verify(hotKeyDetector, never()).enterSingleWriter("1234567890");
+    }
+
+    @Test
+    @DisplayName("승격된 계좌는 노드 안의 대기열을 거쳐 락을 잡고, 락을 푼 뒤 대기열을 나간다")
+    void promotedAccount_SingleWriter() throws Throwable {
+        //given
+        AccountLockIdInterface request
+                = new UseBalance.Request(1L, "1234567890", 1000L);
+        given(hotKeyDetector.isPromoted("1234567890")).willReturn(true);
+        //when
+        lockAopAspect.aroundMethod(pjp, lockedMethod(request));
+        //then
+        InOrder inOrder = inOrder(hotKeyDetector, lockService);
+        inOrder.verify(hotKeyDetector).enterSingleWriter("1234567890");
+        inOrder.verify(lockService).lock("1234567890");
+        inOrder.verify(lockService).unlock("1234567890");
+        inOrder.verify(hotKeyDetector).exitSingleWriter("1234567890");
+    }
+
+    @Test
+    @DisplayName("승격된 계좌의 락 획득에 실패하면 대기열을 나가고 대기 시간을 기록")
+    void promotedAccount_LockFailed() throws Throwable {
+        //given
+        AccountLockIdInterface request
+                = new UseBalance.Request(1L, "1234567890", 1000L);
+        given(hotKeyDetector.isPromoted("1234567890")).willReturn(true);
+        given(lockService.lock("1234567890"))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        //when
+        AccountLock accountLock = lockedMethod(request);
+        assertThrows(AccountException.class, () -> lockAopAspect.aroundMethod(pjp, accountLock));
+        //then
+        verify(hotKeyDetector).exitSingleWriter("1234567890");
+        verify(hotKeyDetector).record(eq("1234567890"), anyLong());
+        verify(lockService, never()).unlock("1234567890");
+        verify(pjp, never()).proceed();
+    }
+
+    @Test
+    @DisplayName("SpEL 로 여러 파라미터를 조합한 키로 락")
+    void lockWithCompositeKey() throws Throwable {
+        //given
+        Method method = LockedMethods.class.getMethod("transfer", String.class, String.class);
+        given(pjp.getSignature()).willReturn(signature);
+        given(signature.getMethod()).willReturn(method);
+        given(pjp.getArgs()).willReturn(new Object[]{"1234567890", "1234567891"});
+        //when
+        lockAopAspect.aroundMethod(pjp, method.getAnnotation(AccountLock.class));
+        //then
+        verify(lockService).lock("1234567890:1234567891");
+        verify(lockService).unlock("1234567890:1234567891");
+    }
+
+    @Test
+    @DisplayName("키를 지정하지 않으면 AccountLockIdInterface 파라미터의 계좌번호로 락")
+    void lockWithRequestFallback() throws Throwable {
+        //given
+        Method method = LockedMethods.class.getMethod("withoutKey", String.class, UseBalance.Request.class);
+        given(pjp.getSignature()).willReturn(signature);
+        given(signature.getMethod()).willReturn(method);
+        given(pjp.getArgs()).willReturn(new Object[]{"memo", new UseBalance.Request(1L, "1234567890", 1000L)});
+        //when
+        lockAopAspect.aroundMethod(pjp, method.getAnnotation(AccountLock.class));
+        //then
+        verify(lockService).lock("1234567890");
+        verify(lockService).unlock("1234567890");
+    }
+
+    private AccountLock lockedMethod(AccountLockIdInterface request) throws NoSuchMethodException {
+        Method method = LockedMethods.class.getMethod("useBalance", UseBalance.Request.class);
+        given(pjp.getSignature()).willReturn(signature);
+        given(signature.getMethod()).willReturn(method);
+        given(pjp.getArgs()).willReturn(new Object[]{request});
+        return method.getAnnotation(AccountLock.class);
+    }
+
+    static class LockedMethods {
+        @AccountLock("#request.accountNumber")
+        public void useBalance(UseBalance.Request request) {
+        }
+
+        @AccountLock("#from + ':' + #to")
+        public void transfer(String from, String to) {
+        }
+
+        @AccountLock
+        public void withoutKey(String memo, UseBalance.Request request) {
+        }
+    }
+}
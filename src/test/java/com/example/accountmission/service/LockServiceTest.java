@@ -1,20 +1,25 @@
 package com.example.accountmission.service;
 
 import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.lock.LockProperties;
 import com.example.accountmission.type.ErrorCode;
-import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
@@ -22,9 +27,15 @@ class LockServiceTest {
     RedissonClient redissonClient;
     @Mock
     private RLock rLock;
-    @InjectMocks
+    @Mock
+    private RScript fencingScript;
+
     LockService lockService;
 
+    @BeforeEach
+    void setup() {
+        lockService = new LockService(redissonClient, new LockProperties());
+    }
 
     @Test
     @DisplayName("Lock Service")
@@ -34,10 +45,17 @@ class LockServiceTest {
                 .willReturn(rLock);
         given(rLock.tryLock(anyLong(),anyLong(),any()))
                 .willReturn(true);
+        given(redissonClient.getScript(any()))
+                .willReturn(fencingScript);
+        given(fencingScript.eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.INTEGER), anyList()))
+                .willReturn(42L);
         String accountNumber = "12334567890";
         //when
-        lockService.lock(accountNumber);
+        long fencingToken = lockService.lock(accountNumber);
         //then
+        assertEquals(42L, fencingToken);
+        // 임대 시간 -1 : watchdog 이 연장
+        verify(rLock).tryLock(1000L, -1L, TimeUnit.MILLISECONDS);
     }
     @Test
     @DisplayName("Lock Service Exception")
@@ -54,4 +72,17 @@ class LockServiceTest {
         //then
         assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("임대가 만료된 락 해제는 무시")
+    void unlockAfterLeaseExpired() {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        willThrow(new IllegalMonitorStateException("not locked by current thread"))
+                .given(rLock).unlock();
+        //when
+        //then
+        assertDoesNotThrow(() -> lockService.unlock("12334567890"));
+    }
+}
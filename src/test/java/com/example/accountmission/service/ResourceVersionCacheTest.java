@@ -0,0 +1,43 @@
+package com.example.accountmission.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceVersionCacheTest {
+
+    @Test
+    @DisplayName("더 이상 바뀌지 않는 거래의 ETag 는 만료 없이 캐시한다")
+    void finalTransactionEtagDoesNotExpire() {
+        //given
+        ResourceVersionCache cache = new ResourceVersionCache(100, Duration.ofSeconds(5), Duration.ZERO);
+
+        //when
+        cache.putTransactionEtag("transactionId", "\"etag\"", true);
+
+        //then
+        assertEquals("\"etag\"", cache.getTransactionEtag("transactionId"));
+    }
+
+    @Test
+    @DisplayName("취소될 수 있는 거래의 ETag 는 TTL 이 지나면 DB 로 다시 확인한다")
+    void openTransactionEtagExpires() throws InterruptedException {
+        //given
+        ResourceVersionCache cache = new ResourceVersionCache(100, Duration.ofSeconds(5), Duration.ofMillis(200));
+        ResourceVersionCache uncached = new ResourceVersionCache(100, Duration.ofSeconds(5), Duration.ZERO);
+
+        //when
+        cache.putTransactionEtag("transactionId", "\"etag\"", false);
+        uncached.putTransactionEtag("transactionId", "\"etag\"", false);
+        String beforeExpiry = cache.getTransactionEtag("transactionId");
+        Thread.sleep(300);
+
+        //then
+        assertEquals("\"etag\"", beforeExpiry);
+        assertNull(cache.getTransactionEtag("transactionId"));
+        assertNull(uncached.getTransactionEtag("transactionId"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.accountmission.service;
+
+import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("같은 키의 동시 조회는 한번만 조회하고 결과를 나눠 받는다")
+    void coalesceConcurrentCalls() throws Exception {
+        //given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            //when
+            Future<String> leader = executor.submit(() -> singleFlight.execute("TRANSACTION_ID", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "result";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            FutureTask<String> follower = new FutureTask<>(() -> singleFlight.execute("TRANSACTION_ID", () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            Thread followerThread = new Thread(follower);
+            followerThread.start();
+            // follower 가 진행 중인 조회의 결과를 기다리기 시작한 뒤 조회를 끝낸다.
+            while (followerThread.getState() != Thread.State.WAITING && !follower.isDone()) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            //then
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("조회가 끝나면 결과를 남기지 않고, 예외는 그대로 던진다")
+    void notCachedAfterCompletion() {
+        //given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class, () ->
+                singleFlight.execute("TRANSACTION_ID", () -> {
+                    throw AccountException.of(ErrorCode.TRANSACTION_NOT_FOUND);
+                }));
+
+        //then
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
+        assertEquals("found", singleFlight.execute("TRANSACTION_ID", () -> "found"));
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.accountmission.service;
 
+import com.example.accountmission.archive.ArchivedTransaction;
+import com.example.accountmission.archive.TransactionArchive;
 import com.example.accountmission.domain.Account;
 import com.example.accountmission.domain.AccountUser;
 import com.example.accountmission.domain.Transaction;
 import com.example.accountmission.dto.TransactionDto;
 import com.example.accountmission.exception.AccountException;
+import com.example.accountmission.limit.SpendingLimiter;
+import com.example.accountmission.lock.FencingTokenHolder;
 import com.example.accountmission.repository.AccountRepository;
 import com.example.accountmission.repository.AccountUserRepository;
 import com.example.accountmission.repository.TransactionRepository;
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.stats.TransactionStatsAccumulator;
 import com.example.accountmission.type.AccountStatus;
 import com.example.accountmission.type.ErrorCode;
 import com.example.accountmission.type.TransactionResultType;
@@ -20,6 +26,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -30,6 +37,7 @@ import static com.example.accountmission.type.TransactionType.USE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -41,12 +49,21 @@ class TransactionServiceTest {
     private AccountUserRepository accountUserRepository;
     @Mock
     private AccountRepository accountRepository;
+    @Mock
+    private TransactionArchive transactionArchive;
+    @Mock
+    private TransactionStatsAccumulator transactionStatsAccumulator;
+    @Mock
+    private SpendingLimiter spendingLimiter;
 
     private TransactionService transactionService;
 
     @BeforeEach
     void setup() {
-        transactionService = new TransactionService(transactionRepository, accountUserRepository, accountRepository);
+        transactionService = new TransactionService(transactionRepository, accountUserRepository, accountRepository,
+                ShardRouter.single(),
+                new ResourceVersionCache(1000, Duration.ofSeconds(5), Duration.ofSeconds(1)),
+                transactionArchive, transactionStatsAccumulator, spendingLimiter);
     }
 
     @Test
@@ -94,6 +111,74 @@ class TransactionServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("일일 한도 초과 - 잔액 사용 실패")
+    void useBalance_DailyLimitExceeded() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .id(1L)
+                .name("Test USER")
+                .build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        Account account = Account.builder()
+                .accountUser(user)
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .accountNumber("1000000012")
+                .build();
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        willThrow(AccountException.of(ErrorCode.DAILY_LIMIT_EXCEEDED))
+                .given(spendingLimiter).acquire(1L, "1000000012", 1200L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1000000012", 1200L));
+
+        //then
+        assertEquals(ErrorCode.DAILY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
+    @Test
+    @DisplayName("락 임대 만료 후 오래된 토큰으로 반영 - 잔액 사용 실패")
+    void useBalance_StaleFencingToken() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .id(1L)
+                .name("Test USER")
+                .build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        Account account = Account.builder()
+                .accountUser(user)
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .accountNumber("1000000012")
+                .fencingToken(8L)
+                .build();
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        FencingTokenHolder.set(7L);
+
+        //when
+        AccountException exception;
+        try {
+            exception = assertThrows(AccountException.class,
+                    () -> transactionService.useBalance(1L, "1000000012", 1200L));
+        } finally {
+            FencingTokenHolder.restore(null);
+        }
+
+        //then
+        assertEquals(ErrorCode.STALE_LOCK_TOKEN, exception.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        assertEquals(8L, account.getFencingToken());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
     @Test
     @DisplayName("해당 유저 없음 - 잔액 사용 실패")
     void useBalance_UserNotFound() {
@@ -320,6 +405,8 @@ class TransactionServiceTest {
                         .amount(1000L)
                         .balanceSnapshot(10000L)
                         .build());
+        given(transactionRepository.addCancelledAmount(any(), anyLong()))
+                .willReturn(1);
         ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
 
         //when
@@ -358,7 +445,7 @@ class TransactionServiceTest {
         Account account = new Account(1L, user, "1234567890",
                 AccountStatus.IN_USE, 10000L, LocalDateTime.now(), null);
         Transaction transaction = new Transaction(
-                1L, CANCEL, FAIL, account, 1000L,
+                1L, USE, SUCCESS, account, 1000L,
                 account.getBalance() - 1000L, "TRANSACTION_ID", LocalDateTime.now());
 
         given(accountRepository.findByAccountNumber(anyString()))
@@ -369,7 +456,86 @@ class TransactionServiceTest {
         AccountException exception = assertThrows(AccountException.class, () -> transactionService.
                 cancelBalance(transaction.getTransactionId(), account.getAccountNumber(), 2000L));
         //then
-        assertEquals(ErrorCode.CANCEL_MUST_FULLY, exception.getErrorCode());
+        assertEquals(ErrorCode.CANCEL_EXCEED_REMAINING, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("부분 취소 성공 - 남은 금액 안에서 취소")
+    void successPartialCancelBalance() {
+        //given
+        AccountUser user = new AccountUser(1L, "First");
+        Account account = new Account(1L, user, "1234567890",
+                AccountStatus.IN_USE, 10000L, LocalDateTime.now(), null);
+        Transaction transaction = Transaction.builder()
+                .id(1L).account(account).transactionType(USE).transactionResultType(SUCCESS)
+                .amount(1000L).cancelledAmount(600L).balanceSnapshot(10000L)
+                .transactionId("TRANSACTION_ID").transactedAt(LocalDateTime.now())
+                .build();
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(transactionRepository.addCancelledAmount(1L, 400L))
+                .willReturn(1);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        //when
+        TransactionDto transactionDto = transactionService.cancelBalance(
+                "TRANSACTION_ID", "1234567890", 400L);
+        //then
+        assertAll(
+                () -> assertEquals(10400L, account.getBalance()),
+                () -> assertEquals(400L, transactionDto.getAmount()),
+                () -> assertEquals(CANCEL, transactionDto.getTransactionType())
+        );
+    }
+
+    @Test
+    @DisplayName("거래 취소 실패 - 조회 후 다른 취소가 먼저 반영됨")
+    void cancelBalance_ConcurrentCancel() {
+        //given
+        AccountUser user = new AccountUser(1L, "First");
+        Account account = new Account(1L, user, "1234567890",
+                AccountStatus.IN_USE, 10000L, LocalDateTime.now(), null);
+        Transaction transaction = new Transaction(
+                1L, USE, SUCCESS, account, 1000L,
+                account.getBalance() - 1000L, "TRANSACTION_ID", LocalDateTime.now());
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(transactionRepository.addCancelledAmount(1L, 1000L))
+                .willReturn(0);
+        //when
+        AccountException exception = assertThrows(AccountException.class, () -> transactionService.
+                cancelBalance(transaction.getTransactionId(), account.getAccountNumber(), 1000L));
+        //then
+        assertEquals(ErrorCode.CANCEL_EXCEED_REMAINING, exception.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("거래 취소 실패 - 취소 거래는 다시 취소할 수 없음")
+    void cancelBalance_NotCancellable() {
+        //given
+        AccountUser user = new AccountUser(1L, "First");
+        Account account = new Account(1L, user, "1234567890",
+                AccountStatus.IN_USE, 10000L, LocalDateTime.now(), null);
+        Transaction transaction = new Transaction(
+                1L, CANCEL, SUCCESS, account, 1000L,
+                account.getBalance() + 1000L, "TRANSACTION_ID", LocalDateTime.now());
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        //when
+        AccountException exception = assertThrows(AccountException.class, () -> transactionService.
+                cancelBalance(transaction.getTransactionId(), account.getAccountNumber(), 1000L));
+        //then
+        assertEquals(ErrorCode.TRANSACTION_NOT_CANCELLABLE, exception.getErrorCode());
     }
     @Test
     @DisplayName("거래 취소 실패 - 거래번호와 계좌가 서로 다름")
@@ -436,4 +602,51 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("거래 조회 - TTL 안의 재조회는 DB 조회 없이 복사본으로 응답")
+    void queryTransaction_Cached() {
+        //given
+        AccountUser user = new AccountUser(1L, "First");
+        Account account = new Account(1L, user, "1234567890",
+                AccountStatus.IN_USE, 10000L, LocalDateTime.now(), null);
+        Transaction transaction = new Transaction(
+                1L, USE, SUCCESS, account, 1000L,
+                account.getBalance() - 1000L,
+                "TRANSACTION_ID", LocalDateTime.now());
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        TransactionDto first = transactionService.queryTransaction("TRANSACTION_ID");
+        first.setAmount(0L);
+
+        //when
+        TransactionDto second = transactionService.queryTransaction("TRANSACTION_ID");
+
+        //then
+        assertEquals(1000L, second.getAmount());
+        verify(transactionRepository, times(1)).findByTransactionId("TRANSACTION_ID");
+    }
+
+    @Test
+    @DisplayName("거래 조회 - 원본 테이블에 없으면 보관된 거래에서 조회")
+    void queryTransaction_FromArchive() {
+        //given
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.empty());
+        given(transactionArchive.findByTransactionId("TRANSACTION_ID"))
+                .willReturn(Optional.of(new ArchivedTransaction(
+                        1L, 1000000012L, "TRANSACTION_ID", USE, SUCCESS,
+                        1000L, 9000L, 200L, 1_700_000_000_000L)));
+        //when
+        TransactionDto transactionDto = transactionService.queryTransaction("TRANSACTION_ID");
+
+        //then
+        assertAll(
+                () -> assertEquals("1000000012", transactionDto.getAccountNumber()),
+                () -> assertEquals(USE, transactionDto.getTransactionType()),
+                () -> assertEquals(SUCCESS, transactionDto.getTransactionResultType()),
+                () -> assertEquals(1000L, transactionDto.getAmount()),
+                () -> assertEquals(9000L, transactionDto.getBalanceSnapshot()),
+                () -> assertEquals(200L, transactionDto.getCancelledAmount())
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.accountmission.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    @Test
+    @DisplayName("같은 계좌번호는 항상 같은 샤드")
+    void sameAccountSameShard() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard0", "shard1", "shard2"), 128);
+        //when
+        String first = ring.route("1234567890");
+        String second = ring.route("1234567890");
+        //then
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("계좌가 샤드에 고르게 분산")
+    void distributeAccounts() {
+        //given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard0", "shard1", "shard2"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        //when
+        for (long accountNumber = 1234567890L; accountNumber < 1234567890L + 30_000; accountNumber++) {
+            counts.merge(ring.route(String.valueOf(accountNumber)), 1, Integer::sum);
+        }
+        //then
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 7_000, "shard count = " + count));
+    }
+
+    @Test
+    @DisplayName("샤드 추가시 일부 계좌만 이동")
+    void addShardMovesOnlyPart() {
+        //given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard0", "shard1", "shard2"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard0", "shard1", "shard2", "shard3"), 128);
+        int moved = 0;
+        //when
+        for (long accountNumber = 1234567890L; accountNumber < 1234567890L + 10_000; accountNumber++) {
+            String key = String.valueOf(accountNumber);
+            String target = after.route(key);
+            if (!before.route(key).equals(target)) {
+                moved++;
+                assertEquals("shard3", target);
+            }
+        }
+        //then
+        assertTrue(moved < 4_000, "moved = " + moved);
+    }
+}
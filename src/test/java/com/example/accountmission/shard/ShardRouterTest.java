@@ -0,0 +1,106 @@
+package com.example.accountmission.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 인메모리 H2 3개를 샤드로 사용
+ */
+class ShardRouterTest {
+    private static final List<String> SHARDS = List.of("shard0", "shard1", "shard2");
+
+    private final Map<String, DataSource> shardDataSources = new LinkedHashMap<>();
+    private ShardRouter shardRouter;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        for (String shard : SHARDS) {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:" + shard + ";DB_CLOSE_DELAY=-1", "sa", "");
+            new JdbcTemplate(dataSource).execute(
+                    "create table account (account_number varchar(10) primary key, user_id bigint)");
+            shardDataSources.put(shard, dataSource);
+            targets.put(shard, dataSource);
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(shardDataSources.get("shard0"));
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        shardRouter = new ShardRouter(
+                new ConsistentHashRing(SHARDS, 128),
+                new DataSourceTransactionManager(dataSource),
+                Executors.newFixedThreadPool(SHARDS.size()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.shutdown();
+        shardDataSources.values().forEach(dataSource ->
+                new JdbcTemplate(dataSource).execute("drop table account"));
+    }
+
+    @Test
+    @DisplayName("계좌는 소유 샤드에만 저장")
+    void executeOnOwningShard() {
+        //given
+        String accountNumber = "1234567890";
+        //when
+        shardRouter.executeOn(accountNumber, () ->
+                jdbcTemplate.update("insert into account values (?, ?)", accountNumber, 1L));
+        //then
+        String owner = shardRouter.shardOf(accountNumber);
+        shardDataSources.forEach((shard, dataSource) -> assertEquals(
+                shard.equals(owner) ? 1 : 0,
+                new JdbcTemplate(dataSource).queryForObject("select count(*) from account", Integer.class)));
+    }
+
+    @Test
+    @DisplayName("사용자 계좌 조회는 모든 샤드에서 병렬로")
+    void fanOutMergesAllShards() {
+        //given
+        for (long accountNumber = 1234567890L; accountNumber < 1234567890L + 30; accountNumber++) {
+            String key = String.valueOf(accountNumber);
+            shardRouter.executeOn(key, () ->
+                    jdbcTemplate.update("insert into account values (?, ?)", key, 1L));
+        }
+        //when
+        List<String> accountNumbers = shardRouter.fanOut(() -> jdbcTemplate.queryForList(
+                "select account_number from account where user_id = ?", String.class, 1L));
+        //then
+        assertEquals(30, accountNumbers.size());
+        shardDataSources.values().forEach(dataSource -> assertTrue(
+                new JdbcTemplate(dataSource).queryForObject("select count(*) from account", Integer.class) > 0));
+    }
+
+    @Test
+    @DisplayName("단일 DataSource 모드는 호출한 쓰레드에서 그대로 실행")
+    void singleModeRunsInline() {
+        //given
+        ShardRouter single = ShardRouter.single();
+        Thread caller = Thread.currentThread();
+        //when
+        List<Thread> threads = single.fanOut(() -> List.of(Thread.currentThread()));
+        //then
+        assertFalse(single.isSharded());
+        assertEquals(List.of(caller), threads);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.accountmission.stats;
+
+import com.example.accountmission.shard.ShardRouter;
+import com.example.accountmission.type.TransactionResultType;
+import com.example.accountmission.type.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 인메모리 H2 에 집계 테이블만 만들어서 반영
+ */
+class TransactionStatsAccumulatorTest {
+    private JdbcTemplate jdbcTemplate;
+    private TransactionStatsAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:transaction-stats;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table account_daily_stats (" +
+                "id bigint generated by default as identity primary key, " +
+                "account_number varchar(10), stat_date date, " +
+                "use_count bigint default 0 not null, use_amount bigint default 0 not null, " +
+                "use_fail_count bigint default 0 not null, cancel_count bigint default 0 not null, " +
+                "cancel_amount bigint default 0 not null, cancel_fail_count bigint default 0 not null, " +
+                "constraint ux_account_daily_stats_account_date unique (account_number, stat_date))");
+        accumulator = new TransactionStatsAccumulator(jdbcTemplate, ShardRouter.single(),
+                new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop table account_daily_stats");
+    }
+
+    @Test
+    @DisplayName("반영 중 실패하면 앞서 MERGE 한 행도 되돌리고 다음 주기에 한번만 더한다")
+    void failedBatchIsAllOrNothing() {
+        //given
+        LocalDateTime now = LocalDateTime.now();
+        accumulator.record("1000000000", TransactionType.USE, TransactionResultType.SUCCESS, 1_000L, now);
+        // 계좌번호 컬럼보다 길어서 MERGE 가 실패하는 행
+        accumulator.record("10000000000", TransactionType.USE, TransactionResultType.SUCCESS, 1_000L, now);
+
+        //when
+        accumulator.flush();
+
+        //then
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from account_daily_stats", Integer.class));
+        assertEquals(1L, accumulator.pendingOf("1000000000", now.toLocalDate())[TransactionStatsAccumulator.USE_COUNT]);
+    }
+
+    @Test
+    @DisplayName("종료할 때 남은 값을 반영한다")
+    void flushOnShutdown() {
+        //given
+        LocalDateTime now = LocalDateTime.now();
+        accumulator.record("1000000000", TransactionType.USE, TransactionResultType.SUCCESS, 1_000L, now);
+        accumulator.record("1000000000", TransactionType.CANCEL, TransactionResultType.SUCCESS, 400L, now);
+
+        //when
+        accumulator.flushOnShutdown();
+
+        //then
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "select use_count from account_daily_stats where account_number = '1000000000'", Long.class));
+        assertEquals(400L, jdbcTemplate.queryForObject(
+                "select cancel_amount from account_daily_stats where account_number = '1000000000'", Long.class));
+        assertArrayEquals(new long[TransactionStatsAccumulator.FIELDS],
+                accumulator.pendingOf("1000000000", now.toLocalDate()));
+    }
+}